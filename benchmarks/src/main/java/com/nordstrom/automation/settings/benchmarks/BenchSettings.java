@@ -0,0 +1,36 @@
+package com.nordstrom.automation.settings.benchmarks;
+
+import com.nordstrom.automation.settings.SettingsCore;
+
+/**
+ * This enumeration declares the settings read by the benchmarks. The keys correspond to entries of the property files
+ * produced by {@link SettingsFiles}.
+ */
+public enum BenchSettings implements SettingsCore.SettingsAPI {
+    FIRST_KEY("bench.key.0", null),
+    INTEGER("bench.integer", "0"),
+    LIST("bench.list", null),
+    INTERP_SIMPLE("bench.interp.simple", null),
+    INTERP_SYSTEM("bench.interp.system", null),
+    INTERP_CHAIN("bench.interp.chain", null),
+    DEFAULT_ONLY("bench.default.only", "DEFAULT"),
+    NONE_SPECIFIED("bench.none.specified", null);
+
+    private String propertyName;
+    private String defaultValue;
+
+    BenchSettings(String propertyName, String defaultValue) {
+        this.propertyName = propertyName;
+        this.defaultValue = defaultValue;
+    }
+
+    @Override
+    public String key() {
+        return propertyName;
+    }
+
+    @Override
+    public String val() {
+        return defaultValue;
+    }
+}
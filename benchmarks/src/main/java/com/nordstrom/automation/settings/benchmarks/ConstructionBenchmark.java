@@ -0,0 +1,55 @@
+package com.nordstrom.automation.settings.benchmarks;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nordstrom.automation.settings.SettingsCore;
+
+/**
+ * This benchmark measures construction of {@link SettingsCore} objects for each stored properties source, with stored
+ * properties parsed by {@link org.apache.commons.configuration2.PropertiesConfiguration PropertiesConfiguration} or by
+ * the streaming parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConstructionBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int keyCount;
+
+    @Param({"STORED_CONFIG", "INPUT_STREAM", "URL", "PATH"})
+    public SettingsSource source;
+
+    @Param({"false", "true"})
+    public boolean streaming;
+
+    private Supplier<SettingsCore<BenchSettings>> factory;
+
+    @Setup
+    public void setup() {
+        Path file = SettingsFiles.generate(keyCount);
+        factory = source.factory(file, false, streaming);
+    }
+
+    @Benchmark
+    public SettingsCore<BenchSettings> construct() {
+        return factory.get();
+    }
+}
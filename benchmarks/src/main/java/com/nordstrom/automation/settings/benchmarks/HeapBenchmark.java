@@ -0,0 +1,104 @@
+package com.nordstrom.automation.settings.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nordstrom.automation.settings.SettingsCore;
+
+/**
+ * This benchmark measures the heap retained by several {@link SettingsCore} objects that load the same stored
+ * properties from an input stream, parsed by {@link org.apache.commons.configuration2.PropertiesConfiguration
+ * PropertiesConfiguration} or by the streaming parser, with the standard storage or in compact storage mode. Input
+ * streams are parsed separately by each configuration object, so with the standard storage each object retains its own
+ * copy of the stored properties.<br>
+ * <br>
+ * The retained heap is reported by the {@code retainedBytes} secondary result, measured as the growth in used heap
+ * (after garbage collection) while the configuration objects are held. The primary result is the time to construct
+ * them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class HeapBenchmark {
+
+    @Param({"1000", "100000"})
+    public int keyCount;
+
+    @Param({"1", "16"})
+    public int instanceCount;
+
+    @Param({"false", "true"})
+    public boolean streaming;
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    private Supplier<SettingsCore<BenchSettings>> factory;
+    private Object[] held;
+
+    /**
+     * This class reports the heap retained by the configuration objects constructed in each invocation.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Retained {
+        /** growth in used heap while the configuration objects are held */
+        public long retainedBytes;
+    }
+
+    @Setup
+    public void setup() {
+        Path file = SettingsFiles.generate(keyCount);
+        factory = SettingsSource.INPUT_STREAM.factory(file, false, streaming, compact);
+    }
+
+    @Setup(Level.Invocation)
+    public void release() {
+        held = null;
+    }
+
+    @Benchmark
+    public Object[] construct(Retained retained) {
+        long before = usedHeap();
+        Object[] instances = new Object[instanceCount];
+        for (int i = 0; i < instanceCount; i++) {
+            instances[i] = factory.get();
+        }
+        retained.retainedBytes = usedHeap() - before;
+        held = instances;
+        return instances;
+    }
+
+    /**
+     * Get the used heap after garbage collection.
+     *
+     * @return used heap in bytes
+     */
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
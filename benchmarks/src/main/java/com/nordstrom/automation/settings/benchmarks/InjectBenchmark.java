@@ -0,0 +1,64 @@
+package com.nordstrom.automation.settings.benchmarks;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nordstrom.automation.settings.SettingsCore;
+import com.nordstrom.automation.settings.SettingsInjector;
+
+/**
+ * This benchmark measures {@link SettingsCore#injectProperties} with large property files, declared as a single file
+ * or split into several files that are parsed in parallel. The injected System properties are removed and the
+ * injected files are forgotten before each invocation, so every invocation performs a complete injection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class InjectBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int keyCount;
+
+    @Param({"1", "4"})
+    public int fileCount;
+
+    private List<String> files;
+
+    @Setup
+    public void setup() {
+        System.clearProperty(SettingsCore.PROPS_FILE);
+        List<Path> paths = SettingsFiles.split(keyCount, fileCount);
+        files = paths.stream().map(Path::toString).collect(Collectors.toList());
+    }
+
+    @Setup(Level.Invocation)
+    public void clearInjected() {
+        for (int i = 0; i < keyCount; i++) {
+            System.clearProperty("bench.key." + i);
+        }
+        SettingsInjector.getInstance().clear();
+    }
+
+    @Benchmark
+    public void inject() {
+        SettingsCore.injectProperties(files);
+    }
+}
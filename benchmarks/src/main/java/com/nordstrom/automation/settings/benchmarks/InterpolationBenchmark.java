@@ -0,0 +1,74 @@
+package com.nordstrom.automation.settings.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nordstrom.automation.settings.SettingsCore;
+
+/**
+ * This benchmark measures lookups of interpolated settings, with System properties either consulted directly or
+ * captured, and construction of a configuration whose stored properties are selected by an interpolated
+ * {@code include} directive (as in the {@code SetsConfig} unit test fixture).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class InterpolationBenchmark {
+
+    private static final int KEY_COUNT = 1000;
+
+    @Param({"false", "true"})
+    public boolean captured;
+
+    private SettingsCore<BenchSettings> config;
+    private Supplier<SettingsCore<BenchSettings>> includeFactory;
+
+    @Setup
+    public void setup() {
+        System.setProperty(SettingsFiles.SYSTEM_KEY, "system");
+        System.setProperty(SettingsFiles.INCLUDE_KEY, SettingsFiles.generate(KEY_COUNT).getFileName().toString());
+        config = SettingsSource.PATH.factory(SettingsFiles.generate(KEY_COUNT), captured).get();
+        includeFactory = SettingsSource.PATH.factory(SettingsFiles.includeBase(), captured);
+    }
+
+    @Benchmark
+    public String simple() {
+        return config.getString(BenchSettings.INTERP_SIMPLE.key());
+    }
+
+    @Benchmark
+    public String system() {
+        return config.getString(BenchSettings.INTERP_SYSTEM.key());
+    }
+
+    @Benchmark
+    public String chain() {
+        return config.getString(BenchSettings.INTERP_CHAIN.key());
+    }
+
+    @Benchmark
+    public String typedChain() {
+        return config.getString(BenchSettings.INTERP_CHAIN);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public SettingsCore<BenchSettings> includeConstruction() {
+        return includeFactory.get();
+    }
+}
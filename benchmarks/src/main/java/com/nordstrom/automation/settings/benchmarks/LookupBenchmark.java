@@ -0,0 +1,91 @@
+package com.nordstrom.automation.settings.benchmarks;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nordstrom.automation.settings.SettingsCore;
+
+/**
+ * This benchmark measures string-keyed and enum-keyed lookups and prefix queries on a shared {@link SettingsCore}
+ * object that loads a stored properties file of 10, 1,000, or 100,000 entries. The nested subclasses run the same
+ * lookups at 1, 8, and 64 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public abstract class LookupBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int keyCount;
+
+    private SettingsCore<BenchSettings> config;
+
+    @Setup
+    public void setup() {
+        config = SettingsSource.PATH.factory(SettingsFiles.generate(keyCount), false).get();
+    }
+
+    @Benchmark
+    public String stringStored() {
+        return config.getString(BenchSettings.FIRST_KEY.key());
+    }
+
+    @Benchmark
+    public String stringDefault() {
+        return config.getString(BenchSettings.DEFAULT_ONLY.key());
+    }
+
+    @Benchmark
+    public int intStored() {
+        return config.getInt(BenchSettings.INTEGER.key());
+    }
+
+    @Benchmark
+    public String typedString() {
+        return config.getString(BenchSettings.FIRST_KEY);
+    }
+
+    @Benchmark
+    public int typedInt() {
+        return config.getInt(BenchSettings.INTEGER);
+    }
+
+    @Benchmark
+    public int prefixKeys() {
+        int count = 0;
+        Iterator<String> keys = config.getKeys("bench.interp");
+        while (keys.hasNext()) {
+            keys.next();
+            count++;
+        }
+        return count;
+    }
+
+    @Threads(1)
+    public static class Threads1 extends LookupBenchmark {
+    }
+
+    @Threads(8)
+    public static class Threads8 extends LookupBenchmark {
+    }
+
+    @Threads(64)
+    public static class Threads64 extends LookupBenchmark {
+    }
+}
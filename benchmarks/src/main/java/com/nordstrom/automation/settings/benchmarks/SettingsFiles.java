@@ -0,0 +1,123 @@
+package com.nordstrom.automation.settings.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class generates the property files used by the benchmarks. Each file declares the requested number of plain
+ * {@code bench.key.<i>} entries, plus the typed, multi-valued, and interpolated entries declared by
+ * {@link BenchSettings}. Files are generated once per key count and deleted when the JVM exits.
+ */
+public final class SettingsFiles {
+
+    /** System property referenced by interpolated entries */
+    public static final String SYSTEM_KEY = "bench.system.value";
+    /** System property that names the file included by {@link #includeBase} */
+    public static final String INCLUDE_KEY = "bench.include.name";
+
+    private static final Map<Integer, Path> FILES = new HashMap<>();
+    private static Path folder;
+
+    private SettingsFiles() {
+        throw new AssertionError("SettingsFiles is a static utility class that cannot be instantiated");
+    }
+
+    /**
+     * Get a generated property file with the specified number of plain entries.
+     *
+     * @param keyCount number of plain entries
+     * @return path of generated file
+     */
+    public static synchronized Path generate(int keyCount) {
+        return FILES.computeIfAbsent(keyCount, count -> {
+            Path file = getFolder().resolve("bench-" + count + ".properties");
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                for (int i = 0; i < count; i++) {
+                    writer.write("bench.key." + i + "=value-" + i + "\n");
+                }
+                writer.write(BenchSettings.INTEGER.key() + "=42\n");
+                writer.write(BenchSettings.LIST.key() + "=ONE\n");
+                writer.write(BenchSettings.LIST.key() + "=TWO\n");
+                writer.write(BenchSettings.LIST.key() + "=THREE\n");
+                writer.write(BenchSettings.INTERP_SIMPLE.key() + "=${bench.key.0}\n");
+                writer.write(BenchSettings.INTERP_SYSTEM.key() + "=${bench.key.0}-${sys:" + SYSTEM_KEY + "}\n");
+                writer.write(BenchSettings.INTERP_CHAIN.key() + "=${bench.interp.simple}/${bench.integer}\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            file.toFile().deleteOnExit();
+            return file;
+        });
+    }
+
+    /**
+     * Get generated property files that together declare the specified number of plain entries, split evenly into the
+     * specified number of parts.
+     *
+     * @param keyCount total number of plain entries
+     * @param parts number of files
+     * @return paths of generated files
+     */
+    public static synchronized List<Path> split(int keyCount, int parts) {
+        List<Path> files = new ArrayList<>();
+        for (int part = 0; part < parts; part++) {
+            Path file = getFolder().resolve("bench-" + keyCount + "-" + part + "-of-" + parts + ".properties");
+            if ( ! Files.exists(file)) {
+                try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    for (int i = part; i < keyCount; i += parts) {
+                        writer.write("bench.key." + i + "=value-" + i + "\n");
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                file.toFile().deleteOnExit();
+            }
+            files.add(file);
+        }
+        return files;
+    }
+
+    /**
+     * Get a generated base file that includes the file named by the {@link #INCLUDE_KEY} System property, in the
+     * manner of the {@code base.properties} file of the unit tests.
+     *
+     * @return path of generated base file
+     */
+    public static synchronized Path includeBase() {
+        return FILES.computeIfAbsent(-1, count -> {
+            Path file = getFolder().resolve("bench-base.properties");
+            try {
+                Files.write(file, ("include=${sys:" + INCLUDE_KEY + "}\n").getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            file.toFile().deleteOnExit();
+            return file;
+        });
+    }
+
+    /**
+     * Get the folder that holds the generated files.
+     *
+     * @return generated files folder
+     */
+    private static Path getFolder() {
+        if (folder == null) {
+            try {
+                folder = Files.createTempDirectory("settings-bench-");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            folder.toFile().deleteOnExit();
+        }
+        return folder;
+    }
+}
@@ -0,0 +1,159 @@
+package com.nordstrom.automation.settings.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+
+import com.nordstrom.automation.settings.CapturedSystemConfiguration;
+import com.nordstrom.automation.settings.SettingsCore;
+
+/**
+ * This enumeration represents the ways in which a {@link SettingsCore} object can declare its stored properties. Each
+ * constant creates configuration objects that load the specified file through the corresponding method.
+ */
+public enum SettingsSource {
+    /** stored properties supplied via {@link SettingsCore#getStoredConfig} */
+    STORED_CONFIG,
+    /** stored properties supplied via {@link SettingsCore#getInputStream} */
+    INPUT_STREAM,
+    /** stored properties supplied via {@link SettingsCore#getSettingsUrl} */
+    URL,
+    /** stored properties supplied via {@link SettingsCore#getSettingsPath} */
+    PATH;
+
+    /**
+     * Get a factory for configuration objects that load the specified file through this source.<br>
+     * <b>NOTE</b>: For {@link #STORED_CONFIG}, the file is parsed once up front. For {@link #INPUT_STREAM}, the file
+     *              content is read once up front and supplied from memory.
+     *
+     * @param file stored properties file
+     * @param captured 'true' to capture System properties; 'false' to consult them directly
+     * @return configuration object factory
+     */
+    public Supplier<SettingsCore<BenchSettings>> factory(Path file, boolean captured) {
+        return factory(file, captured, false);
+    }
+
+    /**
+     * Get a factory for configuration objects that load the specified file through this source.<br>
+     * <b>NOTE</b>: The streaming parser applies to {@link #INPUT_STREAM}, {@link #URL}, and {@link #PATH}.
+     *
+     * @param file stored properties file
+     * @param captured 'true' to capture System properties; 'false' to consult them directly
+     * @param streaming 'true' to parse stored properties with the streaming parser; otherwise 'false'
+     * @return configuration object factory
+     */
+    public Supplier<SettingsCore<BenchSettings>> factory(Path file, boolean captured, boolean streaming) {
+        return factory(file, captured, streaming, false);
+    }
+
+    /**
+     * Get a factory for configuration objects that load the specified file through this source.<br>
+     * <b>NOTE</b>: In compact storage mode, stored properties are packed into a read-only arena that's shared by all
+     *              configuration objects that load the same content.
+     *
+     * @param file stored properties file
+     * @param captured 'true' to capture System properties; 'false' to consult them directly
+     * @param streaming 'true' to parse stored properties with the streaming parser; otherwise 'false'
+     * @param compact 'true' to pack stored properties into a compact arena; otherwise 'false'
+     * @return configuration object factory
+     */
+    public Supplier<SettingsCore<BenchSettings>> factory(Path file, boolean captured, boolean streaming,
+            boolean compact) {
+        SettingsSource source = this;
+        Configuration storedConfig = (this == STORED_CONFIG) ? parse(file) : null;
+        byte[] content = (this == INPUT_STREAM) ? read(file) : null;
+        return () -> {
+            try {
+                return new SettingsCore<BenchSettings>(BenchSettings.class) {
+                    @Override
+                    protected Configuration getSystemConfig() {
+                        if (captured) {
+                            return new CapturedSystemConfiguration(BenchSettings.class, 0, TimeUnit.SECONDS);
+                        }
+                        return super.getSystemConfig();
+                    }
+
+                    @Override
+                    protected boolean isStreamingParser() {
+                        return streaming;
+                    }
+
+                    @Override
+                    protected boolean isCompactStorage() {
+                        return compact;
+                    }
+
+                    @Override
+                    public Configuration getStoredConfig() {
+                        return storedConfig;
+                    }
+
+                    @Override
+                    public InputStream getInputStream() {
+                        return (content != null) ? new ByteArrayInputStream(content) : null;
+                    }
+
+                    @Override
+                    public URL getSettingsUrl() {
+                        if (source == URL) {
+                            try {
+                                return file.toUri().toURL();
+                            } catch (MalformedURLException e) {
+                                throw new IllegalStateException(e);
+                            }
+                        }
+                        return null;
+                    }
+
+                    @Override
+                    public String getSettingsPath() {
+                        return (source == PATH) ? file.toString() : null;
+                    }
+                };
+            } catch (ConfigurationException | IOException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /**
+     * Read the content of the specified file.
+     *
+     * @param file file to read
+     * @return file content
+     */
+    private static byte[] read(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parse the specified file into a properties configuration.
+     *
+     * @param file properties file
+     * @return parsed properties configuration
+     */
+    public static PropertiesConfiguration parse(Path file) {
+        try {
+            return new Configurations().properties(file.toFile());
+        } catch (ConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package com.nordstrom.automation.settings;
+
+import java.lang.ref.WeakReference;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.WeakHashMap;
+import java.util.function.UnaryOperator;
+
+import org.apache.commons.configuration2.AbstractConfiguration;
+import org.apache.commons.configuration2.Configuration;
+
+/**
+ * This class implements a read-only configuration whose keys and values are packed into a {@link StringArena}, with
+ * tables of arena indexes in place of per-entry objects. Each distinct string is stored once, so keys and values that
+ * repeat within the configuration cost only an index. Keys are located through an open-addressing hash index that
+ * compares them against the arena without materializing them.<br>
+ * <br>
+ * A property with a single value has a {@link String} value. A property with multiple values has an unmodifiable
+ * {@link java.util.List List} of {@link String} values, in their original order. Values of other types are stored as
+ * their string representations.<br>
+ * <br>
+ * Keys declared by the settings enumeration are reported as the instances held by its constants, so enumerating the
+ * keys of this configuration doesn't materialize them. The packed tables of configurations with identical content are
+ * canonicalized, so configuration objects that load the same stored properties (or declare the same default values)
+ * share a single copy of them. Each configuration object gets its own instance of this class, because the settings
+ * and event listeners of a configuration are specific to the composite that holds it.<br>
+ * <b>NOTE</b>: Values are materialized upon each lookup by key. Lookups by settings constant are served from the
+ *              current {@link SettingsSnapshot snapshot}, so they don't touch this configuration.<br>
+ * <b>NOTE</b>: Instances of this class can't be modified. {@link SettingsCore} wraps them in a layer that copies them
+ *              before their first modification.
+ */
+final class ArenaConfiguration extends AbstractConfiguration {
+
+    /** canonical packed tables, keyed by content */
+    private static final Map<Tables, WeakReference<Tables>> CANONICAL = new WeakHashMap<>();
+
+    private final Tables tables;
+
+    /**
+     * Create an arena configuration.
+     *
+     * @param tables packed keys and values
+     */
+    private ArenaConfiguration(Tables tables) {
+        this.tables = tables;
+    }
+
+    /**
+     * Get an arena configuration with the content of the specified configuration. If packed tables with identical
+     * content already exist, the new configuration shares them.
+     *
+     * @param source configuration to pack
+     * @param declaredKeys function that returns the declared instance of each key; 'null' for undeclared keys
+     * @return arena configuration with the content of the specified configuration
+     */
+    static ArenaConfiguration of(Configuration source, UnaryOperator<String> declaredKeys) {
+        if (source instanceof ArenaConfiguration) {
+            return new ArenaConfiguration(((ArenaConfiguration) source).tables);
+        }
+
+        StringArena.Builder builder = new StringArena.Builder();
+        int[] keys = new int[16];
+        int[] valueEnds = new int[16];
+        int[] values = new int[16];
+        String[] declared = new String[16];
+        int size = 0;
+        int valueCount = 0;
+        Iterator<String> iterator = source.getKeys();
+        while (iterator.hasNext()) {
+            String key = iterator.next();
+            Object value = source.getProperty(key);
+            // if property has no value
+            if (value == null) {
+                continue;
+            }
+            // if key table is full
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                valueEnds = Arrays.copyOf(valueEnds, size * 2);
+                declared = Arrays.copyOf(declared, size * 2);
+            }
+            keys[size] = builder.add(key);
+            declared[size] = declaredKeys.apply(key);
+            Collection<?> items = (value instanceof Collection) ? (Collection<?>) value : null;
+            int needed = valueCount + ((items != null) ? items.size() : 1);
+            if (needed > values.length) {
+                values = Arrays.copyOf(values, Math.max(needed, values.length * 2));
+            }
+            if (items != null) {
+                for (Object item : items) {
+                    values[valueCount++] = builder.add(String.valueOf(item));
+                }
+            } else {
+                values[valueCount++] = builder.add(String.valueOf(value));
+            }
+            valueEnds[size++] = valueCount;
+        }
+
+        Tables packed = new Tables(builder.build(), Arrays.copyOf(keys, size), Arrays.copyOf(valueEnds, size),
+                Arrays.copyOf(values, valueCount), Arrays.copyOf(declared, size));
+        synchronized (CANONICAL) {
+            WeakReference<Tables> reference = CANONICAL.get(packed);
+            Tables canonical = (reference != null) ? reference.get() : null;
+            if (canonical == null) {
+                CANONICAL.put(packed, new WeakReference<>(packed));
+                canonical = packed;
+            }
+            return new ArenaConfiguration(canonical);
+        }
+    }
+
+    /**
+     * Get the number of bytes used to pack the characters of the keys and values of this configuration.
+     *
+     * @return packed character bytes
+     */
+    int getPackedBytes() {
+        return tables.strings.getPackedBytes();
+    }
+
+    /**
+     * Determine if the specified configuration is an arena configuration that shares the packed tables of this one.
+     *
+     * @param config configuration to compare
+     * @return 'true' if both configurations hold the same packed tables; otherwise 'false'
+     */
+    boolean sharesContent(Configuration config) {
+        return (config instanceof ArenaConfiguration) && (((ArenaConfiguration) config).tables == tables);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Object getPropertyInternal(String key) {
+        int index = tables.indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        StringArena strings = tables.strings;
+        int[] values = tables.values;
+        int start = tables.valueStart(index);
+        int end = tables.valueEnds[index];
+        if (end - start == 1) {
+            return strings.get(values[start]);
+        }
+        return new AbstractList<String>() {
+            @Override
+            public String get(int i) {
+                if ((i < 0) || (i >= size())) {
+                    throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size());
+                }
+                return strings.get(values[start + i]);
+            }
+
+            @Override
+            public int size() {
+                return end - start;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean containsKeyInternal(String key) {
+        return tables.indexOf(key) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean containsValueInternal(Object value) {
+        if (value instanceof String) {
+            for (int slot : tables.values) {
+                if (tables.strings.matches(slot, (String) value)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isEmptyInternal() {
+        return tables.keys.length == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int sizeInternal() {
+        return tables.keys.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal() {
+        return tables.getKeys();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal(String prefix) {
+        return tables.getIndex().getKeys(prefix);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal(String prefix, String delimiter) {
+        return tables.getIndex().getKeys(prefix, delimiter);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void addPropertyDirect(String key, Object value) {
+        throw new UnsupportedOperationException("Compact settings layers can't be modified");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void clearPropertyDirect(String key) {
+        throw new UnsupportedOperationException("Compact settings layers can't be modified");
+    }
+
+    /**
+     * This class holds the packed keys and values of an arena configuration. Instances are immutable, so the tables of
+     * configurations with identical content can be shared.
+     */
+    private static final class Tables {
+
+        private final StringArena strings;
+        private final int[] keys;
+        private final int[] valueEnds;
+        private final int[] values;
+        private final String[] declaredKeys;
+        private final int[] slots;
+        private final int hash;
+        private volatile PrefixIndex index;
+
+        /**
+         * Create packed tables.
+         *
+         * @param strings distinct keys and values
+         * @param keys arena index of each key
+         * @param valueEnds end position within the value table of the values of each key
+         * @param values arena index of each value
+         * @param declaredKeys declared key instance of each key; 'null' for undeclared keys
+         */
+        Tables(StringArena strings, int[] keys, int[] valueEnds, int[] values, String[] declaredKeys) {
+            this.strings = strings;
+            this.keys = keys;
+            this.valueEnds = valueEnds;
+            this.values = values;
+            this.declaredKeys = declaredKeys;
+            this.slots = new int[Integer.highestOneBit(Math.max(keys.length, 8) * 2) * 2];
+            int mask = slots.length - 1;
+            for (int i = 0; i < keys.length; i++) {
+                int slot = StringArena.spread(strings.get(keys[i]).hashCode()) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = i + 1;
+            }
+            this.hash = 31 * (31 * (31 * strings.hashCode() + Arrays.hashCode(keys)) + Arrays.hashCode(valueEnds))
+                    + Arrays.hashCode(values);
+        }
+
+        /**
+         * Get the position of the specified key.
+         *
+         * @param key property key
+         * @return key position; -1 if the specified key isn't defined
+         */
+        int indexOf(String key) {
+            int mask = slots.length - 1;
+            int slot = StringArena.spread(key.hashCode()) & mask;
+            int index;
+            while ((index = slots[slot]) != 0) {
+                if (strings.matches(keys[index - 1], key)) {
+                    return index - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        /**
+         * Get an iterator over the keys of these tables, in their original order.
+         *
+         * @return key iterator
+         */
+        Iterator<String> getKeys() {
+            return new Iterator<String>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < keys.length;
+                }
+
+                @Override
+                public String next() {
+                    if ( ! hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return keyAt(next++);
+                }
+            };
+        }
+
+        /**
+         * Get the key at the specified position.
+         *
+         * @param index key position
+         * @return declared key instance, or materialized key if undeclared
+         */
+        private String keyAt(int index) {
+            String declared = declaredKeys[index];
+            return (declared != null) ? declared : strings.get(keys[index]);
+        }
+
+        /**
+         * Get the position within the value table of the first value of the key at the specified position.
+         *
+         * @param index key position
+         * @return value table position
+         */
+        int valueStart(int index) {
+            return (index == 0) ? 0 : valueEnds[index - 1];
+        }
+
+        /**
+         * Get the prefix index of the keys of these tables, building it upon first request.
+         *
+         * @return prefix index
+         */
+        PrefixIndex getIndex() {
+            PrefixIndex current = index;
+            if (current == null) {
+                current = PrefixIndex.of(getKeys());
+                index = current;
+            }
+            return current;
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * <b>NOTE</b>: Tables are equal if they hold the same keys and values in the same order.
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if ( ! (obj instanceof Tables)) {
+                return false;
+            }
+            Tables that = (Tables) obj;
+            return (hash == that.hash) && Arrays.equals(keys, that.keys) && Arrays.equals(valueEnds, that.valueEnds)
+                    && Arrays.equals(values, that.values) && strings.equals(that.strings);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.nordstrom.automation.settings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.apache.commons.configuration2.AbstractConfiguration;
+import org.apache.commons.configuration2.SystemConfiguration;
+
+import com.nordstrom.automation.settings.SettingsCore.SettingsAPI;
+
+/**
+ * This class provides a read-optimized alternative to {@link SystemConfiguration}. Instead of consulting the
+ * synchronized System properties collection on every lookup, it captures the values of a fixed set of keys (typically
+ * the keys declared by a {@link SettingsAPI} enumeration) into a private immutable map.
+ * <p>
+ * Captured values are updated by {@link #refresh}, which can be called explicitly or triggered automatically by
+ * lookups after the configured refresh interval has elapsed. Each refresh reads every captured key once, compares the
+ * values with those captured, and only publishes a new map if they differ. Every rebuild increments the
+ * {@link #getVersion version} of this layer and notifies registered change listeners.<br>
+ * <b>NOTE</b>: Automatic refreshes are triggered by lookups that reach this layer, and by lookups by enumeration
+ *              constant through the containing {@link SettingsCore} object, which checks the refresh interval before
+ *              serving them from its {@link SettingsSnapshot snapshot}. Any refresh that detects changes discards the
+ *              snapshot, so subsequent lookups by constant reflect the changes.
+ * <p>
+ * Because the set of captured keys is fixed, it's indexed once by a {@link PrefixIndex}, which serves prefix queries
+ * (e.g. - {@link #getKeys(String) getKeys(prefix)} and {@link #subset subset}) without scanning every captured key.
+ * <p>
+ * <b>NOTE</b>: Keys outside of the captured set are not visible through this layer. Modifications made through this
+ * layer are written through to the System properties collection, like those of {@link SystemConfiguration}.
+ */
+public class CapturedSystemConfiguration extends AbstractConfiguration {
+
+    private final String[] keys;
+    private final PrefixIndex keyIndex;
+    private final long refreshNanos;
+    private final AtomicLong nextCheck;
+    private final List<Consumer<Set<String>>> listeners = new CopyOnWriteArrayList<>();
+    private volatile Map<String, Object> captured;
+    private volatile long version;
+
+    /**
+     * Capture the System property values for the keys declared by the specified settings enumeration.
+     *
+     * @param <T> context-specific settings enumeration
+     * @param enumClass settings enumeration class
+     * @param refreshInterval interval between automatic refreshes; 0 to refresh only on request
+     * @param unit time unit of {@code refreshInterval}
+     */
+    public <T extends Enum<T> & SettingsAPI> CapturedSystemConfiguration(
+            Class<T> enumClass, long refreshInterval, TimeUnit unit) {
+        this(keysOf(enumClass), refreshInterval, unit);
+    }
+
+    /**
+     * Capture the System property values for the specified keys.
+     *
+     * @param keys System property names to capture
+     * @param refreshInterval interval between automatic refreshes; 0 to refresh only on request
+     * @param unit time unit of {@code refreshInterval}
+     */
+    public CapturedSystemConfiguration(Collection<String> keys, long refreshInterval, TimeUnit unit) {
+        this.keys = keys.toArray(new String[0]);
+        this.keyIndex = PrefixIndex.of(Arrays.asList(this.keys));
+        this.refreshNanos = unit.toNanos(refreshInterval);
+        this.nextCheck = new AtomicLong(System.nanoTime() + refreshNanos);
+        this.captured = capture();
+    }
+
+    /**
+     * Compare the captured values with the current System properties, rebuilding the captured map if they differ.<br>
+     * <b>NOTE</b>: Each System property is read once, so the published map holds exactly the values that were compared.
+     *
+     * @return 'true' if captured values changed; otherwise 'false'
+     */
+    public boolean refresh() {
+        Set<String> changed;
+        synchronized (this) {
+            Map<String, Object> current = captured;
+            String[] values = new String[keys.length];
+            changed = new HashSet<>();
+            for (int i = 0; i < keys.length; i++) {
+                values[i] = System.getProperty(keys[i]);
+                if ( ! Objects.equals(current.get(keys[i]), values[i])) {
+                    changed.add(keys[i]);
+                }
+            }
+            // if no changes detected
+            if (changed.isEmpty()) {
+                return false;
+            }
+            captured = toMap(values);
+            version++;
+        }
+
+        changed = Collections.unmodifiableSet(changed);
+        for (Consumer<Set<String>> listener : listeners) {
+            listener.accept(changed);
+        }
+        return true;
+    }
+
+    /**
+     * Get the version of the captured values. This is incremented each time the captured map is rebuilt.
+     *
+     * @return captured values version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Register a listener to be notified with the set of changed keys each time the captured map is rebuilt.
+     *
+     * @param listener change listener
+     */
+    public void addChangeListener(Consumer<Set<String>> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregister the specified change listener.
+     *
+     * @param listener change listener
+     */
+    public void removeChangeListener(Consumer<Set<String>> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Object getPropertyInternal(String key) {
+        return currentValues().get(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean containsKeyInternal(String key) {
+        return currentValues().containsKey(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean containsValueInternal(Object value) {
+        return currentValues().containsValue(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isEmptyInternal() {
+        return currentValues().isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal() {
+        return currentValues().keySet().iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal(String prefix) {
+        return getKeysInternal(prefix, PrefixIndex.DELIMITER);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal(String prefix, String delimiter) {
+        Map<String, Object> values = currentValues();
+        List<String> matches = new ArrayList<>();
+        keyIndex.getKeys(prefix, delimiter).forEachRemaining(key -> {
+            // if property defined
+            if (values.containsKey(key)) {
+                matches.add(key);
+            }
+        });
+        return matches.iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * <b>NOTE</b>: The value is written through to the System properties collection.
+     */
+    @Override
+    protected void addPropertyDirect(String key, Object value) {
+        System.setProperty(key, String.valueOf(value));
+        refresh();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * <b>NOTE</b>: The property is also removed from the System properties collection.
+     */
+    @Override
+    protected void clearPropertyDirect(String key) {
+        System.clearProperty(key);
+        refresh();
+    }
+
+    /**
+     * Refresh the captured values if the refresh interval has elapsed since the previous check.<br>
+     * <b>NOTE</b>: If several threads observe the elapsed interval at the same time, only one of them refreshes.
+     *
+     * @return 'true' if captured values changed; otherwise 'false'
+     */
+    boolean refreshIfDue() {
+        if (refreshNanos > 0) {
+            long next = nextCheck.get();
+            long now = System.nanoTime();
+            if ((now - next >= 0) && nextCheck.compareAndSet(next, now + refreshNanos)) {
+                return refresh();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the captured values, refreshing them first if the refresh interval has elapsed.
+     *
+     * @return map of captured values
+     */
+    private Map<String, Object> currentValues() {
+        refreshIfDue();
+        return captured;
+    }
+
+    /**
+     * Capture the current System property values of the configured keys.
+     *
+     * @return immutable map of captured values
+     */
+    private Map<String, Object> capture() {
+        String[] values = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = System.getProperty(keys[i]);
+        }
+        return toMap(values);
+    }
+
+    /**
+     * Map the configured keys to the specified values, omitting undefined values.
+     *
+     * @param values System property values, indexed like the configured keys
+     * @return immutable map of captured values
+     */
+    private Map<String, Object> toMap(String[] values) {
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                map.put(keys[i], values[i]);
+            }
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Get the keys declared by the specified settings enumeration.
+     *
+     * @param <T> context-specific settings enumeration
+     * @param enumClass settings enumeration class
+     * @return list of declared keys
+     */
+    private static <T extends Enum<T> & SettingsAPI> List<String> keysOf(Class<T> enumClass) {
+        List<String> keys = new ArrayList<>();
+        for (T setting : enumClass.getEnumConstants()) {
+            keys.add(setting.key());
+        }
+        return keys;
+    }
+}
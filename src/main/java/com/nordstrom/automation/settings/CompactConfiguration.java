@@ -0,0 +1,237 @@
+package com.nordstrom.automation.settings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.commons.configuration2.AbstractConfiguration;
+
+/**
+ * This class implements a read-only configuration that holds the stored properties produced by
+ * {@link StoredPropertiesParser}. Keys and values are held in parallel arrays in declaration order, and keys are
+ * located through an open-addressing hash index of array positions. Compared to the generic maps of
+ * {@link org.apache.commons.configuration2.PropertiesConfiguration PropertiesConfiguration}, this avoids per-entry
+ * nodes and layout data (comments, blank lines, separators) that stored properties never need.<br>
+ * <br>
+ * A property declared once has a {@link String} value. A property declared multiple times has an unmodifiable
+ * {@link List} of {@link String} values, in declaration order.<br>
+ * <br>
+ * Once populated, the keys are also held in a {@link PrefixIndex}, which serves prefix queries (e.g. -
+ * {@link #getKeys(String) getKeys(prefix)} and {@link #subset subset}) without scanning every key.<br>
+ * <b>NOTE</b>: Instances of this class can't be modified. {@link SettingsCore} wraps its stored properties in a layer
+ *              that copies them before their first modification.
+ */
+final class CompactConfiguration extends AbstractConfiguration {
+
+    private static final int MINIMUM_CAPACITY = 16;
+
+    private String[] keys;
+    private Object[] values;
+    private int[] slots;
+    private int size;
+    private PrefixIndex index;
+
+    /**
+     * Create an empty compact configuration.
+     */
+    CompactConfiguration() {
+        keys = new String[MINIMUM_CAPACITY];
+        values = new Object[MINIMUM_CAPACITY];
+        slots = new int[MINIMUM_CAPACITY * 2];
+    }
+
+    /**
+     * Append a value to the specified property. If the property is already defined, the specified value is appended
+     * to its existing values.<br>
+     * <b>NOTE</b>: This method is used by {@link StoredPropertiesParser} to populate this configuration before it's
+     *              published. It must not be invoked after {@link #compact}.
+     *
+     * @param key property key
+     * @param value property value
+     */
+    @SuppressWarnings("unchecked")
+    void append(String key, String value) {
+        int slot = findSlot(key);
+        int index = slots[slot] - 1;
+        // if property already defined
+        if (index >= 0) {
+            Object existing = values[index];
+            if (existing instanceof List) {
+                ((List<String>) existing).add(value);
+            } else {
+                List<String> list = new ArrayList<>(4);
+                list.add((String) existing);
+                list.add(value);
+                values[index] = list;
+            }
+            return;
+        }
+
+        // if arrays are full
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+            rehash(size * 4);
+            slot = findSlot(key);
+        }
+        keys[size] = key;
+        values[size] = value;
+        slots[slot] = ++size;
+    }
+
+    /**
+     * Release unused capacity, freeze the values of properties declared multiple times, and build the prefix index.
+     *
+     * @return this compact configuration
+     */
+    CompactConfiguration compact() {
+        if (size < keys.length) {
+            keys = Arrays.copyOf(keys, size);
+            values = Arrays.copyOf(values, size);
+        }
+        for (int i = 0; i < size; i++) {
+            if (values[i] instanceof ArrayList) {
+                values[i] = Collections.unmodifiableList((List<?>) values[i]);
+            }
+        }
+        index = PrefixIndex.of(Arrays.asList(keys).subList(0, size));
+        return this;
+    }
+
+    /**
+     * Get the position of the slot that holds the specified key, or of the empty slot in which it would be inserted.
+     *
+     * @param key property key
+     * @return hash index slot position
+     */
+    private int findSlot(String key) {
+        int mask = slots.length - 1;
+        int slot = spread(key.hashCode()) & mask;
+        int index;
+        while ((index = slots[slot]) != 0) {
+            if (keys[index - 1].equals(key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Rebuild the hash index with the specified number of slots.
+     *
+     * @param capacity number of slots (a power of two)
+     */
+    private void rehash(int capacity) {
+        slots = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = spread(keys[i].hashCode()) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i + 1;
+        }
+    }
+
+    /**
+     * Spread the bits of the specified hash code, so that keys with similar hash codes occupy distant slots.
+     *
+     * @param hash key hash code
+     * @return spread hash code
+     */
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Object getPropertyInternal(String key) {
+        int index = slots[findSlot(key)] - 1;
+        return (index >= 0) ? values[index] : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean containsKeyInternal(String key) {
+        return slots[findSlot(key)] != 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean containsValueInternal(Object value) {
+        for (int i = 0; i < size; i++) {
+            Object current = values[i];
+            if ((current instanceof Collection) ? ((Collection<?>) current).contains(value) : current.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isEmptyInternal() {
+        return size == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int sizeInternal() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal() {
+        return Collections.unmodifiableList(Arrays.asList(keys).subList(0, size)).iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal(String prefix) {
+        return (index != null) ? index.getKeys(prefix) : super.getKeysInternal(prefix);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal(String prefix, String delimiter) {
+        return (index != null) ? index.getKeys(prefix, delimiter) : super.getKeysInternal(prefix, delimiter);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void addPropertyDirect(String key, Object value) {
+        throw new UnsupportedOperationException("Compact stored properties can't be modified");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void clearPropertyDirect(String key) {
+        throw new UnsupportedOperationException("Compact stored properties can't be modified");
+    }
+}
@@ -0,0 +1,207 @@
+package com.nordstrom.automation.settings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.commons.configuration2.AbstractConfiguration;
+
+import com.nordstrom.automation.settings.SettingsCore.SettingsAPI;
+
+/**
+ * This class implements a configuration that supplies the values of the settings declared by a {@link SettingsAPI}
+ * enumeration from environment variables. The name of the environment variable for each setting is determined by its
+ * {@link SettingsAPI#envName envName()} method (e.g. - {@code narf.string.system} maps to {@code NARF_STRING_SYSTEM}).
+ * These names are computed once per enumeration class.
+ * <p>
+ * The environment is consulted once, upon construction. Only the variables that correspond to declared settings are
+ * captured, into a table indexed by constant ordinal. Lookups locate the ordinal of the requested key through the
+ * shared key index of the enumeration, so they never consult the environment or compute variable names.
+ * <p>
+ * <b>NOTE</b>: Keys that aren't declared by the enumeration are not visible through this layer. Environment variables
+ * can't be set, so this layer doesn't accept new values. Clearing a property hides its captured value from this layer,
+ * without affecting the environment.
+ */
+public class EnvironmentConfiguration extends AbstractConfiguration {
+
+    /** environment variable names of the constants of each settings enumeration, indexed by ordinal */
+    private static final ClassValue<String[]> ENV_NAMES = new ClassValue<String[]>() {
+        @Override
+        protected String[] computeValue(Class<?> type) {
+            SettingsAPI[] constants = (SettingsAPI[]) type.getEnumConstants();
+            String[] names = new String[constants.length];
+            for (int i = 0; i < constants.length; i++) {
+                names[i] = constants[i].envName();
+            }
+            return names;
+        }
+    };
+
+    private final SettingsDefaults<?> declared;
+    private volatile String[] values;
+
+    /**
+     * Capture the environment variables that correspond to the settings declared by the specified enumeration.
+     *
+     * @param <T> context-specific settings enumeration
+     * @param enumClass settings enumeration class
+     */
+    public <T extends Enum<T> & SettingsAPI> EnvironmentConfiguration(Class<T> enumClass) {
+        this(enumClass, System.getenv());
+    }
+
+    /**
+     * Capture the variables of the specified environment that correspond to the settings declared by the specified
+     * enumeration.
+     *
+     * @param <T> context-specific settings enumeration
+     * @param enumClass settings enumeration class
+     * @param environment map of environment variable names to values
+     */
+    public <T extends Enum<T> & SettingsAPI> EnvironmentConfiguration(Class<T> enumClass,
+            Map<String, String> environment) {
+        this.declared = SettingsDefaults.of(enumClass);
+        String[] names = ENV_NAMES.get(enumClass);
+        String[] captured = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            // if setting maps to an environment variable
+            if (names[i] != null) {
+                captured[i] = environment.get(names[i]);
+            }
+        }
+        this.values = captured;
+    }
+
+    /**
+     * Convert the specified setting key to the default form of its environment variable name. The key is converted
+     * to upper case, and each character that isn't a letter or digit is replaced by an underscore.
+     *
+     * @param key setting key
+     * @return environment variable name
+     */
+    public static String toEnvName(String key) {
+        char[] chars = key.toUpperCase(Locale.ROOT).toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if ( ! Character.isLetterOrDigit(chars[i])) {
+                chars[i] = '_';
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Get the ordinal of the setting with the specified key.
+     *
+     * @param key setting key
+     * @return setting ordinal; -1 if no setting declares the specified key
+     */
+    private int ordinalOf(String key) {
+        return declared.getOrdinal(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Object getPropertyInternal(String key) {
+        int ordinal = ordinalOf(key);
+        return (ordinal >= 0) ? values[ordinal] : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean containsKeyInternal(String key) {
+        return getPropertyInternal(key) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean containsValueInternal(Object value) {
+        return Arrays.asList(values).contains(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isEmptyInternal() {
+        for (String value : values) {
+            if (value != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal() {
+        String[] current = values;
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] != null) {
+                keys.add(declared.getConstants()[i].key());
+            }
+        }
+        return keys.iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal(String prefix) {
+        return getKeysInternal(prefix, PrefixIndex.DELIMITER);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal(String prefix, String delimiter) {
+        String[] current = values;
+        List<String> keys = new ArrayList<>();
+        for (SettingsAPI setting : declared.getConstants(prefix, delimiter)) {
+            // if variable captured
+            if (current[((Enum<?>) setting).ordinal()] != null) {
+                keys.add(setting.key());
+            }
+        }
+        return keys.iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * <b>NOTE</b>: Environment variables can't be set.
+     */
+    @Override
+    protected void addPropertyDirect(String key, Object value) {
+        throw new UnsupportedOperationException("Environment variables can't be set");
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * <b>NOTE</b>: The captured value is hidden from this layer; the environment is unaffected.
+     */
+    @Override
+    protected void clearPropertyDirect(String key) {
+        int ordinal = ordinalOf(key);
+        // if variable captured
+        if ((ordinal >= 0) && (values[ordinal] != null)) {
+            String[] updated = values.clone();
+            updated[ordinal] = null;
+            values = updated;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.nordstrom.automation.settings;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Properties;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.commons.configuration2.io.FileHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class loads stored properties from an HTTP or HTTPS URL. It's used by {@link SettingsCore} for settings URLs
+ * with these protocols, in place of the {@link SettingsFileCache stored properties cache}.
+ * <ul>
+ *     <li>Requests are subject to connect and read timeouts.</li>
+ *     <li>After the first response, requests are conditional: the {@code ETag} and {@code Last-Modified} validators
+ *         of the current content are sent as {@code If-None-Match} and {@code If-Modified-Since} headers. If the
+ *         server responds with {@code 304 Not Modified}, the current layer is returned without parsing anything.</li>
+ *     <li>If a fallback file is specified, each new response body is saved to it along with its validators. If the
+ *         initial request fails, stored properties are restored from this file. If the server confirms that the
+ *         saved content is current, it's restored without being downloaded again.</li>
+ * </ul>
+ * <b>NOTE</b>: Once content has been loaded, failed requests are reported to the caller, which retains the last good
+ *              values. A response of {@code 404 Not Found} is reported as a missing file.
+ */
+final class HttpSettingsSource {
+
+    private static final String ETAG = "ETag";
+    private static final String LAST_MODIFIED = "Last-Modified";
+    private static final String CHARSET = "charset";
+    private static final String VALIDATORS = ".validators";
+
+    private final URL url;
+    private final int timeoutMillis;
+    private final Path fallbackFile;
+    private final boolean streaming;
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private String etag;
+    private String lastModified;
+    private SettingsFileCache.Layer current;
+
+    /**
+     * Create a source for stored properties at the specified URL.
+     *
+     * @param url HTTP or HTTPS URL of stored properties
+     * @param timeout connect and read timeout
+     * @param fallbackFile path of local fallback copy; 'null' for no fallback copy
+     * @param streaming 'true' to parse with {@link StoredPropertiesParser}; 'false' to parse with
+     *                  {@link PropertiesConfiguration}
+     */
+    HttpSettingsSource(URL url, Duration timeout, Path fallbackFile, boolean streaming) {
+        this.url = url;
+        this.timeoutMillis = (int) Math.min(Integer.MAX_VALUE, Math.max(0, timeout.toMillis()));
+        this.fallbackFile = fallbackFile;
+        this.streaming = streaming;
+    }
+
+    /**
+     * Determine if the specified URL is served by this class.
+     *
+     * @param url settings URL
+     * @return 'true' if the specified URL uses the HTTP or HTTPS protocol; otherwise 'false'
+     */
+    static boolean isHttp(URL url) {
+        String protocol = url.getProtocol();
+        return "http".equalsIgnoreCase(protocol) || "https".equalsIgnoreCase(protocol);
+    }
+
+    /**
+     * Load the current stored properties layer, issuing a conditional request if content has been loaded before.
+     *
+     * @return current stored properties layer; the previous layer if the content hasn't changed
+     * @throws ConfigurationException If a failure is encountered while loading stored properties.
+     */
+    synchronized SettingsFileCache.Layer load() throws ConfigurationException {
+        // if no content loaded yet
+        if (current == null) {
+            // validate saved content, if any
+            readValidators();
+        }
+        try {
+            return fetch();
+        } catch (IOException e) {
+            // if content loaded before, retain it
+            if (current != null) {
+                throw new ConfigurationException("Unable to refresh the configuration from the URL " + url, e);
+            }
+            SettingsFileCache.Layer restored = restore();
+            if (restored == null) {
+                throw new ConfigurationException("Unable to load the configuration from the URL " + url, e);
+            }
+            logger.warn("Unable to load settings from URL '{}'; restored fallback copy '{}'", url, fallbackFile, e);
+            current = restored;
+            return restored;
+        }
+    }
+
+    /**
+     * Request the content at the settings URL, parsing it if it has changed.
+     *
+     * @return current stored properties layer
+     * @throws ConfigurationException If the content isn't found or can't be parsed.
+     * @throws IOException If a failure is encountered while communicating with the server.
+     */
+    private SettingsFileCache.Layer fetch() throws ConfigurationException, IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout(timeoutMillis);
+        connection.setReadTimeout(timeoutMillis);
+        connection.setUseCaches(false);
+        if (etag != null) {
+            connection.setRequestProperty("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            connection.setRequestProperty("If-Modified-Since", lastModified);
+        }
+
+        int status = connection.getResponseCode();
+        switch (status) {
+        case HttpURLConnection.HTTP_OK:
+            byte[] content;
+            try (InputStream in = connection.getInputStream()) {
+                content = readAll(in);
+            }
+            Charset charset = getCharset(connection.getContentType());
+            SettingsFileCache.Layer layer = parse(content, charset);
+            etag = connection.getHeaderField(ETAG);
+            lastModified = connection.getHeaderField(LAST_MODIFIED);
+            save(content, charset);
+            current = layer;
+            return layer;
+
+        case HttpURLConnection.HTTP_NOT_MODIFIED:
+            discardError(connection);
+            if (current == null) {
+                // NOTE: Validators were read from the fallback copy
+                current = restore();
+                if (current == null) {
+                    // fallback copy vanished; request content unconditionally
+                    etag = null;
+                    lastModified = null;
+                    return fetch();
+                }
+            }
+            return current;
+
+        case HttpURLConnection.HTTP_NOT_FOUND:
+            discardError(connection);
+            throw new ConfigurationException("Could not locate the configuration at the URL " + url);
+
+        default:
+            discardError(connection);
+            throw new IOException("Unexpected response from URL " + url + ": " + status);
+        }
+    }
+
+    /**
+     * Parse the specified content.
+     *
+     * @param content encoded stored properties
+     * @param charset character set of the content
+     * @return parsed stored properties layer
+     * @throws ConfigurationException If a failure is encountered while parsing stored properties.
+     */
+    private SettingsFileCache.Layer parse(byte[] content, Charset charset) throws ConfigurationException {
+        long parsed = System.currentTimeMillis();
+        if (streaming) {
+            StoredPropertiesParser parser = new StoredPropertiesParser(charset);
+            parser.load(content, url);
+            Configuration config = parser.getConfig();
+            return new SettingsFileCache.Layer(config, parsed, null, parser.getDirectives(),
+                    SettingsFileCache.resolveDirectives(config, parser.getDirectives()));
+        }
+
+        PropertiesConfiguration config = new PropertiesConfiguration();
+        FileHandler handler = new FileHandler(config);
+        // NOTE: Included files are resolved relative to the settings URL
+        handler.setURL(url);
+        handler.load(new ByteArrayInputStream(content), charset.name());
+        return new SettingsFileCache.Layer(config, parsed, null, Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * Save the specified content and its validators to the fallback file, if specified. Failures are logged and
+     * otherwise ignored.
+     *
+     * @param content encoded stored properties
+     * @param charset character set of the content
+     */
+    private void save(byte[] content, Charset charset) {
+        if (fallbackFile != null) {
+            try {
+                Properties validators = new Properties();
+                validators.setProperty(CHARSET, charset.name());
+                if (etag != null) {
+                    validators.setProperty(ETAG, etag);
+                }
+                if (lastModified != null) {
+                    validators.setProperty(LAST_MODIFIED, lastModified);
+                }
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                validators.store(buffer, url.toExternalForm());
+                // NOTE: Validators are written last, so they never describe content that wasn't saved
+                Files.deleteIfExists(getValidatorsFile());
+                write(fallbackFile, content);
+                write(getValidatorsFile(), buffer.toByteArray());
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Unable to save fallback copy '{}' of settings from URL '{}'", fallbackFile, url, e);
+            }
+        }
+    }
+
+    /**
+     * Restore stored properties from the fallback file, if specified.
+     *
+     * @return restored stored properties layer; 'null' if the fallback file is unavailable
+     */
+    private SettingsFileCache.Layer restore() {
+        if ((fallbackFile != null) && Files.isRegularFile(fallbackFile)) {
+            try {
+                Properties validators = loadValidators();
+                Charset charset = forName(validators.getProperty(CHARSET));
+                return parse(Files.readAllBytes(fallbackFile), charset);
+            } catch (ConfigurationException | IOException | RuntimeException e) {
+                logger.warn("Unable to restore fallback copy '{}' of settings from URL '{}'", fallbackFile, url, e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Read the validators of the content saved in the fallback file, if specified.
+     */
+    private void readValidators() {
+        if ((fallbackFile != null) && Files.isRegularFile(fallbackFile)) {
+            try {
+                Properties validators = loadValidators();
+                etag = validators.getProperty(ETAG);
+                lastModified = validators.getProperty(LAST_MODIFIED);
+            } catch (IOException e) {
+                logger.debug("Unable to read validators of fallback copy '{}'", fallbackFile, e);
+            }
+        }
+    }
+
+    /**
+     * Load the validators of the content saved in the fallback file.
+     *
+     * @return saved validators; empty if none were saved
+     * @throws IOException If a failure is encountered while reading the validators file.
+     */
+    private Properties loadValidators() throws IOException {
+        Properties validators = new Properties();
+        Path file = getValidatorsFile();
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                validators.load(in);
+            }
+        }
+        return validators;
+    }
+
+    /**
+     * Get the path of the file that holds the validators of the content saved in the fallback file.
+     *
+     * @return path of validators file
+     */
+    private Path getValidatorsFile() {
+        return fallbackFile.resolveSibling(fallbackFile.getFileName() + VALIDATORS);
+    }
+
+    /**
+     * Get the character set declared by the specified content type.
+     *
+     * @param contentType value of {@code Content-Type} header (may be 'null')
+     * @return declared character set; ISO-8859-1 if none is declared
+     */
+    static Charset getCharset(String contentType) {
+        if (contentType != null) {
+            for (String param : contentType.split(";")) {
+                String[] pair = param.trim().split("=", 2);
+                if ((pair.length == 2) && pair[0].trim().equalsIgnoreCase(CHARSET)) {
+                    return forName(pair[1].trim().replace("\"", ""));
+                }
+            }
+        }
+        return forName(null);
+    }
+
+    /**
+     * Get the specified character set.
+     *
+     * @param name character set name (may be 'null')
+     * @return specified character set; ISO-8859-1 if unspecified or unsupported
+     */
+    private static Charset forName(String name) {
+        if (name != null) {
+            try {
+                return Charset.forName(name);
+            } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+                // fall through
+            }
+        }
+        // NOTE: Undeclared content is decoded as ISO-8859-1, as stored properties files are by PropertiesConfiguration
+        return StandardCharsets.ISO_8859_1;
+    }
+
+    /**
+     * Read and close the error stream of the specified connection, allowing the connection to be reused.
+     *
+     * @param connection HTTP connection
+     */
+    private static void discardError(HttpURLConnection connection) {
+        try (InputStream in = connection.getErrorStream()) {
+            if (in != null) {
+                readAll(in);
+            }
+        } catch (IOException e) {
+            // nothing to do here
+        }
+    }
+
+    /**
+     * Read the remaining content of the specified input stream.
+     *
+     * @param in input stream
+     * @return stream content
+     * @throws IOException If a failure is encountered while reading from the input stream.
+     */
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int count;
+        while ((count = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, count);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Replace the specified file atomically with the specified content.
+     *
+     * @param file target file
+     * @param content file content
+     * @throws IOException If a failure is encountered while writing the file.
+     */
+    private static void write(Path file, byte[] content) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
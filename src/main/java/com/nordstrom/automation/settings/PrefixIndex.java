@@ -0,0 +1,199 @@
+package com.nordstrom.automation.settings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * This class implements an immutable index of the keys of a configuration layer, which answers prefix queries with
+ * cost proportional to the number of matching keys. Keys are held in a sorted array, so the keys that start with a
+ * given prefix occupy a contiguous range that's located by binary search.<br>
+ * <br>
+ * Matching follows the rules of {@link org.apache.commons.configuration2.Configuration#getKeys(String, String)
+ * Configuration.getKeys(prefix, delimiter)}: a key matches if it equals the prefix or starts with the prefix followed
+ * by the delimiter. Matching keys are returned in the order in which the indexed keys were supplied.<br>
+ * <b>NOTE</b>: The index reflects the keys supplied when it was built. Layers that can change rebuild their index (or
+ * discard it until the next query) after each change.
+ */
+final class PrefixIndex {
+
+    /** default delimiter between a prefix and the remainder of a key */
+    static final String DELIMITER = ".";
+
+    /** empty index */
+    static final PrefixIndex EMPTY = new PrefixIndex(new String[0], new int[0]);
+
+    private final String[] sorted;
+    private final int[] positions;
+
+    /**
+     * Create a prefix index.
+     *
+     * @param sorted distinct keys in natural order
+     * @param positions position at which each key was supplied
+     */
+    private PrefixIndex(String[] sorted, int[] positions) {
+        this.sorted = sorted;
+        this.positions = positions;
+    }
+
+    /**
+     * Build an index of the specified keys.
+     *
+     * @param keys keys to index, in iteration order
+     * @return prefix index
+     */
+    static PrefixIndex of(Iterator<String> keys) {
+        List<String> list = new ArrayList<>();
+        keys.forEachRemaining(list::add);
+        return of(list);
+    }
+
+    /**
+     * Build an index of the specified keys.
+     *
+     * @param keys keys to index, in iteration order
+     * @return prefix index
+     */
+    static PrefixIndex of(List<String> keys) {
+        int size = keys.size();
+        if (size == 0) {
+            return EMPTY;
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        // sort positions by key; stable, so the first of any duplicate keys comes first
+        Arrays.sort(order, Comparator.comparing(keys::get));
+
+        String[] sorted = new String[size];
+        int[] positions = new int[size];
+        int count = 0;
+        for (Integer position : order) {
+            String key = keys.get(position);
+            // if not a duplicate of the previous key
+            if ((count == 0) || ! sorted[count - 1].equals(key)) {
+                sorted[count] = key;
+                positions[count++] = position;
+            }
+        }
+        return (count < size)
+                ? new PrefixIndex(Arrays.copyOf(sorted, count), Arrays.copyOf(positions, count))
+                : new PrefixIndex(sorted, positions);
+    }
+
+    /**
+     * Get the number of indexed keys.
+     *
+     * @return number of distinct indexed keys
+     */
+    int size() {
+        return sorted.length;
+    }
+
+    /**
+     * Get the position at which the specified key was supplied.
+     *
+     * @param key key to locate
+     * @return supplied position of the specified key; -1 if it isn't indexed
+     */
+    int indexOf(String key) {
+        int index = Arrays.binarySearch(sorted, key);
+        return (index >= 0) ? positions[index] : -1;
+    }
+
+    /**
+     * Get the indexed keys that match the specified prefix, using the {@link #DELIMITER default delimiter}.
+     *
+     * @param prefix key prefix
+     * @return iterator over matching keys, in the order in which they were supplied
+     */
+    Iterator<String> getKeys(String prefix) {
+        return getKeys(prefix, DELIMITER);
+    }
+
+    /**
+     * Get the indexed keys that match the specified prefix and delimiter.
+     *
+     * @param prefix key prefix
+     * @param delimiter delimiter between the prefix and the remainder of matching keys
+     * @return iterator over matching keys, in the order in which they were supplied
+     */
+    Iterator<String> getKeys(String prefix, String delimiter) {
+        long[] matches = match(prefix, delimiter);
+        if (matches.length == 0) {
+            return Collections.emptyIterator();
+        }
+        List<String> keys = new ArrayList<>(matches.length);
+        for (long match : matches) {
+            keys.add(sorted[(int) match]);
+        }
+        return Collections.unmodifiableList(keys).iterator();
+    }
+
+    /**
+     * Get the positions at which the indexed keys that match the specified prefix and delimiter were supplied.
+     *
+     * @param prefix key prefix
+     * @param delimiter delimiter between the prefix and the remainder of matching keys
+     * @return supplied positions of matching keys, in ascending order
+     */
+    int[] find(String prefix, String delimiter) {
+        long[] matches = match(prefix, delimiter);
+        int[] found = new int[matches.length];
+        for (int i = 0; i < matches.length; i++) {
+            found[i] = (int) (matches[i] >>> 32);
+        }
+        return found;
+    }
+
+    /**
+     * Locate the indexed keys that match the specified prefix and delimiter.
+     *
+     * @param prefix key prefix
+     * @param delimiter delimiter between the prefix and the remainder of matching keys
+     * @return matches encoded as [supplied position : sorted position], in the order in which they were supplied
+     */
+    private long[] match(String prefix, String delimiter) {
+        String start = prefix + delimiter;
+        // NOTE: Keys that start with [prefix + delimiter] form a contiguous range beginning at its insertion point
+        int first = Arrays.binarySearch(sorted, start);
+        if (first < 0) {
+            first = -(first + 1);
+        }
+        int last = first;
+        while ((last < sorted.length) && sorted[last].startsWith(start)) {
+            last++;
+        }
+        // NOTE: With an empty delimiter, an exact match falls within the range
+        int exact = Arrays.binarySearch(sorted, 0, first, prefix);
+        boolean separate = (exact >= 0);
+
+        long[] matches = new long[last - first + (separate ? 1 : 0)];
+        int count = 0;
+        if (separate) {
+            matches[count++] = encode(exact);
+        }
+        for (int i = first; i < last; i++) {
+            matches[count++] = encode(i);
+        }
+        // restore the order in which the keys were supplied
+        Arrays.sort(matches);
+        return matches;
+    }
+
+    /**
+     * Encode the specified sorted position with the position at which its key was supplied, so that sorting encoded
+     * matches restores the supplied order.
+     *
+     * @param index sorted position
+     * @return encoded match
+     */
+    private long encode(int index) {
+        return ((long) positions[index] << 32) | index;
+    }
+}
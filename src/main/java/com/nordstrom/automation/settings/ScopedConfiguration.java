@@ -0,0 +1,97 @@
+package com.nordstrom.automation.settings;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.apache.commons.configuration2.AbstractConfiguration;
+
+/**
+ * This class implements a read-only configuration that supplies the overrides of the {@link SettingsScope} bound to the
+ * current thread. If no scope is bound, this configuration is empty.<br>
+ * <b>NOTE</b>: Modifications of the containing configuration leave scoped overrides unchanged.
+ */
+final class ScopedConfiguration extends AbstractConfiguration {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Object getPropertyInternal(String key) {
+        SettingsScope scope = SettingsScope.current();
+        return (scope != null) ? scope.get(key) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean containsKeyInternal(String key) {
+        return getPropertyInternal(key) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean containsValueInternal(Object value) {
+        SettingsScope scope = SettingsScope.current();
+        if (scope != null) {
+            for (String key : scope.keySet()) {
+                if (value.equals(scope.get(key))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isEmptyInternal() {
+        return sizeInternal() == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int sizeInternal() {
+        SettingsScope scope = SettingsScope.current();
+        return (scope != null) ? scope.keySet().size() : 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal() {
+        SettingsScope scope = SettingsScope.current();
+        return (scope != null) ? scope.keySet().iterator() : Collections.emptyIterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void addPropertyDirect(String key, Object value) {
+        // scoped overrides are set via SettingsScope
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void clearPropertyDirect(String key) {
+        // scoped overrides are removed via SettingsScope
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void clearInternal() {
+        // scoped overrides are removed via SettingsScope
+    }
+}
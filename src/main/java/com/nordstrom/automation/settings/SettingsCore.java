@@ -3,17 +3,37 @@ package com.nordstrom.automation.settings;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.CompositeConfiguration;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.MapConfiguration;
 import org.apache.commons.configuration2.PropertiesConfiguration;
 import org.apache.commons.configuration2.SystemConfiguration;
-import org.apache.commons.configuration2.builder.fluent.Configurations;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.commons.configuration2.io.FileLocatorUtils;
 import org.slf4j.Logger;
@@ -23,10 +43,12 @@ import com.nordstrom.common.base.UncheckedThrow;
 
 /**
  * This class extends {@link CompositeConfiguration}, using the facilities provided by this class to
- * produce an aggregated configuration from three sources in the following order of precedence:
+ * produce an aggregated configuration from five sources in the following order of precedence:
  * 
  * <ol>
+ *     <li>(optional) Overrides of the {@link SettingsScope} bound to the current thread</li>
  *     <li>System properties</li>
+ *     <li>(optional) Environment variables, supplied by {@link #getEnvironmentConfig}</li>
  *     <li>(optional) Stored properties, typically from a <i>properties</i> file</li>
  *     <li>(optional) Default values, typically specified in the enumeration</li>
  * </ol>
@@ -58,7 +80,11 @@ import com.nordstrom.common.base.UncheckedThrow;
  * </ul>
  * 
  * <b>NOTE</b>: For settings collections with no default values, you can eliminate unnecessary processing in 
- *              the core API by overriding {@link #getDefaults} with a method that simply returns 'null'.
+ *              the core API by overriding {@link #getDefaults} with a method that simply returns 'null'.<br>
+ * <b>NOTE</b>: For configurations that are modified while other threads read them, override {@link #isCopyOnWrite}
+ *              to publish each modification atomically.<br>
+ * <b>NOTE</b>: Settings URLs with the HTTP or HTTPS protocol are loaded with timeouts and conditional requests, and
+ *              can be saved to a local fallback copy. See {@link #getHttpTimeout} and {@link #getFallbackFile}.
  *
  * @param <T>
  *     Implementations of {@code SettingsCore} supply a context-specific enumeration (which extends 
@@ -72,159 +98,1830 @@ public class SettingsCore<T extends Enum<T> & SettingsCore.SettingsAPI> extends
     /** system property used to specify settings file */
     public static final String PROPS_FILE = "propsFile";
     
+    /** system property used to specify active settings profiles */
+    public static final String ACTIVE_PROFILES = "settingsProfiles";
+    
+    /** records whether each configuration class overrides {@link #getDefaults} */
+    private static final ClassValue<Boolean> CUSTOM_DEFAULTS = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> c = type; c != SettingsCore.class; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredMethod("getDefaults");
+                    return Boolean.TRUE;
+                } catch (NoSuchMethodException e) {
+                    // check super-class
+                }
+            }
+            return Boolean.FALSE;
+        }
+    };
+    
+    /** set while the current thread resolves settings internally, so these lookups aren't reported as reads */
+    private static final ThreadLocal<Boolean> INTERNAL_LOOKUP = new ThreadLocal<>();
+    
     private final Class<T> enumClass;
+    private final T[] constants;
     private final Logger logger = LoggerFactory.getLogger(getClass());
-    private SystemConfiguration system = new SystemConfiguration();
-    private Configuration properties;
-    private MapConfiguration defaults;
+    private final SettingsMetrics<T> metrics;
+    private final Configuration scoped;
+    private Configuration system;
+    private Configuration environment;
+    private URL storedUrl;
+    private HttpSettingsSource httpSource;
+    private String storedPath;
+    private List<String> storedPaths;
+    private boolean storedReadOnly;
+    private SwappableConfiguration stored;
+    private SettingsFileWatcher watcher;
+    private ScheduledExecutorService refresher;
+    private final List<SettingsListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private SwappableConfiguration defaults;
+    private final SettingsInterpolator settingsInterpolator;
+    private final Object refreshLock = new Object();
+    private volatile SettingsSnapshot<T> snapshot;
+    private final boolean copyOnWrite;
+    private final boolean compactStorage;
+    private final Object writeLock = new Object();
+    private int writeDepth;
+    private Configuration placeholder;
+    private SwappableConfiguration memory;
+    private volatile Layers layers;
+    private volatile boolean pendingValidation;
+    private CapturedSystemConfiguration capturedSystem;
+    
+    /**
+     * Instantiate a configuration object for the specified enumeration class.<br>
+     * <b>NOTE</b>: If the settings enumeration declares {@link SettingsAPI#type type}, {@link SettingsAPI#min range},
+     *              or {@link SettingsAPI#required required} metadata, the resolved value of every setting is validated
+     *              during construction, and a {@link SettingsValidationException} reports every violation. The
+     *              validated values are published as the current {@link SettingsSnapshot snapshot}, which serves the
+     *              typed accessors without parsing them again.
+     * 
+     * @param enumClass enumeration class from which to construct the configuration
+     * @throws ConfigurationException If a failure is encountered while initializing this configuration object.
+     * @throws IOException If a failure is encountered while reading from a configuration input stream.
+     */
+    public SettingsCore(Class<T> enumClass) throws ConfigurationException, IOException {
+        // save enumeration class
+        this.enumClass = enumClass;
+        this.constants = SettingsDefaults.of(enumClass).getConstants();
+        // install interpolation engine
+        settingsInterpolator = new SettingsInterpolator(getInterpolator());
+        setInterpolator(settingsInterpolator);
+        // get instrumentation callback
+        metrics = getMetrics();
+        // determine if copy-on-write mode selected
+        copyOnWrite = isCopyOnWrite();
+        // if copy-on-write mode selected
+        if (copyOnWrite) {
+            // replace in-memory configuration with copy-on-write counterpart
+            resetMemory();
+        }
+        // determine if stored properties and custom default values are packed
+        compactStorage = isCompactStorage();
+        
+        // add scoped overrides
+        scoped = new ScopedConfiguration();
+        addConfiguration(scoped);
+        
+        // get system properties
+        system = getSystemConfig();
+        // if system properties provided
+        if (system != null) {
+            // add system properties
+            addConfiguration(system);
+            // if system properties are captured
+            if (system instanceof CapturedSystemConfiguration) {
+                capturedSystem = (CapturedSystemConfiguration) system;
+                // cache resolved values, since captured system properties report their changes
+                settingsInterpolator.setCaching(true);
+                // discard affected values and current snapshot when captured values change
+                capturedSystem.addChangeListener(changed -> {
+                    settingsInterpolator.invalidate(changed, true);
+                    snapshot = null;
+                });
+            }
+        }
+        
+        // get environment variables
+        environment = getEnvironmentConfig();
+        // if environment variables provided
+        if (environment != null) {
+            // add environment variables
+            addConfiguration(environment);
+        }
+        
+        // if deferring stored properties and default values until first access
+        if (isLazyLoading()) {
+            // add stored properties, loaded upon first access
+            stored = new SwappableConfiguration(this::loadDeferredProperties, this::isStoredShared);
+            addConfiguration(stored);
+            // add default values, loaded upon first access
+            defaults = new SwappableConfiguration(this::getDefaultsConfig, this::isDefaultsShared);
+            addConfiguration(defaults);
+            // validate settings when the first snapshot is built
+            pendingValidation = SettingsDefaults.of(enumClass).isValidated();
+            
+            // get executor for background loading
+            Executor executor = getLoadExecutor();
+            // if executor provided
+            if (executor != null) {
+                // start loading in the background
+                executor.execute(this::preload);
+            }
+        } else {
+            long start = System.nanoTime();
+            try {
+                // load stored properties and default values
+                loadProperties();
+                // if settings declare validation metadata
+                if (SettingsDefaults.of(enumClass).isValidated()) {
+                    // validate resolved values, publishing the validated snapshot
+                    validate(refresh());
+                }
+            } catch (ConfigurationException | IOException | RuntimeException e) {
+                reportLoadFailure(e);
+                throw e;
+            }
+            // report load duration
+            if (metrics != null) {
+                metrics.propertiesLoaded(System.nanoTime() - start);
+            }
+        }
+    }
+    
+    /**
+     * Load stored properties and default values during construction, detecting interpolation cycles.
+     * 
+     * @throws ConfigurationException If a failure is encountered while loading stored properties.
+     * @throws IOException If a failure is encountered while reading from a configuration input stream.
+     */
+    private void loadProperties() throws ConfigurationException, IOException {
+        // get stored properties
+        Configuration properties = getStoredProperties();
+        
+        // if properties defined or reloadable
+        if ((properties != null) || (storedUrl != null) || (storedPath != null)) {
+            // NOTE: properties loaded from a URL or path are shared via the stored properties cache
+            boolean shared = (properties != null) && isStoredShared();
+            // add defined properties, wrapped to support atomic replacement
+            stored = new SwappableConfiguration((properties != null) ? properties : new PropertiesConfiguration(), shared);
+            addConfiguration(stored);
+        }
+        
+        // get default values
+        Configuration defaultsConfig = getDefaultsConfig();
+        // if default values defined
+        if (defaultsConfig != null) {
+            // add default values, wrapped to copy shared values before modification
+            defaults = new SwappableConfiguration(defaultsConfig, isDefaultsShared());
+            addConfiguration(defaults);
+        }
+        
+        // detect interpolation cycles
+        settingsInterpolator.checkCycles(getInterpolatedKeys(stored), key -> internalLookup(() -> getProperty(key)));
+    }
+    
+    /**
+     * Get stored properties from the first declaration that supplies them, in order of evaluation.
+     * 
+     * @return stored properties configuration; 'null' if none are declared or the declared file wasn't found
+     * @throws ConfigurationException If a failure is encountered while loading stored properties.
+     * @throws IOException If a failure is encountered while reading from a configuration input stream.
+     */
+    private Configuration getStoredProperties() throws ConfigurationException, IOException {
+        // get stored configuration
+        Configuration properties = getStoredConfig();
+        
+        // if properties still undefined
+        if (properties == null) {
+            // get configuration input stream
+            InputStream inputStream = getInputStream();
+            // if input stream provided
+            if (inputStream != null) {
+                // if streaming parser selected
+                if (isStreamingParser()) {
+                    // get read-only properties from input stream
+                    properties = StoredPropertiesParser.parse(inputStream);
+                    storedReadOnly = true;
+                } else {
+                    // get properties from input stream
+                    properties = new PropertiesConfiguration();
+                    ((PropertiesConfiguration) properties).read(new InputStreamReader(inputStream, "UTF-8"));
+                }
+            }
+        }
+        
+        // if properties still undefined
+        if (properties == null) {
+            // get settings URL
+            storedUrl = getSettingsUrl();
+            // if setting URL provided
+            if (storedUrl != null) {
+                // if served via HTTP
+                if (HttpSettingsSource.isHttp(storedUrl)) {
+                    // load with timeouts, conditional requests, and fallback copy
+                    httpSource = new HttpSettingsSource(storedUrl, getHttpTimeout(), getFallbackFile(),
+                            isStreamingParser());
+                }
+                // get properties from URL
+                properties = loadStoredConfig();
+            }
+        }
+        
+        // if properties still undefined
+        if (properties == null) {
+            // get settings file path
+            storedPath = getSettingsPath();
+            // if settings file path provided
+            if (storedPath != null) {
+                // get paths of profile-specific settings files
+                storedPaths = getProfilePaths(storedPath, getActiveProfiles());
+                // get properties from file path
+                properties = loadStoredConfig();
+            }
+        }
+        
+        // if compact storage selected
+        if (compactStorage && (properties != null)) {
+            // pack properties into a shared read-only arena
+            properties = compact(properties);
+            storedReadOnly = true;
+        }
+        
+        return properties;
+    }
+    
+    /**
+     * Pack the specified configuration into a read-only arena, shared with other configuration objects that hold the
+     * same content.
+     * 
+     * @param config configuration to pack
+     * @return arena configuration
+     */
+    private Configuration compact(Configuration config) {
+        return ArenaConfiguration.of(config, SettingsDefaults.of(enumClass)::getDeclaredKey);
+    }
+    
+    /**
+     * Load stored properties upon first access, detecting interpolation cycles.
+     * 
+     * @return stored properties configuration; 'null' if none are declared or the declared file wasn't found
+     */
+    private Configuration loadDeferredProperties() {
+        long start = System.nanoTime();
+        try {
+            Configuration loaded = getStoredProperties();
+            Configuration candidate = (loaded != null) ? loaded : new PropertiesConfiguration();
+            // detect interpolation cycles
+            settingsInterpolator.checkCycles(getInterpolatedKeys(candidate), key -> getRawProperty(key, candidate));
+            // report load duration
+            if (metrics != null) {
+                metrics.propertiesLoaded(System.nanoTime() - start);
+            }
+            return loaded;
+        } catch (ConfigurationException | IOException | RuntimeException e) {
+            reportLoadFailure(e);
+            throw UncheckedThrow.throwUnchecked(e);
+        }
+    }
+    
+    /**
+     * Report the specified failure to load stored properties to the instrumentation callback, if any.
+     * 
+     * @param failure load failure
+     */
+    private void reportLoadFailure(Throwable failure) {
+        if (metrics != null) {
+            metrics.loadFailed(failure);
+        }
+    }
+    
+    /**
+     * Get default values as a configuration object.
+     * 
+     * @return default values configuration; 'null' if no default values are defined
+     */
+    private Configuration getDefaultsConfig() {
+        // if default values are produced by an override
+        if (CUSTOM_DEFAULTS.get(getClass())) {
+            // get custom default values
+            Map<String, String> defaultsMap = getDefaults();
+            // if populated default values collection provided
+            if ( ! ((defaultsMap == null) || (defaultsMap.isEmpty()))) {
+                MapConfiguration defaultsConfig = new MapConfiguration(defaultsMap);
+                return compactStorage ? compact(defaultsConfig) : defaultsConfig;
+            }
+            return null;
+        }
+        
+        // get shared enumeration default values
+        SettingsDefaults<T> enumDefaults = SettingsDefaults.of(enumClass);
+        return enumDefaults.isEmpty() ? null : enumDefaults;
+    }
+    
+    /**
+     * Determine if loaded stored properties must be copied before modification, either because they're shared via the
+     * {@link SettingsFileCache stored properties cache} or because they're read-only.
+     * 
+     * @return 'true' if stored properties were loaded from a URL or path, or by the streaming parser; otherwise 'false'
+     */
+    private boolean isStoredShared() {
+        return (storedUrl != null) || (storedPath != null) || storedReadOnly;
+    }
+    
+    /**
+     * Determine if default values are shared with other configuration objects.
+     * 
+     * @return 'true' if default values are those declared by the settings enumeration or are packed into a shared
+     *         arena; otherwise 'false'
+     */
+    private boolean isDefaultsShared() {
+        return compactStorage || ! CUSTOM_DEFAULTS.get(getClass());
+    }
+    
+    /**
+     * Load deferred stored properties and default values.<br>
+     * <b>NOTE</b>: If loading fails, the failure is reported again upon first access.
+     */
+    private void preload() {
+        try {
+            stored.load();
+            defaults.load();
+        } catch (Exception e) {
+            logger.debug("Background loading of settings failed; loading will be retried upon first access", e);
+        }
+    }
+    
+    /**
+     * Get the resolved value of the specified setting from the current {@link SettingsSnapshot snapshot}.<br>
+     * <b>NOTE</b>: The snapshot is built on first access. Modifications made through this configuration (e.g. -
+     *              {@code setProperty}) discard the current snapshot, so they're reflected by the next lookup. Changes
+     *              to the underlying sources (e.g. - new System property values) are not reflected until
+     *              {@link #refresh} is called.
+     * 
+     * @param setting setting constant
+     * @return resolved value; 'null' if the setting is undefined
+     */
+    public String getString(T setting) {
+        recordRead(setting);
+        return getSnapshot().getString(setting);
+    }
+    
+    /**
+     * Get the resolved value of the specified setting as an {@code int} from the current snapshot.
+     * 
+     * @param setting setting constant
+     * @return resolved integer value
+     * @see SettingsSnapshot#getInt
+     */
+    public int getInt(T setting) {
+        recordRead(setting);
+        return getSnapshot().getInt(setting);
+    }
+    
+    /**
+     * Get the resolved value of the specified setting as a {@code long} from the current snapshot.
+     * 
+     * @param setting setting constant
+     * @return resolved long value
+     * @see SettingsSnapshot#getLong
+     */
+    public long getLong(T setting) {
+        recordRead(setting);
+        return getSnapshot().getLong(setting);
+    }
+    
+    /**
+     * Get the resolved value of the specified setting as a {@code boolean} from the current snapshot.
+     * 
+     * @param setting setting constant
+     * @return resolved boolean value
+     * @see SettingsSnapshot#getBoolean
+     */
+    public boolean getBoolean(T setting) {
+        recordRead(setting);
+        return getSnapshot().getBoolean(setting);
+    }
+    
+    /**
+     * Get the resolved value of the specified setting as a {@link Duration} from the current snapshot.
+     * 
+     * @param setting setting constant
+     * @return resolved duration value
+     * @see SettingsSnapshot#getDuration
+     */
+    public Duration getDuration(T setting) {
+        recordRead(setting);
+        return getSnapshot().getDuration(setting);
+    }
+    
+    /**
+     * Get the resolved values of the specified setting as a list of strings from the current snapshot.
+     * 
+     * @param setting setting constant
+     * @return unmodifiable list of resolved values; empty if the setting is undefined
+     * @see SettingsSnapshot#getList
+     */
+    public List<String> getList(T setting) {
+        recordRead(setting);
+        return getSnapshot().getList(setting);
+    }
+    
+    /**
+     * Report a read of the specified setting to the instrumentation callback, if any.
+     * 
+     * @param setting setting constant
+     */
+    private void recordRead(T setting) {
+        if (metrics != null) {
+            metrics.settingRead(setting);
+        }
+    }
+    
+    /**
+     * Report a read of the setting with the specified key to the instrumentation callback. Undeclared keys and lookups
+     * made internally (e.g. - to build snapshots) aren't reported.<br>
+     * <b>NOTE</b>: This is only invoked if instrumentation is enabled.
+     * 
+     * @param key property key
+     */
+    private void recordRead(String key) {
+        // if not an internal lookup
+        if (INTERNAL_LOOKUP.get() == null) {
+            int ordinal = SettingsDefaults.of(enumClass).getOrdinal(key);
+            // if key is declared
+            if (ordinal >= 0) {
+                metrics.settingRead(constants[ordinal]);
+            }
+        }
+    }
+    
+    /**
+     * Perform the specified lookup without reporting the settings it reads to the instrumentation callback.
+     * 
+     * @param <R> lookup result type
+     * @param lookup lookup to perform
+     * @return lookup result
+     */
+    private <R> R internalLookup(Supplier<R> lookup) {
+        // if instrumentation disabled or already within an internal lookup
+        if ((metrics == null) || (INTERNAL_LOOKUP.get() != null)) {
+            return lookup.get();
+        }
+        INTERNAL_LOOKUP.set(Boolean.TRUE);
+        try {
+            return lookup.get();
+        } finally {
+            INTERNAL_LOOKUP.remove();
+        }
+    }
+    
+    /**
+     * Build a new snapshot of the resolved values of the settings declared by this configuration's enumeration.<br>
+     * <b>NOTE</b>: The lookups made to build the snapshot aren't reported as reads to the instrumentation callback.
+     * 
+     * @return new settings snapshot
+     */
+    SettingsSnapshot<T> newSnapshot() {
+        return internalLookup(() -> new SettingsSnapshot<>(this));
+    }
+    
+    /**
+     * Get the current snapshot of the resolved values of the settings declared by this configuration's enumeration.
+     * If no snapshot exists yet, one is built.<br>
+     * <b>NOTE</b>: If the current thread is bound to a {@link SettingsScope} with overrides, the returned snapshot
+     *              reflects these overrides and is specific to that scope.
+     * 
+     * @return current settings snapshot
+     */
+    public SettingsSnapshot<T> getSnapshot() {
+        SettingsScope scope = SettingsScope.current();
+        return (scope != null) ? scope.getSnapshot(this, getSharedSnapshot()) : getSharedSnapshot();
+    }
+    
+    /**
+     * Resolve the settings declared by this configuration's enumeration, atomically replacing the current snapshot.<br>
+     * <b>NOTE</b>: The shared snapshot never reflects scoped overrides, even if the current thread is bound to a
+     *              {@link SettingsScope}.
+     * 
+     * @return new settings snapshot
+     */
+    public SettingsSnapshot<T> refresh() {
+        synchronized (refreshLock) {
+            SettingsScope scope = SettingsScope.unbind();
+            try {
+                SettingsSnapshot<T> fresh = newSnapshot();
+                // if validation deferred by lazy loading
+                if (pendingValidation) {
+                    try {
+                        validate(fresh);
+                    } catch (SettingsValidationException e) {
+                        reportLoadFailure(e);
+                        throw UncheckedThrow.throwUnchecked(e);
+                    }
+                    pendingValidation = false;
+                }
+                snapshot = fresh;
+                return fresh;
+            } finally {
+                SettingsScope.bind(scope);
+            }
+        }
+    }
+    
+    /**
+     * Check the resolved values of the specified snapshot against the type, range, and required metadata declared by
+     * the settings enumeration.
+     * 
+     * @param candidate snapshot to validate
+     * @throws SettingsValidationException If any resolved value violates the declared metadata.
+     */
+    private void validate(SettingsSnapshot<T> candidate) throws SettingsValidationException {
+        List<String> violations = candidate.getViolations();
+        if ( ! violations.isEmpty()) {
+            throw new SettingsValidationException(violations);
+        }
+    }
+    
+    /**
+     * Get the current shared snapshot, which is unaffected by scoped overrides. If no snapshot exists yet, one is built.
+     * <br>
+     * <b>NOTE</b>: If System properties are captured and their refresh interval has elapsed, they're refreshed first.
+     *              If this detects changes, the current snapshot is discarded and a new one is built.
+     * 
+     * @return current shared settings snapshot
+     */
+    private SettingsSnapshot<T> getSharedSnapshot() {
+        // refresh captured System properties if their refresh interval has elapsed
+        if (capturedSystem != null) {
+            capturedSystem.refreshIfDue();
+        }
+        SettingsSnapshot<T> current = snapshot;
+        return (current != null) ? current : refresh();
+    }
+    
+    /**
+     * Refresh the captured System properties of this configuration.<br>
+     * <b>NOTE</b>: This method has no effect if System properties are consulted directly.
+     * 
+     * @return 'true' if captured values changed; otherwise 'false'
+     * @see CapturedSystemConfiguration#refresh
+     */
+    public boolean refreshSystemProperties() {
+        if (system instanceof CapturedSystemConfiguration) {
+            // re-evaluate 'sys:' variable references
+            settingsInterpolator.invalidate(Collections.emptySet(), true);
+            return ((CapturedSystemConfiguration) system).refresh();
+        }
+        return false;
+    }
+    
+    /**
+     * Reload stored properties from the URL or path from which they were originally loaded, atomically replacing the
+     * stored properties of this configuration. Registered {@link SettingsListener listeners} are notified if the
+     * resolved values of any declared settings changed.<br>
+     * <b>NOTE</b>: Stored properties can only be reloaded if they were declared via {@link #getSettingsUrl} or
+     *              {@link #getSettingsPath}.<br>
+     * <b>NOTE</b>: If the source is unchanged (e.g. - the cached layer is still current, or the server responds with
+     *              {@code 304 Not Modified}), the stored properties aren't replaced and an empty set is returned.<br>
+     * <b>NOTE</b>: If the settings enumeration declares {@link SettingsAPI#type type}, {@link SettingsAPI#min range},
+     *              or {@link SettingsAPI#required required} metadata, the reloaded settings are validated before
+     *              listeners are notified. If any value is invalid, the previous stored properties are restored and
+     *              a {@link SettingsValidationException} reports every violation.
+     * 
+     * @return settings whose resolved values changed
+     * @throws ConfigurationException If a failure is encountered while loading stored properties.
+     */
+    public Set<T> reload() throws ConfigurationException {
+        // complete deferred loading
+        if (stored != null) {
+            stored.getDelegate();
+        }
+        if ((storedUrl == null) && (storedPath == null)) {
+            throw new IllegalStateException("Stored properties were not loaded from a URL or path");
+        }
+        
+        long start = System.nanoTime();
+        Configuration fresh;
+        try {
+            fresh = compactStorage ? compact(readStoredConfig()) : readStoredConfig();
+            // detect interpolation cycles in reloaded properties
+            settingsInterpolator.checkCycles(getInterpolatedKeys(fresh), key -> getRawProperty(key, fresh));
+        } catch (ConfigurationException | RuntimeException e) {
+            reportLoadFailure(e);
+            throw e;
+        }
+        
+        Set<T> changed;
+        Configuration current = stored.getDelegate();
+        // if stored properties unchanged (e.g. - cached file layer still current, or HTTP 304 Not Modified)
+        if ((fresh == current) || ((fresh instanceof ArenaConfiguration)
+                && ((ArenaConfiguration) fresh).sharesContent(current))) {
+            changed = EnumSet.noneOf(enumClass);
+        } else {
+            synchronized (refreshLock) {
+                // NOTE: If validation is still pending, no snapshot of the previous settings has been published
+                SettingsSnapshot<T> before = pendingValidation ? null : getSharedSnapshot();
+                Configuration previous = stored.swap(fresh, true);
+                republish();
+                settingsInterpolator.invalidate(getChangedKeys(previous, fresh), false);
+                SettingsSnapshot<T> after;
+                try {
+                    after = refresh();
+                    // if settings declare validation metadata
+                    if (SettingsDefaults.of(enumClass).isValidated()) {
+                        validate(after);
+                    }
+                } catch (SettingsValidationException e) {
+                    // restore previous stored properties and snapshot
+                    // NOTE: The previous delegate is treated as shared, so it's copied before its next modification
+                    stored.swap(previous, true);
+                    republish();
+                    settingsInterpolator.invalidate(getChangedKeys(fresh, previous), false);
+                    snapshot = before;
+                    reportLoadFailure(e);
+                    throw e;
+                }
+                changed = (before != null) ? before.changedSettings(after) : EnumSet.allOf(enumClass);
+            }
+        }
+        // report reload duration
+        if (metrics != null) {
+            metrics.propertiesReloaded(System.nanoTime() - start);
+        }
+        
+        // if settings changed
+        if ( ! changed.isEmpty()) {
+            for (SettingsListener<T> listener : listeners) {
+                try {
+                    listener.settingsChanged(this, changed);
+                } catch (RuntimeException e) {
+                    logger.warn("Settings listener failed", e);
+                }
+            }
+        }
+        return changed;
+    }
+    
+    /**
+     * Watch the files from which stored properties were loaded, reloading them on a background thread after each burst
+     * of modifications subsides for the specified debounce period.<br>
+     * <b>NOTE</b>: The stored properties file must be located in the file system.
+     * 
+     * @param debounce quiet period required after the last modification before stored properties are reloaded
+     * @param unit time unit of {@code debounce}
+     * @throws IOException If a failure is encountered while registering the file watcher.
+     * @see #reload
+     * @see #disableReload
+     */
+    public synchronized void enableReload(long debounce, TimeUnit unit) throws IOException {
+        if (watcher == null) {
+            Path file = getStoredFile();
+            if (file == null) {
+                throw new IllegalStateException("Stored properties were not loaded from the file system");
+            }
+            // watch profile-specific settings files too, even if they don't exist yet
+            List<Path> files = new ArrayList<>();
+            files.add(file);
+            if (storedUrl == null) {
+                for (String path : storedPaths) {
+                    Path sibling = file.resolveSibling(Paths.get(path).getFileName());
+                    if ( ! files.contains(sibling)) {
+                        files.add(sibling);
+                    }
+                }
+            }
+            watcher = new SettingsFileWatcher(files, debounce, unit, () -> {
+                try {
+                    reload();
+                } catch (ConfigurationException e) {
+                    logger.warn("Failure encountered reloading settings from '{}'", file, e);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Stop watching the file from which stored properties were loaded.
+     * 
+     * @throws IOException If a failure is encountered while closing the file watcher.
+     * @see #enableReload
+     */
+    public synchronized void disableReload() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+    }
+    
+    /**
+     * Reload stored properties on a background thread at the specified interval. This suits stored properties that
+     * can't be watched for modifications, such as those served via HTTP. Failures are logged, and the last good values
+     * are retained until a subsequent reload succeeds.<br>
+     * <b>NOTE</b>: Each reload of stored properties served via HTTP issues a conditional request. If the server reports
+     *              that the content hasn't changed, nothing is parsed and no listeners are notified.
+     * 
+     * @param interval interval between the end of one reload and the start of the next
+     * @param unit time unit of {@code interval}
+     * @see #reload
+     * @see #disableRefresh
+     */
+    public synchronized void enableRefresh(long interval, TimeUnit unit) {
+        if (refresher == null) {
+            // complete deferred loading
+            if (stored != null) {
+                stored.getDelegate();
+            }
+            if ((storedUrl == null) && (storedPath == null)) {
+                throw new IllegalStateException("Stored properties were not loaded from a URL or path");
+            }
+            String location = getStoredLocation();
+            refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "settings-refresh-" + location);
+                thread.setDaemon(true);
+                return thread;
+            });
+            refresher.scheduleWithFixedDelay(() -> {
+                try {
+                    reload();
+                } catch (ConfigurationException | RuntimeException e) {
+                    logger.warn("Failure encountered refreshing settings from '{}'", location, e);
+                }
+            }, interval, interval, unit);
+        }
+    }
+    
+    /**
+     * Stop reloading stored properties at the interval specified by {@link #enableRefresh}.
+     * 
+     * @see #enableRefresh
+     */
+    public synchronized void disableRefresh() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+    
+    /**
+     * Register a listener to be notified when the resolved values of declared settings change upon reload.
+     * 
+     * @param listener settings listener
+     */
+    public void addSettingsListener(SettingsListener<T> listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Unregister the specified settings listener.
+     * 
+     * @param listener settings listener
+     */
+    public void removeSettingsListener(SettingsListener<T> listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Get the settings enumeration class of this configuration.
+     * 
+     * @return settings enumeration class
+     */
+    public Class<T> getEnumClass() {
+        return enumClass;
+    }
+    
+    /**
+     * Get the constants of this configuration's settings enumeration.<br>
+     * <b>NOTE</b>: The returned array is shared; callers must not modify it.
+     * 
+     * @return settings enumeration constants
+     */
+    T[] getConstants() {
+        return constants;
+    }
+    
+    /**
+     * Get the constants of this configuration's settings enumeration whose keys match the specified prefix. A key
+     * matches if it equals the prefix or starts with the prefix followed by a period (e.g. - prefix <b>narf</b> matches
+     * keys <b>narf</b> and <b>narf.poit</b>, but not <b>narfpoit</b>).<br>
+     * <b>NOTE</b>: Declared keys are held in a prefix index, so the cost of this method is proportional to the number
+     *              of matching constants rather than the size of the enumeration.
+     * 
+     * @param prefix key prefix
+     * @return list of matching constants, in declaration order
+     */
+    public List<T> getSettings(String prefix) {
+        return SettingsDefaults.of(enumClass).getConstants(prefix, PrefixIndex.DELIMITER);
+    }
+    
+    /**
+     * Get the configuration that supplies System property values, which take precedence over all other sources.<br>
+     * <b>NOTE</b>: The default implementation returns a {@link SystemConfiguration}, which consults the live System
+     *              properties collection on every lookup. To avoid contention on this synchronized collection, override
+     *              this method to return a {@link CapturedSystemConfiguration}, which captures only the keys declared by
+     *              your settings enumeration and refreshes them on request or at a configurable interval. Interval
+     *              refreshes are triggered by lookups by key and by lookups by constant.
+     * 
+     * @return System properties configuration object (may be 'null')
+     * @see #refreshSystemProperties
+     */
+    protected Configuration getSystemConfig() {
+        return new SystemConfiguration();
+    }
+    
+    /**
+     * Get the configuration that supplies environment variable values, which take precedence over stored properties
+     * and default values, and are overridden by System properties.<br>
+     * <b>NOTE</b>: The default implementation returns 'null', so environment variables aren't consulted. To consult
+     *              them, override this method to return an {@link EnvironmentConfiguration} for your settings
+     *              enumeration, which captures the variables that correspond to its settings upon construction. The
+     *              name of the variable for each setting is determined by its {@link SettingsAPI#envName envName()}
+     *              method.
+     * 
+     * @return environment variables configuration object (may be 'null')
+     */
+    protected Configuration getEnvironmentConfig() {
+        return null;
+    }
+    
+    /**
+     * Determine if stored properties and default values are loaded upon first access instead of during construction.
+     * <br>
+     * <b>NOTE</b>: In lazy loading mode, each of these sources is loaded upon the first lookup that isn't satisfied by
+     *              the sources that take precedence over it. Failures (including interpolation cycles) are reported
+     *              by this lookup instead of by the constructor. Missing files are handled as they are otherwise.<br>
+     * <b>NOTE</b>: In this mode, validation of the settings (if the settings enumeration declares validation
+     *              metadata) is deferred until the first snapshot is built, and failures are reported by the lookup
+     *              that builds it.<br>
+     * <b>NOTE</b>: To start loading these sources in the background upon construction, override {@link
+     *              #getLoadExecutor}.
+     * 
+     * @return 'true' to load stored properties and default values upon first access; otherwise 'false'
+     */
+    protected boolean isLazyLoading() {
+        return false;
+    }
+    
+    /**
+     * Get the executor on which to start loading stored properties and default values upon construction.<br>
+     * <b>NOTE</b>: This method is only invoked in {@link #isLazyLoading lazy loading} mode. Lookups issued before
+     *              background loading finishes wait for it to complete.
+     * 
+     * @return executor for background loading; 'null' to load upon first access
+     */
+    protected Executor getLoadExecutor() {
+        return null;
+    }
+    
+    /**
+     * Determine if stored properties declared via {@link #getInputStream}, {@link #getSettingsUrl}, or {@link
+     * #getSettingsPath} are parsed by the streaming parser instead of by {@link PropertiesConfiguration}.<br>
+     * <b>NOTE</b>: The streaming parser produces the same keys and values, but skips the layout model (comments, blank
+     *              lines, separators) that {@link PropertiesConfiguration} builds for saving files. Parsed properties are
+     *              held in a compact read-only table, which is copied before its first modification. This reduces the
+     *              time and memory needed to load large stored properties files.<br>
+     * <b>NOTE</b>: Unlike {@link PropertiesConfiguration}, the streaming parser processes {@code include} directives in
+     *              input streams, locating the named files via the default location strategy.
+     * 
+     * @return 'true' to parse stored properties with the streaming parser; otherwise 'false'
+     */
+    protected boolean isStreamingParser() {
+        return false;
+    }
+    
+    /**
+     * Determine if this configuration publishes its modifications atomically.<br>
+     * <b>NOTE</b>: In copy-on-write mode, the child configurations are published through a volatile reference as an
+     *              immutable array, and modifications of stored properties, default values, and the in-memory
+     *              configuration are applied to copies. Lookups take no locks and never observe a partially applied
+     *              modification (e.g. - the value of a lower layer while {@link #setProperty setProperty} moves a
+     *              property to the in-memory configuration). Modifications are serialized, and each one publishes a
+     *              new version of the child configurations.<br>
+     * <b>NOTE</b>: Each modification copies the configurations it affects, so this mode suits configurations that
+     *              are read far more often than they're modified. In {@link #isLazyLoading lazy loading} mode, the
+     *              first modification loads stored properties and default values.<br>
+     * <b>NOTE</b>: In this mode, the in-memory configuration can't be replaced.
+     * 
+     * @return 'true' to publish modifications atomically; otherwise 'false'
+     */
+    protected boolean isCopyOnWrite() {
+        return false;
+    }
+    
+    /**
+     * Determine if this configuration packs its stored properties and custom default values into compact arenas.<br>
+     * <b>NOTE</b>: In compact storage mode, the keys and values of stored properties and of the default values
+     *              supplied by {@link #getDefaults} are packed into a single array per layer, with tables of offsets
+     *              in place of per-entry objects. Each distinct string is stored once, keys declared by the settings
+     *              enumeration are held as the instances of its constants, and layers with identical content are
+     *              shared by all configuration objects that load them. Packed layers are read-only, and are copied
+     *              before their first modification.<br>
+     * <b>NOTE</b>: Values are materialized upon each lookup by key, so this mode trades allocation on lookups by key
+     *              for retained heap. Lookups by settings constant are served from the current snapshot. Default values
+     *              declared by the settings enumeration are already shared by all configuration objects for that
+     *              enumeration, so they aren't packed.
+     * 
+     * @return 'true' to pack stored properties and custom default values; otherwise 'false'
+     */
+    protected boolean isCompactStorage() {
+        return false;
+    }
+    
+    /**
+     * Get the active settings profiles of this configuration. For each active profile, stored properties declared via
+     * {@link #getSettingsPath} are augmented by a profile-specific file, whose name is formed by appending the profiles
+     * activated so far to the name of the general file. For example, with a settings path of
+     * {@code settings.properties} and active profiles {@code prod} and {@code us-west}, stored properties are loaded
+     * from {@code settings.properties}, {@code settings-prod.properties}, and {@code settings-prod-us-west.properties}.
+     * <br>
+     * <b>NOTE</b>: These files are located and parsed concurrently, and flattened into a single layer of stored
+     *              properties. Each file overrides the properties of the files that precede it. Files that aren't found
+     *              are skipped, as described for {@link #propagateIfNotMissingFile}.<br>
+     * <b>NOTE</b>: By default, the active profiles are specified as a comma-separated list by a System property named
+     *              {@code settingsProfiles}. Profiles don't apply to stored properties declared by other means.
+     * 
+     * @return list of active profiles, from general to specific; empty if no profiles are active
+     */
+    protected List<String> getActiveProfiles() {
+        return SettingsInjector.split(System.getProperty(ACTIVE_PROFILES));
+    }
+    
+    /**
+     * Get the instrumentation callback of this configuration. This method is invoked once, during construction.<br>
+     * <b>NOTE</b>: Instrumentation is disabled by default. When disabled, each lookup pays only for a check of this
+     *              callback. When enabled, the callback is notified of each read by enumeration constant, each lookup
+     *              by key (with the layer that supplied the value and its latency), each load and reload of stored
+     *              properties (with its duration), and each failure to load or reload them. {@link SettingsStatistics}
+     *              accumulates these events and exposes the results via JMX.
+     * 
+     * @return instrumentation callback; 'null' to disable instrumentation
+     */
+    protected SettingsMetrics<T> getMetrics() {
+        return null;
+    }
+    
+    /**
+     * Get the path of the binary snapshot file for stored properties declared via {@link #getSettingsUrl} or {@link
+     * #getSettingsPath}.<br>
+     * <b>NOTE</b>: If a snapshot file is specified, stored properties are restored from this file if it's still valid,
+     *              skipping the location and parsing of the declared file and the files it includes. Otherwise, stored
+     *              properties are loaded normally, and a new snapshot is written to this file. A snapshot is valid if
+     *              every source file it was produced from is unchanged, and every {@code include} directive resolves to
+     *              the same file. Failures to read or write snapshot files are logged and otherwise ignored.
+     * 
+     * @return path of snapshot file; 'null' to disable snapshots
+     */
+    protected Path getSnapshotFile() {
+        return null;
+    }
+    
+    /**
+     * Get the connect and read timeout for stored properties declared via {@link #getSettingsUrl} with the HTTP or
+     * HTTPS protocol.
+     * 
+     * @return timeout of each connection attempt and of each read from the connection
+     */
+    protected Duration getHttpTimeout() {
+        return Duration.ofSeconds(10);
+    }
+    
+    /**
+     * Get the path of the local fallback copy of stored properties declared via {@link #getSettingsUrl} with the HTTP
+     * or HTTPS protocol.<br>
+     * <b>NOTE</b>: If a fallback file is specified, each new response is saved to this file, along with the validators
+     *              ({@code ETag} and {@code Last-Modified}) of its content. If stored properties can't be loaded from
+     *              the settings URL during construction (e.g. - the server is unreachable or times out), they're
+     *              restored from this file. Upon construction, the saved validators are sent with a conditional
+     *              request, so content that's still current is restored from this file instead of being downloaded.
+     * 
+     * @return path of fallback file; 'null' to disable the fallback copy
+     */
+    protected Path getFallbackFile() {
+        return null;
+    }
+    
+    /**
+     * Get stored property declarations as a configuration object.
+     * 
+     * @return populated {@link Configuration} object (may be 'null')
+     * @see #getSettingsPath
+     * @see #getSettingsUrl
+     * @see #getInputStream
+     */
+    public Configuration getStoredConfig() {
+        return null;
+    }
+    
+    /**
+     * Get stored property declarations as an input stream.<br>
+     * <b>NOTE</b>: Property values are typically stored in <i>property</i> files.
+     * 
+     * @return property list (key and element pairs) as an input stream (may be 'null')
+     * @see #getSettingsPath
+     * @see #getSettingsUrl
+     * @see #getStoredConfig
+     */
+    public InputStream getInputStream() {
+        return null;
+    }
+    
+    /**
+     * Get the URL for a stored property declarations file.
+     * 
+     * @return property file URL (may be 'null')
+     * @see #getSettingsPath
+     * @see #getInputStream
+     * @see #getStoredConfig
+     */
+    public URL getSettingsUrl() {
+        return null;
+    }
+    
+    /**
+     * Get the path to a stored property declarations file.
+     * <p>
+     * <b>NOTE</b>: The returned path can be absolute, relative, or a simple filename.
+     *              See {@link FileLocatorUtils#DEFAULT_LOCATION_STRATEGY DEFAULT_LOCATION_STRATEGY} for details of
+     *              the strategy employed by the underlying file-based configuration API to locate the specified file.
+     * 
+     * @return property file path (may be 'null')
+     * @see #getSettingsUrl
+     * @see #getInputStream
+     * @see #getStoredConfig
+     */
+    public String getSettingsPath() {
+        return null;
+    }
+
+    /**
+     * Get defined system property default values<br>
+     * <b>NOTE</b>: Default values are optional. Entries for properties without default values should be omitted.<br>
+     * <b>NOTE</b>: If this method isn't overridden, the default values declared by the settings enumeration are
+     *              computed once per enumeration class and shared by all configuration objects for that class. The
+     *              default implementation returns a modifiable copy of these values, which overrides can augment.
+     * 
+     * @return defined system property default values (may be 'null')
+     */
+    protected Map<String, String> getDefaults() {
+        return new HashMap<>(SettingsDefaults.of(enumClass).getValueMap());
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Object getPropertyInternal(String key) {
+        Layers current = layers;
+        // if neither copy-on-write nor instrumentation enabled
+        if ((current == null) && (metrics == null)) {
+            return super.getPropertyInternal(key);
+        }
+        
+        long start = 0;
+        if (metrics != null) {
+            recordRead(key);
+            start = System.nanoTime();
+        }
+        int count = (current != null) ? current.views.length : getNumberOfConfigurations();
+        for (int i = 0; i < count; i++) {
+            Configuration config = (current != null) ? current.views[i] : getConfiguration(i);
+            if (config.containsKey(key)) {
+                Object value = config.getProperty(key);
+                if (metrics != null) {
+                    Configuration child = (current != null) ? current.children[i] : config;
+                    metrics.propertyLookup(key, getLayer(child), System.nanoTime() - start);
+                }
+                return value;
+            }
+        }
+        if (metrics != null) {
+            metrics.propertyLookup(key, null, System.nanoTime() - start);
+        }
+        return null;
+    }
+    
+    /**
+     * Identify the specified child configuration.
+     * 
+     * @param config child configuration
+     * @return settings layer of the specified configuration
+     */
+    private SettingsLayer getLayer(Configuration config) {
+        if (config == scoped) {
+            return SettingsLayer.SCOPE;
+        }
+        if (config == system) {
+            return SettingsLayer.SYSTEM;
+        }
+        if (config == environment) {
+            return SettingsLayer.ENVIRONMENT;
+        }
+        if (config == stored) {
+            return SettingsLayer.STORED;
+        }
+        if (config == defaults) {
+            return SettingsLayer.DEFAULTS;
+        }
+        return SettingsLayer.OTHER;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean containsKeyInternal(String key) {
+        Layers current = layers;
+        if (current == null) {
+            return super.containsKeyInternal(key);
+        }
+        for (Configuration config : current.views) {
+            if (config.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean containsValueInternal(Object value) {
+        Layers current = layers;
+        if (current == null) {
+            return super.containsValueInternal(value);
+        }
+        for (Configuration config : current.views) {
+            if (config.containsValue(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isEmptyInternal() {
+        Layers current = layers;
+        if (current == null) {
+            return super.isEmptyInternal();
+        }
+        for (Configuration config : current.views) {
+            if ( ! config.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal() {
+        Layers current = layers;
+        if (current == null) {
+            return super.getKeysInternal();
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (Configuration config : current.views) {
+            config.getKeys().forEachRemaining(keys::add);
+        }
+        return keys.iterator();
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal(String prefix) {
+        Layers current = layers;
+        if (current == null) {
+            return super.getKeysInternal(prefix);
+        }
+        return getKeys(current, prefix, PrefixIndex.DELIMITER);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal(String prefix, String delimiter) {
+        Layers current = layers;
+        if (current == null) {
+            return super.getKeysInternal(prefix, delimiter);
+        }
+        return getKeys(current, prefix, delimiter);
+    }
+    
+    /**
+     * Get the keys of the specified published layers that match the specified prefix and delimiter. Queries of
+     * swappable layers are served from the prefix index of their published delegates.
+     * 
+     * @param current published child configurations
+     * @param prefix key prefix
+     * @param delimiter delimiter between the prefix and the remainder of matching keys
+     * @return iterator over matching keys
+     */
+    private static Iterator<String> getKeys(Layers current, String prefix, String delimiter) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < current.views.length; i++) {
+            Configuration child = current.children[i];
+            Configuration view = current.views[i];
+            Iterator<String> matches = (child instanceof SwappableConfiguration)
+                    ? ((SwappableConfiguration) child).getKeys(view, prefix, delimiter)
+                    : view.getKeys(prefix, delimiter);
+            matches.forEachRemaining(keys::add);
+        }
+        return keys.iterator();
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Object> getList(String key, List<?> defaultValue) {
+        // NOTE: List lookups bypass getPropertyInternal
+        if (metrics != null) {
+            recordRead(key);
+        }
+        Layers current = layers;
+        if (current == null) {
+            return super.getList(key, defaultValue);
+        }
+        
+        List<Object> list = new ArrayList<>();
+        Configuration inMemory = null;
+        // add all elements from the first configuration containing the requested key
+        for (int i = 0; i < current.views.length; i++) {
+            if (current.children[i] == current.memory) {
+                inMemory = current.views[i];
+            } else if (list.isEmpty() && current.views[i].containsKey(key)) {
+                appendListProperty(list, current.views[i].getProperty(key));
+            }
+        }
+        // add all elements from the in-memory configuration
+        if (inMemory != null) {
+            appendListProperty(list, inMemory.getProperty(key));
+        }
+        
+        if (list.isEmpty()) {
+            @SuppressWarnings("unchecked")
+            List<Object> result = (List<Object>) defaultValue;
+            return result;
+        }
+        for (int i = 0; i < list.size(); i++) {
+            list.set(i, interpolate(list.get(i)));
+        }
+        return list;
+    }
+    
+    /**
+     * Append the specified raw property value to the specified list.
+     * 
+     * @param list list of collected values
+     * @param value raw property value (may be 'null')
+     */
+    private void appendListProperty(List<Object> list, Object value) {
+        Object interpolated = interpolate(value);
+        if (interpolated instanceof Collection) {
+            list.addAll((Collection<?>) interpolated);
+        } else if (interpolated != null) {
+            list.add(interpolated);
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Configuration getSource(String key) {
+        Layers current = layers;
+        if ((current == null) || (key == null)) {
+            return super.getSource(key);
+        }
+        Configuration source = null;
+        for (int i = 0; i < current.views.length; i++) {
+            if (current.views[i].containsKey(key)) {
+                if (source != null) {
+                    throw new IllegalArgumentException("The key " + key + " is defined by multiple sources!");
+                }
+                source = current.children[i];
+            }
+        }
+        return source;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Configuration getConfiguration(int index) {
+        Layers current = layers;
+        return (current != null) ? current.children[index] : super.getConfiguration(index);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumberOfConfigurations() {
+        Layers current = layers;
+        return (current != null) ? current.children.length : super.getNumberOfConfigurations();
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Configuration getInMemoryConfiguration() {
+        Layers current = layers;
+        return (current != null) ? current.memory : super.getInMemoryConfiguration();
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addConfiguration(Configuration config, boolean asInMemory) {
+        if ( ! copyOnWrite) {
+            super.addConfiguration(config, asInMemory);
+            return;
+        }
+        if (asInMemory) {
+            throw new UnsupportedOperationException("In-memory configuration can't be replaced in copy-on-write mode");
+        }
+        // apply copy-on-write to stored properties and default values
+        if (config instanceof SwappableConfiguration) {
+            ((SwappableConfiguration) config).setCopyOnWrite(true);
+        }
+        writeLayers(() -> super.addConfiguration(config, false));
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addConfigurationFirst(Configuration config, boolean asInMemory) {
+        if ( ! copyOnWrite) {
+            super.addConfigurationFirst(config, asInMemory);
+            return;
+        }
+        if (asInMemory) {
+            throw new UnsupportedOperationException("In-memory configuration can't be replaced in copy-on-write mode");
+        }
+        writeLayers(() -> super.addConfigurationFirst(config, false));
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeConfiguration(Configuration config) {
+        if (copyOnWrite) {
+            writeLayers(() -> super.removeConfiguration(config));
+        } else {
+            super.removeConfiguration(config);
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void setPropertyInternal(String key, Object value) {
+        if (copyOnWrite) {
+            // NOTE: Clearing and adding the property are published together
+            writeProperties(() -> super.setPropertyInternal(key, value));
+        } else {
+            super.setPropertyInternal(key, value);
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void addPropertyDirect(String key, Object token) {
+        if (copyOnWrite) {
+            writeProperties(() -> memory.addProperty(key, token));
+        } else {
+            super.addPropertyDirect(key, token);
+        }
+        invalidateKey(key);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void clearPropertyDirect(String key) {
+        if (copyOnWrite) {
+            writeProperties(() -> {
+                for (Configuration config : layers.children) {
+                    config.clearProperty(key);
+                }
+            });
+        } else {
+            super.clearPropertyDirect(key);
+        }
+        invalidateKey(key);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void clearInternal() {
+        // NOTE: This is invoked by the super-class constructor
+        if (copyOnWrite) {
+            writeLayers(() -> {
+                super.clearInternal();
+                resetMemory();
+            });
+        } else {
+            super.clearInternal();
+        }
+        if (settingsInterpolator != null) {
+            settingsInterpolator.invalidateAll();
+        }
+        // discard current snapshot
+        snapshot = null;
+    }
+    
+    /**
+     * Replace the in-memory configuration with an empty copy-on-write configuration, publishing the child
+     * configurations.
+     */
+    private void resetMemory() {
+        synchronized (writeLock) {
+            placeholder = super.getInMemoryConfiguration();
+            memory = new SwappableConfiguration(new BaseConfiguration(), false);
+            memory.setCopyOnWrite(true);
+            publish();
+        }
+    }
     
     /**
-     * Instantiate a configuration object for the specified enumeration class.
+     * Apply the specified modification of the child configurations, publishing them once the outermost modification
+     * is complete.
      * 
-     * @param enumClass enumeration class from which to construct the configuration
-     * @throws ConfigurationException If a failure is encountered while initializing this configuration object.
-     * @throws IOException If a failure is encountered while reading from a configuration input stream.
+     * @param modification modification to apply
      */
-    public SettingsCore(Class<T> enumClass) throws ConfigurationException, IOException {
-        // save enumeration class
-        this.enumClass = enumClass;
-        // add system properties
-        addConfiguration(system);
-        
-        // get stored configuration
-        properties = getStoredConfig();
-        
-        // if properties still undefined
-        if (properties == null) {
-            // get configuration input stream
-            InputStream inputStream = getInputStream();
-            // if input stream provided
-            if (inputStream != null) {
-                // get properties from input stream
-                properties = new PropertiesConfiguration();
-                ((PropertiesConfiguration) properties).read(new InputStreamReader(inputStream, "UTF-8"));
+    private void writeLayers(Runnable modification) {
+        synchronized (writeLock) {
+            writeDepth++;
+            try {
+                modification.run();
+            } finally {
+                if (--writeDepth == 0) {
+                    publish();
+                }
             }
         }
-        
-        // if properties still undefined
-        if (properties == null) {
-            // get settings URL
-            URL url = getSettingsUrl();
-            // if setting URL provided
-            if (url != null) {
-                Configurations configs;
-                try {
-                    // get properties from URL
-                    configs = new Configurations();
-                    properties = configs.properties(url);
-                } catch (ConfigurationException e) {
-                    propagateIfNotMissingFile(e);
-                    logger.debug("Optional settings not located at URL '{}'", url);
+    }
+    
+    /**
+     * Apply the specified modification of properties, publishing the child configurations once the outermost
+     * modification is complete.<br>
+     * <b>NOTE</b>: Stored properties and default values are loaded first, so that readers keep observing the delegates
+     *              published before the modification until it's complete.
+     * 
+     * @param modification modification to apply
+     */
+    private void writeProperties(Runnable modification) {
+        synchronized (writeLock) {
+            if (writeDepth == 0) {
+                boolean loaded = false;
+                for (Configuration config : layers.views) {
+                    if (config instanceof SwappableConfiguration) {
+                        ((SwappableConfiguration) config).getDelegate();
+                        loaded = true;
+                    }
+                }
+                if (loaded) {
+                    publish();
+                }
+            }
+            writeLayers(modification);
+        }
+    }
+    
+    /**
+     * Publish the current child configurations, substituting the copy-on-write in-memory configuration for the
+     * placeholder held by the super-class. The current delegates of stored properties and default values are
+     * published in place of their wrappers, so that readers observe each modification in its entirety.
+     */
+    private void publish() {
+        int count = super.getNumberOfConfigurations();
+        Configuration[] children = new Configuration[count];
+        Configuration[] views = new Configuration[count];
+        for (int i = 0; i < count; i++) {
+            Configuration child = super.getConfiguration(i);
+            if (child == placeholder) {
+                child = memory;
+            }
+            children[i] = child;
+            views[i] = (child instanceof SwappableConfiguration) ? ((SwappableConfiguration) child).peek() : child;
+        }
+        layers = new Layers(children, views, memory);
+    }
+    
+    /**
+     * Publish the current child configurations if copy-on-write mode is active.
+     */
+    private void republish() {
+        if (copyOnWrite) {
+            synchronized (writeLock) {
+                publish();
+            }
+        }
+    }
+    
+    /**
+     * Discard cached interpolated values that depend on the specified key, along with the current snapshot.
+     * 
+     * @param key modified property key
+     */
+    private void invalidateKey(String key) {
+        settingsInterpolator.invalidate(Collections.singleton(key), false);
+        // NOTE: Typed lookups must agree with lookups by key
+        snapshot = null;
+    }
+    
+    /**
+     * Load stored properties from the declared URL or path.
+     * 
+     * @return stored properties configuration; 'null' if the declared file wasn't found
+     */
+    private Configuration loadStoredConfig() {
+        // get snapshot file path
+        Path snapshotFile = getSnapshotFile();
+        // if snapshot file specified
+        if (snapshotFile != null) {
+            // prefer the shared layer of the stored properties cache
+            SettingsFileCache.Layer cached = getCachedLayer();
+            // if cached layer is current
+            if (cached != null) {
+                return cached.getConfig();
+            }
+            
+            try {
+                // get stored properties from snapshot
+                Configuration restored = SettingsSnapshotFile.read(snapshotFile, getStoredLocation());
+                // if snapshot is current
+                if (restored != null) {
+                    return restored;
                 }
+            } catch (IOException | RuntimeException e) {
+                logger.debug("Unable to read settings snapshot '{}'", snapshotFile, e);
             }
         }
         
-        // if properties still undefined
-        if (properties == null) {
-            // get settings file path
-            String path = getSettingsPath();
-            // if settings file path provided
-            if (path != null) {
-                Configurations configs;
+        try {
+            SettingsFileCache.Layer layer = readStoredLayer();
+            // if snapshot file specified
+            if (snapshotFile != null) {
                 try {
-                    // get properties from file path
-                    configs = new Configurations();
-                    properties = configs.properties(path);
-                } catch (ConfigurationException e) {
-                    propagateIfNotMissingFile(e);
-                    logger.debug("Optional settings not located at path '{}'", path);
+                    // save snapshot of stored properties
+                    SettingsSnapshotFile.write(snapshotFile, getStoredLocation(), layer);
+                } catch (IOException e) {
+                    logger.debug("Unable to write settings snapshot '{}'", snapshotFile, e);
                 }
             }
+            return layer.getConfig();
+        } catch (ConfigurationException e) {
+            propagateIfNotMissingFile(e);
+            if (storedUrl != null) {
+                logger.debug("Optional settings not located at URL '{}'", storedUrl);
+            } else {
+                logger.debug("Optional settings not located at path '{}'", storedPath);
+            }
+            return null;
         }
-        
-        // if properties defined
-        if (properties != null) {
-            // add defined properties
-            addConfiguration(properties);
+    }
+    
+    /**
+     * Read stored properties from the declared URL or path.<br>
+     * <b>NOTE</b>: The returned configuration is shared via the {@link SettingsFileCache stored properties cache}.
+     * 
+     * @return stored properties configuration
+     * @throws ConfigurationException If a failure is encountered while loading stored properties.
+     */
+    private Configuration readStoredConfig() throws ConfigurationException {
+        return readStoredLayer().getConfig();
+    }
+    
+    /**
+     * Read the stored properties layer from the declared URL or path.
+     * 
+     * @return stored properties layer
+     * @throws ConfigurationException If a failure is encountered while loading stored properties.
+     */
+    private SettingsFileCache.Layer readStoredLayer() throws ConfigurationException {
+        // if served via HTTP
+        if (httpSource != null) {
+            return httpSource.load();
+        }
+        SettingsFileCache cache = SettingsFileCache.getInstance();
+        return cache.loadLayer(locateStored(cache), isStreamingParser());
+    }
+    
+    /**
+     * Get the current layer of the declared stored properties files from the {@link SettingsFileCache stored properties
+     * cache}, without parsing them.
+     * 
+     * @return current cached layer; 'null' if none (or if stored properties are served via HTTP)
+     */
+    private SettingsFileCache.Layer getCachedLayer() {
+        // if served via HTTP
+        if (httpSource != null) {
+            return null;
+        }
+        SettingsFileCache cache = SettingsFileCache.getInstance();
+        try {
+            return cache.getCachedLayer(locateStored(cache), isStreamingParser());
+        } catch (ConfigurationException e) {
+            // NOTE: Location failures are reported when stored properties are read
+            return null;
+        }
+    }
+    
+    /**
+     * Locate the declared stored properties files.
+     * 
+     * @param cache stored properties cache
+     * @return URLs of located settings files, in ascending order of precedence
+     * @throws ConfigurationException If the settings files can't be located.
+     */
+    private List<URL> locateStored(SettingsFileCache cache) throws ConfigurationException {
+        // if no active profiles
+        if ((storedUrl != null) || (storedPaths.size() == 1)) {
+            return Collections.singletonList((storedUrl != null) ? storedUrl : cache.locate(storedPath));
         }
+        return locateProfiles(cache);
+    }
+    
+    /**
+     * Locate the general and profile-specific settings files concurrently. Each file that isn't found is skipped.
+     * 
+     * @param cache stored properties cache
+     * @return URLs of located settings files, in ascending order of precedence
+     * @throws ConfigurationException If none of the settings files can be located.
+     */
+    private List<URL> locateProfiles(SettingsFileCache cache) throws ConfigurationException {
+        List<Object> results = storedPaths.parallelStream().map(path -> {
+            try {
+                return cache.locate(path);
+            } catch (ConfigurationException e) {
+                return e;
+            }
+        }).collect(Collectors.toList());
         
-        // get enumeration default values
-        Map<String, String> defaultsMap = getDefaults();
-        // if populated default values collection provided
-        if ( ! ((defaultsMap == null) || (defaultsMap.isEmpty()))) {
-            // add enumeration default values
-            defaults = new MapConfiguration(defaultsMap);
-            addConfiguration(defaults);
+        List<URL> urls = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            Object result = results.get(i);
+            if (result instanceof URL) {
+                urls.add((URL) result);
+            } else {
+                // NOTE: Missing files are skipped, as they are without profiles
+                propagateIfNotMissingFile((ConfigurationException) result);
+                logger.debug("Optional settings not located at path '{}'", storedPaths.get(i));
+            }
         }
+        if (urls.isEmpty()) {
+            throw new ConfigurationException("Could not locate any of the settings files " + storedPaths);
+        }
+        return urls;
     }
     
     /**
-     * Get stored property declarations as a configuration object.
+     * Get the declared location of stored properties.
      * 
-     * @return populated {@link Configuration} object (may be 'null')
-     * @see #getSettingsPath
-     * @see #getSettingsUrl
-     * @see #getInputStream
+     * @return declared URL or path of stored properties
      */
-    public Configuration getStoredConfig() {
-        return null;
+    private String getStoredLocation() {
+        return (storedUrl != null) ? storedUrl.toExternalForm() : String.join(",", storedPaths);
     }
     
     /**
-     * Get stored property declarations as an input stream.<br>
-     * <b>NOTE</b>: Property values are typically stored in <i>property</i> files.
+     * Get the keys whose values are subject to interpolation checks: the keys declared by the settings enumeration, and
+     * the keys of the specified stored properties and the default values.
      * 
-     * @return property list (key and element pairs) as an input stream (may be 'null')
-     * @see #getSettingsPath
-     * @see #getSettingsUrl
-     * @see #getStoredConfig
+     * @param storedConfig stored properties configuration (may be 'null')
+     * @return set of keys to check
      */
-    public InputStream getInputStream() {
-        return null;
+    private Set<String> getInterpolatedKeys(Configuration storedConfig) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (T setting : constants) {
+            keys.add(setting.key());
+        }
+        if (storedConfig != null) {
+            storedConfig.getKeys().forEachRemaining(keys::add);
+        }
+        if (defaults != null) {
+            defaults.getKeys().forEachRemaining(keys::add);
+        }
+        return keys;
     }
     
     /**
-     * Get the URL for a stored property declarations file.
+     * Get the raw value of the specified key, substituting the specified configuration for the stored properties.
      * 
-     * @return property file URL (may be 'null')
-     * @see #getSettingsPath
-     * @see #getInputStream
-     * @see #getStoredConfig
+     * @param key property key
+     * @param storedConfig replacement stored properties configuration
+     * @return raw property value; 'null' if undefined
      */
-    public URL getSettingsUrl() {
+    private Object getRawProperty(String key, Configuration storedConfig) {
+        for (int i = 0; i < getNumberOfConfigurations(); i++) {
+            Configuration config = getConfiguration(i);
+            if (config == stored) {
+                config = storedConfig;
+            }
+            if (config.containsKey(key)) {
+                return config.getProperty(key);
+            }
+        }
         return null;
     }
     
     /**
-     * Get the path to a stored property declarations file.
-     * <p>
-     * <b>NOTE</b>: The returned path can be absolute, relative, or a simple filename.
-     *              See {@link FileLocatorUtils#DEFAULT_LOCATION_STRATEGY DEFAULT_LOCATION_STRATEGY} for details of
-     *              the strategy employed by the underlying file-based configuration API to locate the specified file.
+     * Get the keys whose raw values differ between the specified configurations.
      * 
-     * @return property file path (may be 'null')
-     * @see #getSettingsUrl
-     * @see #getInputStream
-     * @see #getStoredConfig
+     * @param previous previous configuration
+     * @param current current configuration
+     * @return set of changed keys
      */
-    public String getSettingsPath() {
-        return null;
+    private static Set<String> getChangedKeys(Configuration previous, Configuration current) {
+        Set<String> changed = new HashSet<>();
+        previous.getKeys().forEachRemaining(key -> {
+            if ( ! Objects.equals(previous.getProperty(key), current.getProperty(key))) {
+                changed.add(key);
+            }
+        });
+        current.getKeys().forEachRemaining(key -> {
+            if ( ! previous.containsKey(key)) {
+                changed.add(key);
+            }
+        });
+        return changed;
     }
-
+    
     /**
-     * Get defined system property default values<br>
-     * <b>NOTE</b>: Default values are optional. Entries for properties without default values should be omitted.
+     * Get the file system path of the declared stored properties file.
      * 
-     * @return defined system property default values (may be 'null')
+     * @return path of stored properties file; 'null' if not located in the file system
      */
-    protected Map<String, String> getDefaults() {
-        Map<String, String> defaultsMap = new HashMap<>();
-        for (SettingsAPI setting : enumClass.getEnumConstants()) {
-            if (setting.val() != null) {
-                defaultsMap.put(setting.key(), setting.val());
+    private Path getStoredFile() {
+        // complete deferred loading
+        if (stored != null) {
+            stored.getDelegate();
+        }
+        URL url = storedUrl;
+        if ((url == null) && (storedPath != null)) {
+            // locate the first settings file that exists
+            for (String path : storedPaths) {
+                try {
+                    url = SettingsFileCache.getInstance().locate(path);
+                    break;
+                } catch (ConfigurationException e) {
+                    // try next path
+                }
             }
         }
-        return defaultsMap;
+        if ((url != null) && "file".equals(url.getProtocol())) {
+            try {
+                return Paths.get(url.toURI());
+            } catch (URISyntaxException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Get the paths of the general and profile-specific settings files for the specified active profiles.
+     * 
+     * @param path path of general settings file
+     * @param profiles active profiles, from general to specific
+     * @return settings file paths, in ascending order of precedence
+     */
+    static List<String> getProfilePaths(String path, List<String> profiles) {
+        List<String> paths = new ArrayList<>();
+        paths.add(path);
+        int slash = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+        int dot = path.lastIndexOf('.');
+        String stem = (dot > slash) ? path.substring(0, dot) : path;
+        String extension = (dot > slash) ? path.substring(dot) : "";
+        for (String profile : profiles) {
+            stem += "-" + profile;
+            paths.add(stem + extension);
+        }
+        return paths;
     }
     
     /**
@@ -241,36 +1938,82 @@ public class SettingsCore<T extends Enum<T> & SettingsCore.SettingsAPI> extends
     }
     
     /**
-     * If a properties file is specified via a System property named {@code propsFile} or the [propsFile] argument, the
-     * settings in this file are injected into the System properties collection. Note that existing System properties
-     * override property file settings.<br>
+     * If properties files are specified via a System property named {@code propsFile} or the [propsFiles] argument, the
+     * settings in these files are injected into the System properties collection. Note that existing System properties
+     * override property file settings, and each file overrides the settings of the files that follow it.<br>
      * <br>
-     * <b>NOTE</b>: The strategy employed to locate the specified file is defined by
-     *              {@link FileLocatorUtils#DEFAULT_LOCATION_STRATEGY DEFAULT_LOCATION_STRATEGY}
+     * <b>NOTE</b>: The strategy employed to locate the specified files is defined by
+     *              {@link FileLocatorUtils#DEFAULT_LOCATION_STRATEGY DEFAULT_LOCATION_STRATEGY}<br>
+     * <b>NOTE</b>: Each file is injected once; subsequent requests to inject it are ignored. See
+     *              {@link SettingsInjector} for details.
      * 
-     * @param propsFile properties file name (may be 'null')
+     * @param propsFiles comma-separated list of properties file names (may be 'null')
+     * @see #injectPropertiesWithReport(String)
      */
-    public static void injectProperties(String propsFile) {
-        String path = System.getProperty(PROPS_FILE);
-        if (path == null) {
-            path = propsFile;
-        }
+    public static void injectProperties(String propsFiles) {
+        injectPropertiesWithReport(propsFiles);
+    }
+    
+    /**
+     * If properties files are specified via a System property named {@code propsFile} (a comma-separated list) or the
+     * [propsFiles] argument, the settings in these files are injected into the System properties collection. Note that
+     * existing System properties override property file settings, and each file overrides the settings of the files
+     * that follow it.
+     * 
+     * @param propsFiles list of properties file names, in order of precedence (may be empty)
+     * @see #injectProperties(String)
+     * @see #injectPropertiesWithReport(List)
+     */
+    public static void injectProperties(List<String> propsFiles) {
+        injectPropertiesWithReport(propsFiles);
+    }
+    
+    /**
+     * Inject the settings of the specified properties files into the System properties collection, as described by
+     * {@link #injectProperties(String)}, and report the outcome.
+     * 
+     * @param propsFiles comma-separated list of properties file names (may be 'null')
+     * @return report of the files processed and the keys injected
+     */
+    public static SettingsInjector.Report injectPropertiesWithReport(String propsFiles) {
+        return injectPropertiesWithReport(SettingsInjector.split(propsFiles));
+    }
+    
+    /**
+     * Inject the settings of the specified properties files into the System properties collection, as described by
+     * {@link #injectProperties(List)}, and report the outcome.
+     * 
+     * @param propsFiles list of properties file names, in order of precedence (may be empty)
+     * @return report of the files processed and the keys injected
+     */
+    public static SettingsInjector.Report injectPropertiesWithReport(List<String> propsFiles) {
+        String paths = System.getProperty(PROPS_FILE);
+        return SettingsInjector.getInstance().inject((paths != null) ? SettingsInjector.split(paths) : propsFiles);
+    }
+    
+    /**
+     * This class holds a published version of the child configurations in copy-on-write mode.
+     */
+    private static final class Layers {
         
-        if (path != null) {
-            try {
-                Configurations configs = new Configurations();
-                PropertiesConfiguration properties = configs.properties(path);
-                Iterator<String> i = properties.getKeys();
-                while (i.hasNext()) {
-                    String propName = i.next();
-                    if (System.getProperty(propName) == null) {
-                        System.setProperty(propName, properties.getString(propName));
-                    }
-                }
-            } catch (ConfigurationException e) {
-                LoggerFactory.getLogger(SettingsCore.class)
-                        .warn("Failure encountered injecting properties from path '{}'", path);
-            }
+        /** child configurations, in order of precedence */
+        private final Configuration[] children;
+        /** published delegates of the child configurations, from which lookups are served */
+        private final Configuration[] views;
+        /** copy-on-write in-memory configuration */
+        private final Configuration memory;
+        
+        /**
+         * Create a published version of the child configurations.
+         * 
+         * @param children child configurations
+         * @param views published delegates of the child configurations
+         * @param memory copy-on-write in-memory configuration
+         */
+        Layers(Configuration[] children, Configuration[] views, Configuration memory) {
+            this.children = children;
+            this.views = views;
+            this.memory = memory;
         }
     }
     
@@ -297,6 +2040,63 @@ public class SettingsCore<T extends Enum<T> & SettingsCore.SettingsAPI> extends
          * @return configuration setting default value; 'null' if none exists
          */
         String val();
+        
+        /**
+         * Get the name of the environment variable that supplies the value of this configuration setting.<br>
+         * <b>NOTE</b>: By default, the key is converted to upper case, and each character that isn't a letter or
+         *              digit is replaced by an underscore (e.g. - {@code narf.string.system} maps to
+         *              {@code NARF_STRING_SYSTEM}). To apply a different convention to every setting of an
+         *              enumeration, override this method in the body of the enumeration.<br>
+         * <b>NOTE</b>: Return 'null' to exclude this setting from the {@link EnvironmentConfiguration environment
+         *              layer}.
+         * 
+         * @return environment variable name; 'null' if this setting isn't supplied by the environment
+         */
+        default String envName() {
+            return EnvironmentConfiguration.toEnvName(key());
+        }
+        
+        /**
+         * Get the type of the value of this configuration setting.<br>
+         * <b>NOTE</b>: The supported types are {@link String}, {@link Integer}, {@link Long}, {@link Boolean} (or
+         *              their primitive counterparts), and {@link Duration}. The resolved value of a setting with a
+         *              type other than {@link String} must be convertible to that type by the corresponding typed
+         *              accessor (e.g. - {@link SettingsCore#getInt(Enum) getInt}).
+         * 
+         * @return configuration setting type; {@link String} by default
+         */
+        default Class<?> type() {
+            return String.class;
+        }
+        
+        /**
+         * Get the smallest valid value of this configuration setting.<br>
+         * <b>NOTE</b>: The range applies to settings of type {@link Integer} or {@link Long}.
+         * 
+         * @return minimum value (inclusive); {@link Long#MIN_VALUE} by default
+         */
+        default long min() {
+            return Long.MIN_VALUE;
+        }
+        
+        /**
+         * Get the largest valid value of this configuration setting.<br>
+         * <b>NOTE</b>: The range applies to settings of type {@link Integer} or {@link Long}.
+         * 
+         * @return maximum value (inclusive); {@link Long#MAX_VALUE} by default
+         */
+        default long max() {
+            return Long.MAX_VALUE;
+        }
+        
+        /**
+         * Determine if this configuration setting must have a value.
+         * 
+         * @return 'true' if a value is required; 'false' by default
+         */
+        default boolean required() {
+            return false;
+        }
     }
     
 }
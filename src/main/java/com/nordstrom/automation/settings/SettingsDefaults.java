@@ -0,0 +1,261 @@
+package com.nordstrom.automation.settings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.configuration2.AbstractConfiguration;
+
+/**
+ * This class implements an immutable configuration that supplies the default values declared by the constants of a
+ * settings enumeration. A single instance is computed for each enumeration class and shared by all configuration
+ * objects for that class, so the constants are enumerated and their {@link SettingsCore.SettingsAPI#val val()} methods
+ * are invoked only once.<br>
+ * <br>
+ * Default values are held in an array indexed by constant ordinal, along with a key-to-value map for lookups by key.
+ * The declared keys are also held in a {@link PrefixIndex}, which serves prefix queries of this layer and enumeration
+ * of the constants whose keys match a prefix.<br>
+ * <b>NOTE</b>: Instances of this class can't be modified. {@link SettingsCore} wraps the shared instance in a layer
+ *              that copies it before its first modification.
+ *
+ * @param <T> settings enumeration type
+ */
+final class SettingsDefaults<T extends Enum<T> & SettingsCore.SettingsAPI> extends AbstractConfiguration {
+
+    private static final ClassValue<SettingsDefaults<?>> INSTANCES = new ClassValue<SettingsDefaults<?>>() {
+        @Override
+        protected SettingsDefaults<?> computeValue(Class<?> type) {
+            return create(type.asSubclass(Enum.class));
+        }
+    };
+
+    private final T[] constants;
+    private final String[] values;
+    private final Map<String, String> valueMap;
+    private final PrefixIndex keyIndex;
+    private final boolean validated;
+
+    /**
+     * Compute the default values declared by the specified settings enumeration constants.
+     *
+     * @param constants settings enumeration constants
+     */
+    private SettingsDefaults(T[] constants) {
+        this.constants = constants;
+        this.values = new String[constants.length];
+        Map<String, String> map = new HashMap<>();
+        List<String> keys = new ArrayList<>(constants.length);
+        for (T setting : constants) {
+            keys.add(setting.key());
+            String value = setting.val();
+            values[setting.ordinal()] = value;
+            if (value != null) {
+                map.put(setting.key(), value);
+            }
+        }
+        this.valueMap = Collections.unmodifiableMap(map);
+        this.keyIndex = PrefixIndex.of(keys);
+        this.validated = Arrays.stream(constants).anyMatch(SettingsDefaults::declaresSchema);
+    }
+
+    /**
+     * Get the shared default values of the specified settings enumeration.
+     *
+     * @param <T> settings enumeration type
+     * @param enumClass settings enumeration class
+     * @return shared default values
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Enum<T> & SettingsCore.SettingsAPI> SettingsDefaults<T> of(Class<T> enumClass) {
+        return (SettingsDefaults<T>) INSTANCES.get(enumClass);
+    }
+
+    /**
+     * Compute the default values of the specified settings enumeration.
+     *
+     * @param <T> settings enumeration type
+     * @param type settings enumeration class
+     * @return default values
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <T extends Enum<T> & SettingsCore.SettingsAPI> SettingsDefaults<T> create(Class type) {
+        return new SettingsDefaults<>((T[]) type.getEnumConstants());
+    }
+
+    /**
+     * Get the constants of the settings enumeration.<br>
+     * <b>NOTE</b>: The returned array is shared; callers must not modify it.
+     *
+     * @return settings enumeration constants
+     */
+    T[] getConstants() {
+        return constants;
+    }
+
+    /**
+     * Get the key instance declared by the setting with the specified key.
+     *
+     * @param key setting key
+     * @return declared key instance; 'null' if no setting declares the specified key
+     */
+    String getDeclaredKey(String key) {
+        int ordinal = getOrdinal(key);
+        return (ordinal >= 0) ? constants[ordinal].key() : null;
+    }
+
+    /**
+     * Get the ordinal of the setting with the specified key.
+     *
+     * @param key setting key
+     * @return setting ordinal; -1 if no setting declares the specified key
+     */
+    int getOrdinal(String key) {
+        return keyIndex.indexOf(key);
+    }
+
+    /**
+     * Determine if any setting declares type, range, or required metadata, so resolved values must be validated.
+     *
+     * @return 'true' if resolved values must be validated; otherwise 'false'
+     */
+    boolean isValidated() {
+        return validated;
+    }
+
+    /**
+     * Determine if the specified setting declares type, range, or required metadata.
+     *
+     * @param setting setting constant
+     * @return 'true' if the setting declares metadata other than the defaults; otherwise 'false'
+     */
+    private static boolean declaresSchema(SettingsCore.SettingsAPI setting) {
+        return (setting.type() != String.class) || setting.required() || (setting.min() != Long.MIN_VALUE)
+                || (setting.max() != Long.MAX_VALUE);
+    }
+
+    /**
+     * Get the default value declared by the specified setting.
+     *
+     * @param setting setting constant
+     * @return default value; 'null' if none is declared
+     */
+    String getDefault(T setting) {
+        return values[setting.ordinal()];
+    }
+
+    /**
+     * Get the declared default values as a map of keys to values.
+     *
+     * @return unmodifiable map of default values
+     */
+    Map<String, String> getValueMap() {
+        return valueMap;
+    }
+
+    /**
+     * Get the constants whose keys match the specified prefix and delimiter.
+     *
+     * @param prefix key prefix
+     * @param delimiter delimiter between the prefix and the remainder of matching keys
+     * @return list of matching constants, in declaration order
+     */
+    List<T> getConstants(String prefix, String delimiter) {
+        int[] ordinals = keyIndex.find(prefix, delimiter);
+        List<T> matches = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            matches.add(constants[ordinal]);
+        }
+        return matches;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Object getPropertyInternal(String key) {
+        return valueMap.get(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean containsKeyInternal(String key) {
+        return valueMap.containsKey(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean containsValueInternal(Object value) {
+        return valueMap.containsValue(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isEmptyInternal() {
+        return valueMap.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int sizeInternal() {
+        return valueMap.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal() {
+        return valueMap.keySet().iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal(String prefix) {
+        return getKeysInternal(prefix, PrefixIndex.DELIMITER);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal(String prefix, String delimiter) {
+        List<String> keys = new ArrayList<>();
+        for (int ordinal : keyIndex.find(prefix, delimiter)) {
+            // if default value declared
+            if (values[ordinal] != null) {
+                keys.add(constants[ordinal].key());
+            }
+        }
+        return keys.iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void addPropertyDirect(String key, Object value) {
+        throw new UnsupportedOperationException("Shared default values can't be modified");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void clearPropertyDirect(String key) {
+        throw new UnsupportedOperationException("Shared default values can't be modified");
+    }
+}
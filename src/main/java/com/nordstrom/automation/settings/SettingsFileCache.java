@@ -0,0 +1,729 @@
+package com.nordstrom.automation.settings;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.apache.commons.configuration2.PropertiesConfiguration.DefaultIOFactory;
+import org.apache.commons.configuration2.PropertiesConfiguration.PropertiesReader;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.commons.configuration2.io.DefaultFileSystem;
+import org.apache.commons.configuration2.io.FileHandler;
+import org.apache.commons.configuration2.io.FileLocatorUtils;
+import org.apache.commons.configuration2.io.URLConnectionOptions;
+
+/**
+ * This class implements a JVM-wide cache of located and parsed stored properties files, which is shared by all
+ * {@link SettingsCore} instances. Configuration objects that declare the same settings path or URL reuse the location
+ * and the parsed properties of the first one, instead of probing the file system and parsing the file again.<br>
+ * <br>
+ * Each cached properties layer is validated on access against the last-modified time and size of the file it was
+ * parsed from and of every file it includes. Because {@code include} directives can reference System properties (e.g.
+ * - <code>include = ${sys:set.include.name}</code>), these directives are also re-evaluated, and the cached layer is
+ * discarded if any of them now names a different file. Layers parsed from files that were modified shortly before
+ * they were parsed are re-parsed on the next access, because file time stamps may not reveal subsequent modifications
+ * made within the resolution of the file system clock.<br>
+ * <br>
+ * <b>NOTE</b>: The cache holds at most {@link #getMaximumSize} locations and {@link #getMaximumSize} parsed layers,
+ *              evicting the least-recently used entries first. The default size of 64 can be changed via a System
+ *              property named {@code settingsCacheSize}. Specify a size of zero to disable caching.<br>
+ * <b>NOTE</b>: Only files located in the file system or in JAR files are cached. Properties loaded from other kinds
+ *              of URL are parsed on every request.<br>
+ * <b>NOTE</b>: Cached layers are shared, so they must not be modified. {@link SettingsCore} copies its stored
+ *              properties layer before its first modification.
+ */
+public final class SettingsFileCache {
+
+    /** system property used to specify the maximum size of the cache */
+    public static final String CACHE_SIZE = "settingsCacheSize";
+
+    /** files modified within this many milliseconds of being parsed aren't trusted to be unchanged */
+    static final long RACY_WINDOW = 2000;
+
+    private static final SettingsFileCache INSTANCE = new SettingsFileCache(Integer.getInteger(CACHE_SIZE, 64));
+
+    private final int maximumSize;
+    private final Map<String, URL> locations;
+    private final Map<String, Layer> layers;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Create a stored properties cache with the specified maximum size.
+     *
+     * @param maximumSize maximum number of locations and of parsed layers
+     */
+    SettingsFileCache(int maximumSize) {
+        this.maximumSize = Math.max(0, maximumSize);
+        this.locations = new LruMap<>();
+        this.layers = new LruMap<>();
+    }
+
+    /**
+     * Get the JVM-wide stored properties cache.
+     *
+     * @return stored properties cache
+     */
+    public static SettingsFileCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Locate the stored properties file at the specified path.
+     *
+     * @param path absolute, relative, or simple file name
+     * @return URL of the specified file
+     * @throws ConfigurationException If the specified file cannot be located.
+     * @see FileLocatorUtils#DEFAULT_LOCATION_STRATEGY
+     */
+    URL locate(String path) throws ConfigurationException {
+        URL url;
+        synchronized (this) {
+            url = locations.get(path);
+        }
+        // if cached file still exists
+        if ((url != null) && (getStamp(url) != null)) {
+            return url;
+        }
+
+        url = FileLocatorUtils.locateOrThrow(FileLocatorUtils.fileLocator().fileName(path).create());
+        // if location can be validated
+        if ((maximumSize > 0) && (getStamp(url) != null)) {
+            synchronized (this) {
+                locations.put(path, url);
+            }
+        }
+        return url;
+    }
+
+    /**
+     * Get the parsed stored properties of the file at the specified URL.<br>
+     * <b>NOTE</b>: The returned configuration may be shared; callers must not modify it.
+     *
+     * @param url stored properties file URL
+     * @return stored properties configuration
+     * @throws ConfigurationException If a failure is encountered while loading stored properties.
+     */
+    Configuration load(URL url) throws ConfigurationException {
+        return loadLayer(url, false).getConfig();
+    }
+
+    /**
+     * Get the parsed stored properties layer of the file at the specified URL, along with the information needed to
+     * validate it.<br>
+     * <b>NOTE</b>: The configuration of the returned layer may be shared; callers must not modify it.
+     *
+     * @param url stored properties file URL
+     * @param streaming 'true' to parse with {@link StoredPropertiesParser}; 'false' to parse with
+     *                  {@link PropertiesConfiguration}
+     * @return stored properties layer
+     * @throws ConfigurationException If a failure is encountered while loading stored properties.
+     */
+    Layer loadLayer(URL url, boolean streaming) throws ConfigurationException {
+        return loadLayer(Collections.singletonList(url), streaming);
+    }
+
+    /**
+     * Get the flattened stored properties layer of the files at the specified URLs, along with the information needed
+     * to validate it. The files are parsed concurrently, and each file overrides the properties of the files that
+     * precede it.<br>
+     * <b>NOTE</b>: The configuration of the returned layer may be shared; callers must not modify it.
+     *
+     * @param urls stored properties file URLs, in ascending order of precedence
+     * @param streaming 'true' to parse with {@link StoredPropertiesParser}; 'false' to parse with
+     *                  {@link PropertiesConfiguration}
+     * @return flattened stored properties layer
+     * @throws ConfigurationException If a failure is encountered while loading stored properties.
+     */
+    Layer loadLayer(List<URL> urls, boolean streaming) throws ConfigurationException {
+        Layer layer = getCachedLayer(urls, streaming);
+        // if cached layer is current
+        if (layer != null) {
+            return layer;
+        }
+
+        missCount.incrementAndGet();
+        String key = getKey(urls, streaming);
+        layer = (urls.size() == 1) ? parse(urls.get(0), streaming) : merge(parseAll(urls, streaming), streaming);
+        synchronized (this) {
+            // if layer can be validated
+            if ((maximumSize > 0) && layer.isCacheable()) {
+                layers.put(key, layer);
+            } else {
+                layers.remove(key);
+            }
+        }
+        return layer;
+    }
+
+    /**
+     * Get the cached stored properties layer of the files at the specified URLs, if it's current. Unlike
+     * {@link #loadLayer(List, boolean)}, this method never parses the files; a cache miss isn't counted.
+     *
+     * @param urls stored properties file URLs, in ascending order of precedence
+     * @param streaming 'true' for the layer parsed with {@link StoredPropertiesParser}; 'false' for the layer parsed
+     *                  with {@link PropertiesConfiguration}
+     * @return current cached layer; 'null' if none
+     */
+    Layer getCachedLayer(List<URL> urls, boolean streaming) {
+        String key = getKey(urls, streaming);
+        Layer layer;
+        synchronized (this) {
+            layer = layers.get(key);
+        }
+        // if cached layer is current
+        if ((layer != null) && layer.isCurrent()) {
+            hitCount.incrementAndGet();
+            return layer;
+        }
+        return null;
+    }
+
+    /**
+     * Get the key of the cached layer of the files at the specified URLs.
+     *
+     * @param urls stored properties file URLs, in ascending order of precedence
+     * @param streaming 'true' for the layer parsed with {@link StoredPropertiesParser}; 'false' for the layer parsed
+     *                  with {@link PropertiesConfiguration}
+     * @return cached layer key
+     */
+    private static String getKey(List<URL> urls, boolean streaming) {
+        StringBuilder builder = new StringBuilder();
+        for (URL url : urls) {
+            builder.append((builder.length() > 0) ? "\n" : "").append(url.toExternalForm());
+        }
+        // NOTE: Layers produced by each parser are cached separately
+        return streaming ? "stream:" + builder : builder.toString();
+    }
+
+    /**
+     * Get the number of requests for stored properties that were satisfied by cached layers.
+     *
+     * @return cache hit count
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Get the number of requests for stored properties that required a file to be parsed.
+     *
+     * @return cache miss count
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Get the number of locations and parsed layers that have been evicted to enforce the maximum size of the cache.
+     *
+     * @return cache eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Get the maximum number of locations and of parsed layers held by this cache.
+     *
+     * @return maximum cache size
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Get the number of parsed layers currently held by this cache.
+     *
+     * @return number of cached layers
+     */
+    public synchronized int size() {
+        return layers.size();
+    }
+
+    /**
+     * Discard all cached locations and parsed layers, and reset the counters of this cache.
+     */
+    public synchronized void clear() {
+        locations.clear();
+        layers.clear();
+        hitCount.set(0);
+        missCount.set(0);
+        evictionCount.set(0);
+    }
+
+    /**
+     * Parse the stored properties file at the specified URL with the specified parser.
+     *
+     * @param url stored properties file URL
+     * @param streaming 'true' to parse with {@link StoredPropertiesParser}; 'false' to parse with
+     *                  {@link PropertiesConfiguration}
+     * @return parsed stored properties layer
+     * @throws ConfigurationException If a failure is encountered while loading stored properties.
+     */
+    private static Layer parse(URL url, boolean streaming) throws ConfigurationException {
+        return streaming ? stream(url) : parse(url);
+    }
+
+    /**
+     * Parse the stored properties files at the specified URLs concurrently.
+     *
+     * @param urls stored properties file URLs
+     * @param streaming 'true' to parse with {@link StoredPropertiesParser}; 'false' to parse with
+     *                  {@link PropertiesConfiguration}
+     * @return parsed stored properties layers, in the order of the specified URLs
+     * @throws ConfigurationException If a failure is encountered while loading stored properties.
+     */
+    private static List<Layer> parseAll(List<URL> urls, boolean streaming) throws ConfigurationException {
+        List<Object> results = urls.parallelStream().map(url -> {
+            try {
+                return parse(url, streaming);
+            } catch (ConfigurationException | RuntimeException e) {
+                return e;
+            }
+        }).collect(Collectors.toList());
+
+        List<Layer> layers = new ArrayList<>(results.size());
+        for (Object result : results) {
+            if (result instanceof ConfigurationException) {
+                throw (ConfigurationException) result;
+            }
+            if (result instanceof RuntimeException) {
+                throw (RuntimeException) result;
+            }
+            layers.add((Layer) result);
+        }
+        return layers;
+    }
+
+    /**
+     * Flatten the specified stored properties layers into a single layer, which is validated against the files of all
+     * of them. Each layer overrides the properties of the layers that precede it; the values of properties declared
+     * multiple times are replaced as a whole.
+     *
+     * @param parts parsed stored properties layers, in ascending order of precedence
+     * @param streaming 'true' to produce a {@link CompactConfiguration}; 'false' to produce a
+     *                  {@link PropertiesConfiguration}
+     * @return flattened stored properties layer
+     */
+    private static Layer merge(List<Layer> parts, boolean streaming) {
+        CompactConfiguration compact = streaming ? new CompactConfiguration() : null;
+        Configuration merged = streaming ? compact : new PropertiesConfiguration();
+        Set<String> mergedKeys = new HashSet<>();
+        for (int i = parts.size() - 1; i >= 0; i--) {
+            Configuration config = parts.get(i).getConfig();
+            Iterator<String> keys = config.getKeys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                // if not overridden by a subsequent layer
+                if (mergedKeys.add(key)) {
+                    Object value = config.getProperty(key);
+                    if (compact == null) {
+                        merged.addProperty(key, value);
+                    } else if (value instanceof Collection) {
+                        for (Object item : (Collection<?>) value) {
+                            compact.append(key, String.valueOf(item));
+                        }
+                    } else {
+                        compact.append(key, String.valueOf(value));
+                    }
+                }
+            }
+        }
+        if (compact != null) {
+            compact.compact();
+        }
+
+        long parsed = Long.MAX_VALUE;
+        Map<URL, Stamp> stamps = new LinkedHashMap<>();
+        List<String> directives = new ArrayList<>();
+        for (Layer part : parts) {
+            parsed = Math.min(parsed, part.parsed);
+            // if part can't be validated
+            if ((stamps == null) || (part.stamps == null)) {
+                stamps = null;
+            } else {
+                stamps.putAll(part.stamps);
+            }
+            directives.addAll(part.directives);
+        }
+        return new Layer(merged, parsed, stamps, directives, resolveDirectives(merged, directives));
+    }
+
+    /**
+     * Parse the stored properties file at the specified URL, recording the files and {@code include} directives from
+     * which the cached layer will be validated.
+     *
+     * @param url stored properties file URL
+     * @return parsed stored properties layer
+     * @throws ConfigurationException If a failure is encountered while loading stored properties.
+     */
+    private static Layer parse(URL url) throws ConfigurationException {
+        List<URL> sources = new ArrayList<>();
+        List<CRC32> checksums = new ArrayList<>();
+        List<String> directives = new ArrayList<>();
+
+        PropertiesConfiguration config = new PropertiesConfiguration();
+        config.setIOFactory(new DefaultIOFactory() {
+            @Override
+            public PropertiesReader createPropertiesReader(Reader in) {
+                return new PropertiesReader(in) {
+                    @Override
+                    public boolean nextProperty() throws IOException {
+                        boolean available = super.nextProperty();
+                        if (available && isInclude(getPropertyName())) {
+                            directives.add(getPropertyValue());
+                        }
+                        return available;
+                    }
+                };
+            }
+        });
+
+        FileHandler handler = new FileHandler(config);
+        // decode as ISO-8859-1, as Configurations.properties(...) does
+        handler.setEncoding(PropertiesConfiguration.DEFAULT_ENCODING);
+        // record the main file and every included file, with the checksum of the bytes that are parsed
+        handler.setFileSystem(new DefaultFileSystem() {
+            @Override
+            public InputStream getInputStream(URL source) throws ConfigurationException {
+                return record(source, super.getInputStream(source));
+            }
+
+            @Override
+            public InputStream getInputStream(URL source, URLConnectionOptions options) throws ConfigurationException {
+                return record(source, super.getInputStream(source, options));
+            }
+
+            private InputStream record(URL source, InputStream in) {
+                CRC32 checksum = new CRC32();
+                sources.add(source);
+                checksums.add(checksum);
+                return new CheckedInputStream(in, checksum);
+            }
+        });
+        long parsed = System.currentTimeMillis();
+        handler.setURL(url);
+        handler.load();
+        List<Long> values = checksums.stream().map(CRC32::getValue).collect(Collectors.toList());
+        return createLayer(config, parsed, sources, values, directives);
+    }
+
+    /**
+     * Parse the stored properties file at the specified URL with the {@link StoredPropertiesParser streaming parser},
+     * recording the files and {@code include} directives from which the cached layer will be validated.
+     *
+     * @param url stored properties file URL
+     * @return parsed stored properties layer
+     * @throws ConfigurationException If a failure is encountered while loading stored properties.
+     */
+    private static Layer stream(URL url) throws ConfigurationException {
+        // NOTE: Files are decoded as ISO-8859-1, as they are by PropertiesConfiguration
+        StoredPropertiesParser parser = new StoredPropertiesParser(StandardCharsets.ISO_8859_1);
+        long parsed = System.currentTimeMillis();
+        parser.load(url);
+        return createLayer(parser.getConfig(), parsed, parser.getSources(), parser.getChecksums(),
+                parser.getDirectives());
+    }
+
+    /**
+     * Create a parsed stored properties layer, recording the validation stamps of the specified source files.
+     *
+     * @param config parsed stored properties
+     * @param parsed time at which parsing started, in milliseconds since the epoch
+     * @param sources URLs of the files from which the layer was parsed
+     * @param checksums CRC-32 checksum of the parsed content of each source file
+     * @param directives raw values of {@code include} directives
+     * @return parsed stored properties layer
+     */
+    private static Layer createLayer(Configuration config, long parsed, List<URL> sources, List<Long> checksums,
+            List<String> directives) {
+        Map<URL, Stamp> stamps = new LinkedHashMap<>();
+        for (int i = 0; i < sources.size(); i++) {
+            Stamp stamp = getStamp(sources.get(i));
+            // if source can't be validated
+            if (stamp == null) {
+                stamps = null;
+                break;
+            }
+            stamps.put(sources.get(i), stamp.withChecksum(checksums.get(i)));
+        }
+        return new Layer(config, parsed, stamps, directives, resolveDirectives(config, directives));
+    }
+
+    /**
+     * Determine if the specified property name is an {@code include} directive.
+     *
+     * @param name property name
+     * @return 'true' if the specified name is an {@code include} directive; otherwise 'false'
+     */
+    private static boolean isInclude(String name) {
+        return name.equalsIgnoreCase(PropertiesConfiguration.getInclude())
+                || name.equalsIgnoreCase(PropertiesConfiguration.getIncludeOptional());
+    }
+
+    /**
+     * Interpolate the values of the specified {@code include} directives.
+     *
+     * @param config configuration that declared the directives
+     * @param directives raw directive values
+     * @return interpolated directive values
+     */
+    static List<String> resolveDirectives(Configuration config, List<String> directives) {
+        if (directives.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> resolved = new ArrayList<>(directives.size());
+        for (String directive : directives) {
+            resolved.add(String.valueOf(config.getInterpolator().interpolate(directive)));
+        }
+        return resolved;
+    }
+
+    /**
+     * Get the validation stamp of the specified file.
+     *
+     * @param url file URL
+     * @return file validation stamp; 'null' if the file doesn't exist or can't be validated
+     */
+    static Stamp getStamp(URL url) {
+        switch (url.getProtocol()) {
+        case "file":
+            try {
+                Path path = Paths.get(url.toURI());
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return new Stamp(attributes.lastModifiedTime().toMillis(), attributes.size());
+            } catch (URISyntaxException | IOException | IllegalArgumentException e) {
+                return null;
+            }
+        case "jar":
+            // JAR entries on the class path are treated as immutable
+            return Stamp.IMMUTABLE;
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * This class records the last-modified time and size of a file. The stamps of parsed files also record the CRC-32
+     * checksum of the content that was parsed.<br>
+     * <b>NOTE</b>: Stamps are compared by last-modified time and size. The checksum is excluded, because the stamps of
+     *              the current state of files don't have one.
+     */
+    static final class Stamp {
+
+        static final Stamp IMMUTABLE = new Stamp(0, 0);
+
+        private final long lastModified;
+        private final long size;
+        private final long checksum;
+
+        Stamp(long lastModified, long size) {
+            this(lastModified, size, 0);
+        }
+
+        private Stamp(long lastModified, long size, long checksum) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.checksum = checksum;
+        }
+
+        /**
+         * Get a copy of this stamp that records the specified checksum of the parsed content of the file.
+         *
+         * @param checksum CRC-32 checksum of the parsed content
+         * @return stamp with the specified checksum
+         */
+        Stamp withChecksum(long checksum) {
+            return new Stamp(lastModified, size, checksum);
+        }
+
+        /**
+         * Get the last-modified time of the file, in milliseconds since the epoch.
+         *
+         * @return last-modified time
+         */
+        long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Get the size of the file, in bytes.
+         *
+         * @return file size
+         */
+        long getSize() {
+            return size;
+        }
+
+        /**
+         * Get the CRC-32 checksum of the content of the file that was parsed.
+         *
+         * @return content checksum; 0 if the stamp doesn't belong to a parsed file
+         */
+        long getChecksum() {
+            return checksum;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if ( ! (obj instanceof Stamp)) {
+                return false;
+            }
+            Stamp that = (Stamp) obj;
+            return (lastModified == that.lastModified) && (size == that.size);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lastModified, size);
+        }
+    }
+
+    /**
+     * This class holds a parsed stored properties layer, along with the information needed to validate it.
+     */
+    static final class Layer {
+
+        private final Configuration config;
+        private final long parsed;
+        private final Map<URL, Stamp> stamps;
+        private final List<String> directives;
+        private final List<String> resolved;
+
+        /**
+         * Create a parsed stored properties layer.
+         *
+         * @param config parsed stored properties
+         * @param parsed time at which parsing started, in milliseconds since the epoch
+         * @param stamps validation stamps of the files from which the layer was parsed; 'null' if not all of these
+         *               files can be validated
+         * @param directives raw values of {@code include} directives
+         * @param resolved interpolated values of {@code include} directives
+         */
+        Layer(Configuration config, long parsed, Map<URL, Stamp> stamps, List<String> directives,
+                List<String> resolved) {
+            this.config = config;
+            this.parsed = parsed;
+            this.stamps = stamps;
+            this.directives = directives;
+            this.resolved = resolved;
+        }
+
+        /**
+         * Get the parsed stored properties of this layer.
+         *
+         * @return stored properties configuration
+         */
+        Configuration getConfig() {
+            return config;
+        }
+
+        /**
+         * Get the validation stamps of the files from which this layer was parsed.
+         *
+         * @return map of file URLs to validation stamps; 'null' if not all of these files can be validated
+         */
+        Map<URL, Stamp> getStamps() {
+            return stamps;
+        }
+
+        /**
+         * Get the raw values of the {@code include} directives of this layer.
+         *
+         * @return raw directive values
+         */
+        List<String> getDirectives() {
+            return directives;
+        }
+
+        /**
+         * Get the interpolated values of the {@code include} directives of this layer.
+         *
+         * @return interpolated directive values
+         */
+        List<String> getResolved() {
+            return resolved;
+        }
+
+        /**
+         * Determine if this layer can be cached. Layers that can't be validated, or that were parsed from files that
+         * were modified too recently to be trusted, can't be cached.
+         *
+         * @return 'true' if this layer can be cached; otherwise 'false'
+         */
+        boolean isCacheable() {
+            if (stamps == null) {
+                return false;
+            }
+            for (Stamp stamp : stamps.values()) {
+                if (stamp.lastModified > parsed - RACY_WINDOW) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Determine if this layer reflects the current state of the files from which it was parsed.
+         *
+         * @return 'true' if this layer is current; otherwise 'false'
+         */
+        boolean isCurrent() {
+            for (Map.Entry<URL, Stamp> entry : stamps.entrySet()) {
+                if ( ! entry.getValue().equals(getStamp(entry.getKey()))) {
+                    return false;
+                }
+            }
+            // NOTE: The files named by 'include' directives can change with System properties
+            return resolved.equals(resolveDirectives(config, directives));
+        }
+    }
+
+    /**
+     * This class implements a map with least-recently used eviction, bounded by the maximum size of the cache.
+     *
+     * @param <V> value type
+     */
+    private final class LruMap<V> extends LinkedHashMap<String, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        LruMap() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+            if (size() > maximumSize) {
+                evictionCount.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
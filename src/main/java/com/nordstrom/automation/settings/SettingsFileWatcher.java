@@ -0,0 +1,125 @@
+package com.nordstrom.automation.settings;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class watches a settings file for modifications, invoking a callback on a background thread once a burst of
+ * write events has subsided for the configured debounce period. Events for other files in the folder don't extend this
+ * period. Other files in the same folder (e.g. - the files of
+ * active settings profiles) can be watched along with it.
+ */
+final class SettingsFileWatcher implements Closeable {
+
+    private final Path file;
+    private final Set<Path> names = new HashSet<>();
+    private final long debounceMillis;
+    private final Runnable callback;
+    private final WatchService watchService;
+    private final Thread thread;
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * Start watching the specified files.
+     *
+     * @param files settings files to watch, located in the folder of the first
+     * @param debounce quiet period required after the last event before the callback is invoked
+     * @param unit time unit of {@code debounce}
+     * @param callback action to invoke when any of the files has been modified
+     * @throws IOException if the watch service cannot be created or registered
+     */
+    SettingsFileWatcher(List<Path> files, long debounce, TimeUnit unit, Runnable callback) throws IOException {
+        this.file = files.get(0).toAbsolutePath();
+        for (Path watched : files) {
+            names.add(watched.getFileName());
+        }
+        this.debounceMillis = unit.toMillis(debounce);
+        this.callback = callback;
+        Path folder = this.file.getParent();
+        watchService = folder.getFileSystem().newWatchService();
+        folder.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        thread = new Thread(this::watch, "settings-watcher-" + this.file.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Get the settings file being watched. Other watched files are located in the same folder.
+     *
+     * @return absolute path of watched settings file
+     */
+    Path getFile() {
+        return file;
+    }
+
+    /**
+     * Stop watching the settings file.
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    /**
+     * Wait for modifications of the settings file, invoking the callback after each burst of events.
+     */
+    private void watch() {
+        try {
+            while (true) {
+                // if event doesn't apply to settings file
+                if ( ! isRelevant(watchService.take())) {
+                    continue;
+                }
+                // wait until writes to watched files subside; NOTE: unrelated events don't extend the quiet period
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+                long remaining;
+                while ((remaining = deadline - System.nanoTime()) > 0) {
+                    WatchKey next = watchService.poll(remaining, TimeUnit.NANOSECONDS);
+                    if ((next != null) && isRelevant(next)) {
+                        deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+                    }
+                }
+                try {
+                    callback.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Failure encountered reloading settings from '{}'", file, e);
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // watcher closed
+        }
+    }
+
+    /**
+     * Determine if the events of the specified watch key apply to the watched files, resetting the key.
+     *
+     * @param key signaled watch key
+     * @return 'true' if any event applies to a watched file; otherwise 'false'
+     */
+    private boolean isRelevant(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if ((context == null) || names.contains(context)) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+}
@@ -0,0 +1,272 @@
+package com.nordstrom.automation.settings;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class injects the settings of properties files into the System properties collection. It implements
+ * {@link SettingsCore#injectProperties}, and is shared by all callers of this method.<br>
+ * <br>
+ * The specified files are located via the {@link SettingsFileCache stored properties cache} and parsed in parallel by
+ * the {@link StoredPropertiesParser streaming parser}. Their settings are merged in order of precedence: existing
+ * System properties override the settings of every file, and each file overrides the settings of the files that
+ * follow it. The merged settings are then added to the System properties collection in a single bulk operation.<br>
+ * <br>
+ * <b>NOTE</b>: Each file is injected once. Subsequent requests to inject a file that has already been injected are
+ *              ignored, and are reported as such. If the file is still being injected by another thread, these
+ *              requests wait for its settings to be added to the System properties collection. Call {@link #clear} to
+ *              allow files to be injected again.<br>
+ * <b>NOTE</b>: Files that can't be located or parsed are logged and reported. They're not recorded as injected, so
+ *              subsequent requests will attempt to inject them again. Requests that waited for a failed injection
+ *              report the file as failed.
+ */
+public final class SettingsInjector {
+
+    private static final SettingsInjector INSTANCE = new SettingsInjector();
+
+    /** injection outcome of each file: 'true' if injected; 'false' if failed */
+    private final ConcurrentMap<String, CompletableFuture<Boolean>> injected = new ConcurrentHashMap<>();
+    private final Logger logger = LoggerFactory.getLogger(SettingsInjector.class);
+
+    /**
+     * Create a properties injector.
+     */
+    SettingsInjector() {
+    }
+
+    /**
+     * Get the JVM-wide properties injector.
+     *
+     * @return JVM-wide properties injector
+     */
+    public static SettingsInjector getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Split the specified list of properties file paths. Paths are separated by commas.
+     *
+     * @param propsFiles comma-separated list of properties file paths (may be 'null')
+     * @return list of properties file paths; empty if none are specified
+     */
+    public static List<String> split(String propsFiles) {
+        List<String> paths = new ArrayList<>();
+        if (propsFiles != null) {
+            for (String path : propsFiles.split(",")) {
+                if ( ! (path = path.trim()).isEmpty()) {
+                    paths.add(path);
+                }
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Inject the settings of the specified properties files into the System properties collection.
+     *
+     * @param paths properties file paths, in order of precedence
+     * @return report of the files processed and the keys injected
+     */
+    public Report inject(List<String> paths) {
+        Report report = new Report();
+        List<String> pending = new ArrayList<>();
+        List<CompletableFuture<Boolean>> claimed = new ArrayList<>();
+        Map<String, CompletableFuture<Boolean>> repeated = new LinkedHashMap<>();
+        for (String path : new LinkedHashSet<>(paths)) {
+            CompletableFuture<Boolean> created = new CompletableFuture<>();
+            CompletableFuture<Boolean> existing = injected.putIfAbsent(path, created);
+            // if file already injected (or being injected by another thread)
+            if (existing != null) {
+                repeated.put(path, existing);
+            } else {
+                pending.add(path);
+                claimed.add(created);
+            }
+        }
+
+        try {
+            injectPending(pending, claimed, report);
+        } finally {
+            // NOTE: release waiting threads even if injection fails unexpectedly
+            for (int i = 0; i < pending.size(); i++) {
+                if (claimed.get(i).complete(false)) {
+                    injected.remove(pending.get(i), claimed.get(i));
+                }
+            }
+        }
+
+        // wait for files being injected by other threads
+        for (Map.Entry<String, CompletableFuture<Boolean>> entry : repeated.entrySet()) {
+            if (entry.getValue().join()) {
+                report.repeatedFiles.add(entry.getKey());
+            } else {
+                report.failedFiles.add(entry.getKey());
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Inject the settings of the specified files, which have been claimed by the current thread. The future of each
+     * file is completed when its settings have been added to the System properties collection.
+     *
+     * @param pending properties file paths, in order of precedence
+     * @param claimed injection outcome of each file
+     * @param report report of the files processed and the keys injected
+     */
+    private void injectPending(List<String> pending, List<CompletableFuture<Boolean>> claimed, Report report) {
+        // parse pending files in parallel, retaining their order
+        List<Object> results = (pending.size() > 1)
+                ? pending.parallelStream().map(SettingsInjector::parse).collect(Collectors.toList())
+                : pending.stream().map(SettingsInjector::parse).collect(Collectors.toList());
+
+        // merge settings in order of precedence
+        Map<String, String> merged = new LinkedHashMap<>();
+        for (int i = 0; i < pending.size(); i++) {
+            String path = pending.get(i);
+            Object result = results.get(i);
+            if (result instanceof Configuration) {
+                Configuration config = (Configuration) result;
+                Iterator<String> keys = config.getKeys();
+                while (keys.hasNext()) {
+                    String key = keys.next();
+                    if ( ! key.isEmpty() && ! merged.containsKey(key)) {
+                        merged.put(key, config.getString(key));
+                    }
+                }
+                report.injectedFiles.add(path);
+            } else {
+                report.failedFiles.add(path);
+                logger.warn("Failure encountered injecting properties from path '{}'", path, (Exception) result);
+            }
+        }
+
+        // add settings that aren't already defined
+        Properties properties = System.getProperties();
+        synchronized (properties) {
+            for (Map.Entry<String, String> entry : merged.entrySet()) {
+                if (properties.getProperty(entry.getKey()) == null) {
+                    properties.setProperty(entry.getKey(), entry.getValue());
+                    report.injectedKeys.add(entry.getKey());
+                } else {
+                    report.skippedKeys.add(entry.getKey());
+                }
+            }
+        }
+
+        // publish outcomes; NOTE: failed files are released by the caller
+        for (int i = 0; i < pending.size(); i++) {
+            if (results.get(i) instanceof Configuration) {
+                claimed.get(i).complete(true);
+            }
+        }
+    }
+
+    /**
+     * Forget the files that have been injected, allowing them to be injected again.
+     */
+    public void clear() {
+        injected.clear();
+    }
+
+    /**
+     * Locate and parse the properties file at the specified path.
+     *
+     * @param path properties file path
+     * @return parsed properties configuration; exception if the file can't be located or parsed
+     */
+    private static Object parse(String path) {
+        try {
+            URL url = SettingsFileCache.getInstance().locate(path);
+            StoredPropertiesParser parser = new StoredPropertiesParser(StandardCharsets.ISO_8859_1);
+            parser.load(url);
+            return parser.getConfig();
+        } catch (ConfigurationException | RuntimeException e) {
+            return e;
+        }
+    }
+
+    /**
+     * This class reports the outcome of a request to inject properties files.
+     */
+    public static final class Report {
+
+        private final List<String> injectedFiles = new ArrayList<>();
+        private final List<String> repeatedFiles = new ArrayList<>();
+        private final List<String> failedFiles = new ArrayList<>();
+        private final Set<String> injectedKeys = new LinkedHashSet<>();
+        private final Set<String> skippedKeys = new LinkedHashSet<>();
+
+        /**
+         * Get the paths of the files whose settings were merged by this request.
+         *
+         * @return unmodifiable list of file paths, in order of precedence
+         */
+        public List<String> getInjectedFiles() {
+            return Collections.unmodifiableList(injectedFiles);
+        }
+
+        /**
+         * Get the paths of the files that were ignored because they had already been injected.
+         *
+         * @return unmodifiable list of file paths
+         */
+        public List<String> getRepeatedFiles() {
+            return Collections.unmodifiableList(repeatedFiles);
+        }
+
+        /**
+         * Get the paths of the files that couldn't be located or parsed.
+         *
+         * @return unmodifiable list of file paths
+         */
+        public List<String> getFailedFiles() {
+            return Collections.unmodifiableList(failedFiles);
+        }
+
+        /**
+         * Get the keys that were added to the System properties collection.
+         *
+         * @return unmodifiable set of injected keys
+         */
+        public Set<String> getInjectedKeys() {
+            return Collections.unmodifiableSet(injectedKeys);
+        }
+
+        /**
+         * Get the keys that were skipped because they were already defined as System properties.
+         *
+         * @return unmodifiable set of skipped keys
+         */
+        public Set<String> getSkippedKeys() {
+            return Collections.unmodifiableSet(skippedKeys);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "injected " + injectedKeys.size() + " keys (" + skippedKeys.size() + " skipped) from "
+                    + injectedFiles + "; repeated: " + repeatedFiles + "; failed: " + failedFiles;
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package com.nordstrom.automation.settings;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.commons.configuration2.interpol.ConfigurationInterpolator;
+
+/**
+ * This class extends {@link ConfigurationInterpolator} with an interpolation engine that parses each value into a
+ * template once and records the settings keys and variable prefixes on which it depends.
+ * <p>
+ * Parsed templates are cached by value. The template cache holds at least {@value #MAX_TEMPLATES} templates, and grows to
+ * accommodate the interpolated values of the layers checked by {@link #checkCycles}. When it's full, a single template
+ * is evicted for each new one. When caching of resolved values is enabled, each resolved value is cached along
+ * with its transitive dependencies. Cached values are invalidated selectively by {@link #invalidate} when the layers
+ * that supply the recorded dependencies change. Values that depend on lookups other than settings keys, System
+ * properties ({@code sys:}), and environment variables ({@code env:}) are never cached.
+ * <p>
+ * Values that use syntax outside of simple variable references (e.g. - nested variables or default values) are
+ * handed off to the standard interpolation implementation.
+ */
+final class SettingsInterpolator extends ConfigurationInterpolator {
+
+    private static final String VAR_START = "${";
+    private static final String VAR_END = "}";
+    private static final String ESCAPED_START = "$${";
+    private static final String DEFAULT_SEPARATOR = ":-";
+    private static final String SYS_PREFIX = "sys";
+    private static final String ENV_PREFIX = "env";
+    private static final int MAX_TEMPLATES = 65536;
+
+    private final ConcurrentMap<String, Template> templates = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Resolved> resolved = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile int maxTemplates = MAX_TEMPLATES;
+    private volatile boolean caching;
+
+    /**
+     * Create an interpolation engine with the lookups of the specified interpolator.
+     *
+     * @param source interpolator whose lookups are to be used
+     */
+    SettingsInterpolator(ConfigurationInterpolator source) {
+        registerLookups(source.getLookups());
+        addDefaultLookups(source.getDefaultLookups());
+        setParentInterpolator(source.getParentInterpolator());
+        setEnableSubstitutionInVariables(source.isEnableSubstitutionInVariables());
+    }
+
+    /**
+     * Specify whether resolved values are cached.<br>
+     * <b>NOTE</b>: Caching is only appropriate if the layers that supply dependencies report their changes.
+     *
+     * @param caching 'true' to cache resolved values; otherwise 'false'
+     */
+    void setCaching(boolean caching) {
+        this.caching = caching;
+        invalidateAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object interpolate(Object value) {
+        if ( ! (value instanceof String)) {
+            return value;
+        }
+
+        String string = (String) value;
+        // if no variables present
+        if ( ! string.contains(VAR_START)) {
+            return string;
+        }
+
+        Template template = compile(string);
+        // if template not supported
+        if (template == null) {
+            return super.interpolate(value);
+        }
+
+        // NOTE: values resolved with scoped overrides are specific to the current thread
+        boolean cache = caching && (SettingsScope.current() == null);
+        if (cache) {
+            Resolved hit = resolved.get(string);
+            if (hit != null) {
+                return hit.value;
+            }
+        }
+
+        long current = generation.get();
+        Dependencies dependencies = new Dependencies();
+        Object result = resolve(template, dependencies, new ArrayDeque<>());
+
+        // if result can be cached
+        if (cache && dependencies.cacheable && (current == generation.get())) {
+            resolved.put(string, new Resolved(result, dependencies));
+            // if invalidated concurrently
+            if (current != generation.get()) {
+                resolved.remove(string);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Discard cached values that depend on any of the specified keys.
+     *
+     * @param changedKeys keys whose values have changed
+     * @param system 'true' to also discard values that depend on System properties
+     */
+    void invalidate(Set<String> changedKeys, boolean system) {
+        generation.incrementAndGet();
+        if (system || ! changedKeys.isEmpty()) {
+            resolved.values().removeIf(entry ->
+                    (system && entry.system) || ! Collections.disjoint(entry.keys, changedKeys));
+        }
+    }
+
+    /**
+     * Discard all cached values.
+     */
+    void invalidateAll() {
+        generation.incrementAndGet();
+        resolved.clear();
+    }
+
+    /**
+     * Verify that the values of the specified keys contain no cyclic variable references.
+     *
+     * @param keys keys whose values are to be checked
+     * @param rawLookup function that supplies the raw value of a key
+     * @throws ConfigurationException if a cyclic reference is detected
+     */
+    void checkCycles(Collection<String> keys, Function<String, Object> rawLookup) throws ConfigurationException {
+        // make room for the templates of the checked values, along with those of other layers
+        if (keys.size() * 2 > maxTemplates) {
+            maxTemplates = keys.size() * 2;
+        }
+        Map<String, Boolean> visited = new HashMap<>();
+        Deque<String> path = new ArrayDeque<>();
+        for (String key : keys) {
+            checkCycles(key, rawLookup, visited, path);
+        }
+    }
+
+    /**
+     * Perform a depth-first search for cyclic variable references starting at the specified key.
+     *
+     * @param key key whose value is to be checked
+     * @param rawLookup function that supplies the raw value of a key
+     * @param visited map of visited keys; 'false' while in progress, 'true' when complete
+     * @param path path of keys currently being checked
+     * @throws ConfigurationException if a cyclic reference is detected
+     */
+    private void checkCycles(String key, Function<String, Object> rawLookup, Map<String, Boolean> visited,
+            Deque<String> path) throws ConfigurationException {
+        Boolean complete = visited.get(key);
+        if (complete != null) {
+            if ( ! complete) {
+                List<String> cycle = new ArrayList<>();
+                Iterator<String> iterator = path.descendingIterator();
+                while (iterator.hasNext()) {
+                    String element = iterator.next();
+                    if ( ! cycle.isEmpty() || element.equals(key)) {
+                        cycle.add(element);
+                    }
+                }
+                cycle.add(key);
+                throw new ConfigurationException("Interpolation cycle detected: " + String.join(" -> ", cycle));
+            }
+            return;
+        }
+
+        visited.put(key, Boolean.FALSE);
+        path.push(key);
+        for (String value : stringsOf(rawLookup.apply(key))) {
+            if (value.contains(VAR_START)) {
+                Template template = compile(value);
+                if (template != null) {
+                    for (String name : template.names) {
+                        if ((name != null) && (name.indexOf(':') < 0)) {
+                            checkCycles(name, rawLookup, visited, path);
+                        }
+                    }
+                }
+            }
+        }
+        path.pop();
+        visited.put(key, Boolean.TRUE);
+    }
+
+    /**
+     * Resolve the specified template.
+     *
+     * @param template template to be resolved
+     * @param dependencies collector of template dependencies
+     * @param stack names of variables currently being resolved
+     * @return resolved value
+     */
+    private Object resolve(Template template, Dependencies dependencies, Deque<String> stack) {
+        Object single = null;
+        // if template is a single variable
+        if (template.isSingleVariable()) {
+            single = resolveVariable(template.names[0], dependencies);
+            // if value is non-string object
+            if ((single != null) && ! (single instanceof String)) {
+                return single;
+            }
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < template.names.length; i++) {
+            String name = template.names[i];
+            // if literal segment
+            if (name == null) {
+                builder.append(template.literals[i]);
+                continue;
+            }
+
+            Object value = template.isSingleVariable() ? single : resolveVariable(name, dependencies);
+            // if variable unresolved
+            if (value == null) {
+                builder.append(VAR_START).append(name).append(VAR_END);
+                continue;
+            }
+
+            String string = getStringConverter().apply(value);
+            // if value contains variables
+            if ((string != null) && string.contains(VAR_START)) {
+                if (stack.contains(name)) {
+                    throw new IllegalStateException("Infinite loop in property interpolation of " + name);
+                }
+                Template nested = compile(string);
+                if (nested != null) {
+                    stack.push(name);
+                    string = String.valueOf(resolve(nested, dependencies, stack));
+                    stack.pop();
+                } else {
+                    dependencies.cacheable = false;
+                    string = String.valueOf(super.interpolate(string));
+                }
+            }
+            builder.append(string);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Resolve the specified variable, recording its dependency.
+     *
+     * @param name variable name, which may include a prefix
+     * @param dependencies collector of template dependencies
+     * @return resolved value; 'null' if unresolved
+     */
+    private Object resolveVariable(String name, Dependencies dependencies) {
+        int index = name.indexOf(':');
+        if (index < 0) {
+            dependencies.keys.add(name);
+        } else {
+            String prefix = name.substring(0, index);
+            if (SYS_PREFIX.equals(prefix)) {
+                dependencies.system = true;
+            } else if ( ! ENV_PREFIX.equals(prefix)) {
+                dependencies.cacheable = false;
+            }
+            // default lookups are consulted if prefixed lookup fails
+            dependencies.keys.add(name);
+        }
+        return resolve(name);
+    }
+
+    /**
+     * Get the template for the specified value, parsing it if necessary.
+     *
+     * @param value value to be parsed
+     * @return parsed template; 'null' if value uses unsupported syntax
+     */
+    private Template compile(String value) {
+        Template template = templates.get(value);
+        if (template == null) {
+            template = Template.parse(value);
+            // if cache full, evict a single template
+            if (templates.size() >= maxTemplates) {
+                Iterator<String> iterator = templates.keySet().iterator();
+                if (iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+            templates.put(value, template);
+        }
+        return (template == Template.UNSUPPORTED) ? null : template;
+    }
+
+    /**
+     * Get the number of cached templates.
+     *
+     * @return cached template count
+     */
+    int getTemplateCount() {
+        return templates.size();
+    }
+
+    /**
+     * Get the string values of the specified raw value.
+     *
+     * @param raw raw value (may be a collection)
+     * @return collection of string values
+     */
+    private static Collection<String> stringsOf(Object raw) {
+        if (raw instanceof String) {
+            return Collections.singletonList((String) raw);
+        }
+        if (raw instanceof Collection) {
+            List<String> strings = new ArrayList<>();
+            for (Object item : (Collection<?>) raw) {
+                if (item instanceof String) {
+                    strings.add((String) item);
+                }
+            }
+            return strings;
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * This class represents a value parsed into a sequence of literal and variable segments.
+     */
+    private static final class Template {
+
+        static final Template UNSUPPORTED = new Template(new String[0], new String[0]);
+
+        /** literal segment text; 'null' for variable segments */
+        final String[] literals;
+        /** variable segment names; 'null' for literal segments */
+        final String[] names;
+
+        Template(String[] literals, String[] names) {
+            this.literals = literals;
+            this.names = names;
+        }
+
+        /**
+         * Determine if this template consists of a single variable.
+         *
+         * @return 'true' if this template is a single variable; otherwise 'false'
+         */
+        boolean isSingleVariable() {
+            return (names.length == 1) && (names[0] != null);
+        }
+
+        /**
+         * Parse the specified value into a template.
+         *
+         * @param value value to be parsed
+         * @return parsed template; {@link #UNSUPPORTED} if value uses unsupported syntax
+         */
+        static Template parse(String value) {
+            List<String> literals = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            int index = 0;
+            while (index < value.length()) {
+                if (value.startsWith(ESCAPED_START, index)) {
+                    // escaped variable start
+                    literal.append(VAR_START);
+                    index += ESCAPED_START.length();
+                } else if (value.startsWith(VAR_START, index)) {
+                    int start = index + VAR_START.length();
+                    int end = value.indexOf(VAR_END, start);
+                    // if unterminated variable
+                    if (end < 0) {
+                        literal.append(value, index, value.length());
+                        break;
+                    }
+                    String name = value.substring(start, end);
+                    // if nested variable, default value, or empty name
+                    if (name.isEmpty() || name.contains(VAR_START) || name.contains(DEFAULT_SEPARATOR)) {
+                        return UNSUPPORTED;
+                    }
+                    if (literal.length() > 0) {
+                        literals.add(literal.toString());
+                        names.add(null);
+                        literal.setLength(0);
+                    }
+                    literals.add(null);
+                    names.add(name);
+                    index = end + VAR_END.length();
+                } else {
+                    literal.append(value.charAt(index++));
+                }
+            }
+            if (literal.length() > 0) {
+                literals.add(literal.toString());
+                names.add(null);
+            }
+            return new Template(literals.toArray(new String[0]), names.toArray(new String[0]));
+        }
+    }
+
+    /**
+     * This class collects the dependencies of a template as it is resolved.
+     */
+    private static final class Dependencies {
+        final Set<String> keys = new HashSet<>();
+        boolean system;
+        boolean cacheable = true;
+    }
+
+    /**
+     * This class holds a cached resolved value and its dependencies.
+     */
+    private static final class Resolved {
+        final Object value;
+        final Set<String> keys;
+        final boolean system;
+
+        Resolved(Object value, Dependencies dependencies) {
+            this.value = value;
+            this.keys = dependencies.keys;
+            this.system = dependencies.system;
+        }
+    }
+}
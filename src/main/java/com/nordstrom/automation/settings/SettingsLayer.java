@@ -0,0 +1,20 @@
+package com.nordstrom.automation.settings;
+
+/**
+ * This enumeration identifies the layers of a {@link SettingsCore} object, in order of precedence. It's used by
+ * {@link SettingsMetrics} to report which layer supplied the value of each lookup.
+ */
+public enum SettingsLayer {
+    /** overrides of the {@link SettingsScope} bound to the current thread */
+    SCOPE,
+    /** System properties */
+    SYSTEM,
+    /** environment variables */
+    ENVIRONMENT,
+    /** stored properties */
+    STORED,
+    /** default values */
+    DEFAULTS,
+    /** values set via {@link SettingsCore#setProperty setProperty} or supplied by added configurations */
+    OTHER
+}
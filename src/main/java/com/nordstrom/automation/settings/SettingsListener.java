@@ -0,0 +1,23 @@
+package com.nordstrom.automation.settings;
+
+import java.util.Set;
+
+import com.nordstrom.automation.settings.SettingsCore.SettingsAPI;
+
+/**
+ * Implementations of this interface are notified when the resolved values of the settings declared by a
+ * {@link SettingsAPI} enumeration change as the result of a reload.
+ *
+ * @param <T> context-specific settings enumeration
+ */
+@FunctionalInterface
+public interface SettingsListener<T extends Enum<T> & SettingsAPI> {
+
+    /**
+     * Invoked once per reload that changes the resolved value of at least one declared setting.
+     *
+     * @param config configuration object that was reloaded
+     * @param changed settings whose resolved values changed
+     */
+    void settingsChanged(SettingsCore<T> config, Set<T> changed);
+}
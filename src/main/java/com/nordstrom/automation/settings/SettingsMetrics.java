@@ -0,0 +1,64 @@
+package com.nordstrom.automation.settings;
+
+import com.nordstrom.automation.settings.SettingsCore.SettingsAPI;
+
+/**
+ * Implementations of this interface receive instrumentation events from a {@link SettingsCore} object. To enable
+ * instrumentation, override {@link SettingsCore#getMetrics} to return an implementation of this interface.
+ * {@link SettingsStatistics} is a ready-made implementation that accumulates these events and exposes the results via
+ * JMX; implement this interface directly to forward events to another metrics library.<br>
+ * <br>
+ * All methods have empty default implementations, so implementations only override the events they need.<br>
+ * <b>NOTE</b>: Events are delivered synchronously on the thread that caused them, including reader threads on the
+ *              lookup path. Implementations must be thread-safe and should return quickly.
+ *
+ * @param <T> context-specific settings enumeration
+ */
+public interface SettingsMetrics<T extends Enum<T> & SettingsAPI> {
+
+    /**
+     * Invoked when the value of the specified setting is read by enumeration constant (e.g. - {@link
+     * SettingsCore#getString(Enum) getString(T)}) or by its key (e.g. - {@code getString(setting.key())}).<br>
+     * <b>NOTE</b>: Lookups made internally (e.g. - to build snapshots or to detect interpolation cycles) aren't
+     *              reported as reads.
+     *
+     * @param setting setting constant that was read
+     */
+    default void settingRead(T setting) {
+    }
+
+    /**
+     * Invoked when a property is looked up by key across the layers of the configuration.
+     *
+     * @param key property key
+     * @param layer layer that supplied the value; 'null' if the property is undefined
+     * @param nanos lookup latency in nanoseconds
+     */
+    default void propertyLookup(String key, SettingsLayer layer, long nanos) {
+    }
+
+    /**
+     * Invoked when stored properties have been loaded, either during construction or upon first access.
+     *
+     * @param nanos load duration in nanoseconds
+     */
+    default void propertiesLoaded(long nanos) {
+    }
+
+    /**
+     * Invoked when stored properties have been {@link SettingsCore#reload reloaded}.
+     *
+     * @param nanos reload duration in nanoseconds
+     */
+    default void propertiesReloaded(long nanos) {
+    }
+
+    /**
+     * Invoked when stored properties couldn't be loaded or reloaded (e.g. - malformed content, unresolved includes, or
+     * interpolation cycles).
+     *
+     * @param failure failure that was encountered
+     */
+    default void loadFailed(Throwable failure) {
+    }
+}
@@ -0,0 +1,227 @@
+package com.nordstrom.automation.settings;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import org.apache.commons.configuration2.ex.ConfigurationException;
+
+import com.nordstrom.common.base.UncheckedThrow;
+
+/**
+ * This class implements a registry of configuration objects, holding one instance per {@link SettingsCore} subclass or
+ * per caller-specified key. Each instance is built once upon first request. If multiple threads request an instance
+ * that hasn't been built yet, one of them builds it and the others wait for the result.<br>
+ * <br>
+ * To reduce the startup time of applications that use several configurations, {@link #preloadAll} builds a collection
+ * of configurations in parallel on a supplied executor. On JDK 21 and later, an executor that starts a virtual thread
+ * per task (e.g. - {@code Executors.newVirtualThreadPerTaskExecutor()}) is well suited for this I/O-bound work.
+ * <pre>
+ * SettingsRegistry.getInstance().preloadAll(executor, NarfConfig.class, SetsConfig.class).join();
+ * NarfConfig config = SettingsRegistry.getInstance().get(NarfConfig.class);
+ * </pre>
+ * <b>NOTE</b>: If an instance can't be built, the failure is reported to every waiting caller and the instance is
+ *              removed from the registry, so that a subsequent request can try again.<br>
+ * <b>NOTE</b>: A factory that requests the instance it's building fails with {@link IllegalStateException}, instead of
+ *              waiting forever for its own result.
+ */
+public final class SettingsRegistry {
+
+    private static final SettingsRegistry INSTANCE = new SettingsRegistry();
+
+    private final ConcurrentMap<Object, CompletableFuture<SettingsCore<?>>> instances = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, Thread> builders = new ConcurrentHashMap<>();
+
+    /**
+     * Create a settings registry.<br>
+     * <b>NOTE</b>: Applications share the JVM-wide registry returned by {@link #getInstance()}.
+     */
+    SettingsRegistry() {
+    }
+
+    /**
+     * Get the JVM-wide settings registry.
+     *
+     * @return settings registry
+     */
+    public static SettingsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the registered instance of the specified configuration class, building it via its no-argument constructor
+     * if necessary.
+     *
+     * @param <C> configuration type
+     * @param configClass configuration class
+     * @return registered configuration object
+     * @throws ConfigurationException If a failure is encountered while initializing the configuration object.
+     * @throws IOException If a failure is encountered while reading from a configuration input stream.
+     */
+    public <C extends SettingsCore<?>> C get(Class<C> configClass) throws ConfigurationException, IOException {
+        return get(configClass, () -> newInstance(configClass));
+    }
+
+    /**
+     * Get the configuration object registered under the specified key, building it with the specified factory if
+     * necessary.<br>
+     * <b>NOTE</b>: The factory is invoked only if no object is registered under the specified key.
+     *
+     * @param <C> configuration type
+     * @param key registration key
+     * @param factory configuration object factory
+     * @return registered configuration object
+     * @throws ConfigurationException If a failure is encountered while initializing the configuration object.
+     * @throws IOException If a failure is encountered while reading from a configuration input stream.
+     * @throws IllegalStateException If invoked by the factory that's building the object registered under the
+     *         specified key.
+     */
+    @SuppressWarnings("unchecked")
+    public <C extends SettingsCore<?>> C get(Object key, SettingsFactory<C> factory)
+            throws ConfigurationException, IOException {
+        CompletableFuture<SettingsCore<?>> future = instances.get(key);
+        // if not registered
+        if (future == null) {
+            CompletableFuture<SettingsCore<?>> created = new CompletableFuture<>();
+            future = instances.putIfAbsent(key, created);
+            // if this thread must build the instance
+            if (future == null) {
+                future = created;
+                builders.put(key, Thread.currentThread());
+                try {
+                    created.complete(factory.create());
+                } catch (Throwable t) {
+                    // NOTE: remove failed instance so that a subsequent request can try again
+                    instances.remove(key, created);
+                    created.completeExceptionally(t);
+                } finally {
+                    builders.remove(key, Thread.currentThread());
+                }
+            }
+        // otherwise, if this thread is building the requested instance
+        } else if (builders.get(key) == Thread.currentThread()) {
+            throw new IllegalStateException("Configuration requested by its own factory: " + key);
+        }
+
+        try {
+            return (C) future.get();
+        } catch (ExecutionException e) {
+            throw UncheckedThrow.throwUnchecked(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigurationException("Interrupted while waiting for configuration: " + key, e);
+        }
+    }
+
+    /**
+     * Build the specified configuration classes in parallel on the specified executor, registering each instance.
+     *
+     * @param executor executor on which to build configuration objects
+     * @param configClasses configuration classes
+     * @return future that completes when all configuration objects have been built
+     */
+    @SafeVarargs
+    public final CompletableFuture<Void> preloadAll(Executor executor,
+            Class<? extends SettingsCore<?>>... configClasses) {
+        // NOTE: copy classes into a typed list, so the varargs array isn't exposed
+        List<Class<? extends SettingsCore<?>>> classes = new ArrayList<>(configClasses.length);
+        for (Class<? extends SettingsCore<?>> configClass : configClasses) {
+            classes.add(configClass);
+        }
+        return preloadAll(executor, classes);
+    }
+
+    /**
+     * Build the specified configuration classes in parallel on the specified executor, registering each instance.<br>
+     * <b>NOTE</b>: If any configuration object can't be built, the returned future completes exceptionally.
+     *
+     * @param executor executor on which to build configuration objects
+     * @param configClasses configuration classes
+     * @return future that completes when all configuration objects have been built
+     */
+    public CompletableFuture<Void> preloadAll(Executor executor,
+            Collection<? extends Class<? extends SettingsCore<?>>> configClasses) {
+        CompletableFuture<?>[] futures = configClasses.stream()
+                .map(configClass -> CompletableFuture.runAsync(() -> {
+                    try {
+                        get(configClass);
+                    } catch (ConfigurationException | IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Determine if an object has been registered (or is being built) under the specified key.
+     *
+     * @param key registration key (configuration class or caller-specified key)
+     * @return 'true' if an object is registered under the specified key; otherwise 'false'
+     */
+    public boolean contains(Object key) {
+        return instances.containsKey(key);
+    }
+
+    /**
+     * Remove the object registered under the specified key. The next request for this key builds a new object.
+     *
+     * @param key registration key (configuration class or caller-specified key)
+     */
+    public void remove(Object key) {
+        instances.remove(key);
+    }
+
+    /**
+     * Remove all registered objects.
+     */
+    public void clear() {
+        instances.clear();
+    }
+
+    /**
+     * Create an instance of the specified configuration class via its no-argument constructor.
+     *
+     * @param <C> configuration type
+     * @param configClass configuration class
+     * @return new configuration object
+     * @throws ConfigurationException If a failure is encountered while initializing the configuration object.
+     * @throws IOException If a failure is encountered while reading from a configuration input stream.
+     */
+    private static <C extends SettingsCore<?>> C newInstance(Class<C> configClass)
+            throws ConfigurationException, IOException {
+        try {
+            return configClass.getDeclaredConstructor().newInstance();
+        } catch (InvocationTargetException e) {
+            throw UncheckedThrow.throwUnchecked(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new ConfigurationException("Unable to instantiate configuration class: " + configClass.getName(), e);
+        }
+    }
+
+    /**
+     * This interface defines the factories used to build registered configuration objects.
+     *
+     * @param <C> configuration type
+     */
+    @FunctionalInterface
+    public interface SettingsFactory<C extends SettingsCore<?>> {
+
+        /**
+         * Create a new configuration object.
+         *
+         * @return new configuration object
+         * @throws ConfigurationException If a failure is encountered while initializing the configuration object.
+         * @throws IOException If a failure is encountered while reading from a configuration input stream.
+         */
+        C create() throws ConfigurationException, IOException;
+    }
+}
@@ -0,0 +1,332 @@
+package com.nordstrom.automation.settings;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class implements a scope of setting overrides, which take precedence over all other sources (including System
+ * properties) for every {@link SettingsCore} object consulted by the threads bound to the scope. Unlike System
+ * properties, scoped overrides are visible only to these threads, so tests that need different settings can run in
+ * parallel without interfering with each other.<br>
+ * <br>
+ * A scope is opened with {@link #open}, which binds it to the current thread. Threads started by a bound thread
+ * inherit its binding. For tasks submitted to existing threads (e.g. - pooled executor threads), use {@link #wrap} to
+ * bind the scope while the task runs. Scopes can be nested; a nested scope inherits the overrides of its parent,
+ * shadowing them with its own. When a scope is {@link #close closed}, its overrides are removed for all bound threads.
+ * <pre>
+ * try (SettingsScope scope = SettingsScope.open()) {
+ *     scope.set(MySettings.TARGET_HOST, "localhost");
+ *     MyConfig config = new MyConfig();
+ *     ...
+ * }
+ * </pre>
+ * <b>NOTE</b>: Scoped overrides replace the values of configuration keys. They don't affect System property variable
+ *              references (e.g. - <code>${sys:user.home}</code>), which always resolve to actual System properties.
+ * <br>
+ * <b>NOTE</b>: While no scope is open, each lookup pays only for a check of the number of open scopes.
+ */
+public final class SettingsScope implements AutoCloseable {
+
+    private static final InheritableThreadLocal<SettingsScope> CURRENT = new InheritableThreadLocal<>();
+    private static final AtomicInteger OPEN_SCOPES = new AtomicInteger();
+
+    private final SettingsScope parent;
+    private final Map<String, Object> overrides = new ConcurrentHashMap<>();
+    private final AtomicLong modifications = new AtomicLong();
+    private volatile MergedKeys mergedKeys;
+    private final Map<SettingsCore<?>, ScopedSnapshot<?>> snapshots =
+            Collections.synchronizedMap(new WeakHashMap<>());
+    private volatile boolean closed;
+
+    /**
+     * Create a scope that inherits the overrides of the specified parent.
+     *
+     * @param parent parent scope (may be 'null')
+     */
+    private SettingsScope(SettingsScope parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Open a new scope, nested within the current scope of this thread (if any), and bind it to this thread.
+     *
+     * @return new settings scope
+     */
+    public static SettingsScope open() {
+        SettingsScope scope = new SettingsScope(current());
+        OPEN_SCOPES.incrementAndGet();
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Get the innermost open scope bound to the current thread.
+     *
+     * @return current settings scope; 'null' if none is bound
+     */
+    public static SettingsScope current() {
+        // if no scopes are open
+        if (OPEN_SCOPES.get() == 0) {
+            return null;
+        }
+        return nearestOpen(CURRENT.get());
+    }
+
+    /**
+     * Override the value of the specified setting within this scope.
+     *
+     * @param setting setting constant
+     * @param value override value; 'null' to remove the override
+     * @return this settings scope
+     */
+    public SettingsScope set(SettingsCore.SettingsAPI setting, Object value) {
+        return set(setting.key(), value);
+    }
+
+    /**
+     * Override the value of the specified key within this scope.
+     *
+     * @param key property key
+     * @param value override value; 'null' to remove the override
+     * @return this settings scope
+     */
+    public SettingsScope set(String key, Object value) {
+        if (closed) {
+            throw new IllegalStateException("Settings scope has been closed");
+        }
+        if (value == null) {
+            overrides.remove(key);
+        } else {
+            overrides.put(key, value);
+        }
+        modifications.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * Wrap the specified task to run with this scope bound to the executing thread.
+     *
+     * @param task task to be wrapped
+     * @return wrapped task
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            SettingsScope previous = bind(this);
+            try {
+                task.run();
+            } finally {
+                bind(previous);
+            }
+        };
+    }
+
+    /**
+     * Wrap the specified task to run with this scope bound to the executing thread.
+     *
+     * @param <V> task result type
+     * @param task task to be wrapped
+     * @return wrapped task
+     */
+    public <V> Callable<V> wrap(Callable<V> task) {
+        return () -> {
+            SettingsScope previous = bind(this);
+            try {
+                return task.call();
+            } finally {
+                bind(previous);
+            }
+        };
+    }
+
+    /**
+     * Close this scope, removing its overrides for all bound threads. If this scope is bound to the current thread, its
+     * parent is bound in its place.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        snapshots.clear();
+        modifications.incrementAndGet();
+        OPEN_SCOPES.decrementAndGet();
+        if (CURRENT.get() == this) {
+            bind(nearestOpen(parent));
+        }
+    }
+
+    /**
+     * Get the override of the specified key from this scope or its ancestors.
+     *
+     * @param key property key
+     * @return override value; 'null' if not overridden
+     */
+    Object get(String key) {
+        for (SettingsScope scope = this; scope != null; scope = scope.parent) {
+            if ( ! scope.closed) {
+                Object value = scope.overrides.get(key);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the keys overridden by this scope and its ancestors.<br>
+     * <b>NOTE</b>: The merged set is cached until this scope or one of its ancestors is modified or closed.
+     *
+     * @return unmodifiable set of overridden keys
+     */
+    Set<String> keySet() {
+        return keySet(version());
+    }
+
+    /**
+     * Get the keys overridden by this scope and its ancestors as of the specified version.
+     *
+     * @param version current version of this scope chain
+     * @return unmodifiable set of overridden keys
+     */
+    private Set<String> keySet(long version) {
+        MergedKeys merged = mergedKeys;
+        if ((merged != null) && (merged.version == version)) {
+            return merged.keys;
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (SettingsScope scope = this; scope != null; scope = scope.parent) {
+            if ( ! scope.closed) {
+                keys.addAll(scope.overrides.keySet());
+            }
+        }
+        keys = Collections.unmodifiableSet(keys);
+        mergedKeys = new MergedKeys(version, keys);
+        return keys;
+    }
+
+    /**
+     * Get the version of this scope chain. The version changes whenever this scope or one of its ancestors is modified
+     * or closed; modifications of unrelated scopes leave it unchanged.
+     *
+     * @return scope chain version
+     */
+    private long version() {
+        long version = 0;
+        for (SettingsScope scope = this; scope != null; scope = scope.parent) {
+            version += scope.modifications.get();
+        }
+        return version;
+    }
+
+    /**
+     * Get the snapshot of the specified configuration that reflects the overrides of this scope.<br>
+     * <b>NOTE</b>: If this scope overrides nothing, the shared snapshot is returned.
+     *
+     * @param <T> settings enumeration type
+     * @param config configuration object
+     * @param shared current shared snapshot of the configuration
+     * @return scoped settings snapshot
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Enum<T> & SettingsCore.SettingsAPI> SettingsSnapshot<T> getSnapshot(SettingsCore<T> config,
+            SettingsSnapshot<T> shared) {
+        long version = version();
+        if (keySet(version).isEmpty()) {
+            return shared;
+        }
+        ScopedSnapshot<T> entry = (ScopedSnapshot<T>) snapshots.get(config);
+        if ((entry != null) && (entry.shared == shared) && (entry.version == version)) {
+            return entry.snapshot;
+        }
+        SettingsSnapshot<T> snapshot = config.newSnapshot();
+        snapshots.put(config, new ScopedSnapshot<>(shared, snapshot, version));
+        return snapshot;
+    }
+
+    /**
+     * Remove the binding of the current thread, suspending scoped overrides until the binding is restored.
+     *
+     * @return previously bound scope; 'null' if none was bound
+     * @see #bind
+     */
+    static SettingsScope unbind() {
+        // if no scopes are open
+        if (OPEN_SCOPES.get() == 0) {
+            return null;
+        }
+        return bind(null);
+    }
+
+    /**
+     * Bind the specified scope to the current thread.
+     *
+     * @param scope settings scope to bind (may be 'null')
+     * @return previously bound scope; 'null' if none was bound
+     */
+    static SettingsScope bind(SettingsScope scope) {
+        SettingsScope previous = CURRENT.get();
+        if (scope == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(scope);
+        }
+        return previous;
+    }
+
+    /**
+     * Get the nearest open scope, starting with the specified scope.
+     *
+     * @param scope settings scope (may be 'null')
+     * @return nearest open scope; 'null' if none
+     */
+    private static SettingsScope nearestOpen(SettingsScope scope) {
+        SettingsScope open = scope;
+        while ((open != null) && open.closed) {
+            open = open.parent;
+        }
+        return open;
+    }
+
+    /**
+     * This class records a scoped snapshot along with the state from which it was built.
+     *
+     * @param <T> settings enumeration type
+     */
+    private static final class ScopedSnapshot<T extends Enum<T> & SettingsCore.SettingsAPI> {
+
+        private final SettingsSnapshot<T> shared;
+        private final SettingsSnapshot<T> snapshot;
+        private final long version;
+
+        ScopedSnapshot(SettingsSnapshot<T> shared, SettingsSnapshot<T> snapshot, long version) {
+            this.shared = shared;
+            this.snapshot = snapshot;
+            this.version = version;
+        }
+    }
+
+    /**
+     * This class records the merged keys of a scope chain along with the version from which they were merged.
+     */
+    private static final class MergedKeys {
+
+        private final long version;
+        private final Set<String> keys;
+
+        MergedKeys(long version, Set<String> keys) {
+            this.version = version;
+            this.keys = keys;
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package com.nordstrom.automation.settings;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.commons.configuration2.convert.PropertyConverter;
+import org.apache.commons.configuration2.ex.ConversionException;
+
+import com.nordstrom.automation.settings.SettingsCore.SettingsAPI;
+
+/**
+ * This class captures the resolved values of the settings declared by a {@link SettingsAPI} enumeration. Each
+ * constant is resolved once across all of the layers of the associated {@link SettingsCore} object (including
+ * variable interpolation), and the results are stored in an array indexed by {@link Enum#ordinal() ordinal}.
+ * <p>
+ * Each resolved value is also converted once to each of the supported primitive types, with the results stored in
+ * primitive arrays indexed by ordinal. Typed lookups therefore cost a single array load, with no boxing and no
+ * parsing. The conversion rules are those of {@link PropertyConverter}, which backs the corresponding accessors of
+ * {@link org.apache.commons.configuration2.AbstractConfiguration AbstractConfiguration}. A conversion is attempted only
+ * if the shape of the value admits the target type (e.g. - a leading digit or sign for numbers), so ordinary string
+ * values are never passed to the converter. Conversion failures are recorded, not reported, when the snapshot is built;
+ * they surface as exceptions from the typed accessor for the affected setting.<br>
+ * <b>NOTE</b>: To report conversion failures when the configuration is loaded instead of at the first typed lookup,
+ *              declare {@link SettingsAPI#type type} metadata for the affected settings, as described below.
+ * <p>
+ * If the settings enumeration declares {@link SettingsAPI#type type}, {@link SettingsAPI#min range}, or
+ * {@link SettingsAPI#required required} metadata, {@link SettingsCore} checks the resolved values of each new snapshot
+ * against this metadata when it's constructed and each time its stored properties are reloaded. The check uses the
+ * conversions recorded by the snapshot, so validated values are never parsed again.
+ * <p>
+ * Snapshots are immutable. Lookups require no locks, no hashing, and no allocation. To pick up changes in the
+ * underlying configuration, call {@link SettingsCore#refresh()}, which builds a new snapshot and publishes it
+ * atomically. Clients that need a consistent view across multiple reads can retain a snapshot object.
+ *
+ * @param <T> context-specific settings enumeration
+ */
+public final class SettingsSnapshot<T extends Enum<T> & SettingsAPI> {
+
+    private static final byte INT = 1;
+    private static final byte LONG = 2;
+    private static final byte BOOLEAN = 4;
+    private static final byte DURATION = 8;
+
+    private final Class<T> enumClass;
+    private final T[] constants;
+    private final String[] values;
+    private final List<String>[] lists;
+    private final int[] ints;
+    private final long[] longs;
+    private final boolean[] booleans;
+    private final Duration[] durations;
+    private final byte[] converted;
+
+    /**
+     * Resolve the settings of the specified configuration.
+     *
+     * @param config configuration from which to resolve settings
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    SettingsSnapshot(SettingsCore<T> config) {
+        this.enumClass = config.getEnumClass();
+        // NOTE: shared constants array, so comparisons and validation don't clone the enumeration's constants
+        this.constants = config.getConstants();
+        int count = constants.length;
+        values = new String[count];
+        lists = new List[count];
+        ints = new int[count];
+        longs = new long[count];
+        booleans = new boolean[count];
+        durations = new Duration[count];
+        converted = new byte[count];
+
+        for (T setting : constants) {
+            int i = setting.ordinal();
+            String value = config.getString(setting.key(), null);
+            values[i] = value;
+            lists[i] = toStringList(config.getList(setting.key()));
+
+            // if value could be a number
+            if (isNumeric(value)) {
+                try {
+                    ints[i] = PropertyConverter.toInteger(value).intValue();
+                    converted[i] |= INT;
+                } catch (ConversionException eaten) {
+                    // not an integer
+                }
+                try {
+                    longs[i] = PropertyConverter.toLong(value).longValue();
+                    converted[i] |= LONG;
+                } catch (ConversionException eaten) {
+                    // not a long
+                }
+            }
+            // if value could be a boolean
+            if (isBoolean(value)) {
+                try {
+                    booleans[i] = PropertyConverter.toBoolean(value).booleanValue();
+                    converted[i] |= BOOLEAN;
+                } catch (ConversionException eaten) {
+                    // not a boolean
+                }
+            }
+            // if value could be a duration
+            if (isDuration(value)) {
+                try {
+                    durations[i] = PropertyConverter.toDuration(value);
+                    converted[i] |= DURATION;
+                } catch (ConversionException eaten) {
+                    // not a duration
+                }
+            }
+        }
+    }
+
+    /**
+     * Determine if the specified value has the shape of a number accepted by {@link PropertyConverter}: a leading
+     * digit (which includes hexadecimal and binary prefixes) or sign.
+     *
+     * @param value resolved value (may be 'null')
+     * @return 'false' if the value can't be converted to a number; otherwise 'true'
+     */
+    private static boolean isNumeric(String value) {
+        if ((value == null) || value.isEmpty()) {
+            return false;
+        }
+        char first = value.charAt(0);
+        return Character.isDigit(first) || (first == '-') || (first == '+');
+    }
+
+    /**
+     * Determine if the specified value has the shape of a boolean accepted by {@link PropertyConverter}: at most five
+     * characters, starting with the first letter of <b>true</b>, <b>false</b>, <b>on</b>, <b>off</b>, <b>yes</b>,
+     * or <b>no</b>, or with <b>1</b> or <b>0</b> (which recent versions of Commons Lang accept).
+     *
+     * @param value resolved value (may be 'null')
+     * @return 'false' if the value can't be converted to a boolean; otherwise 'true'
+     */
+    private static boolean isBoolean(String value) {
+        if ((value == null) || value.isEmpty() || (value.length() > 5)) {
+            return false;
+        }
+        return "tfoynTFOYN10".indexOf(value.charAt(0)) >= 0;
+    }
+
+    /**
+     * Determine if the specified value has the shape of an ISO-8601 duration: a leading <b>P</b>, optionally preceded
+     * by a sign.
+     *
+     * @param value resolved value (may be 'null')
+     * @return 'false' if the value can't be converted to a duration; otherwise 'true'
+     */
+    private static boolean isDuration(String value) {
+        if ((value == null) || value.isEmpty()) {
+            return false;
+        }
+        int start = ((value.charAt(0) == '-') || (value.charAt(0) == '+')) ? 1 : 0;
+        return (value.length() > start) && ((value.charAt(start) == 'P') || (value.charAt(start) == 'p'));
+    }
+
+    /**
+     * Get the settings enumeration class of this snapshot.
+     *
+     * @return settings enumeration class
+     */
+    public Class<T> getEnumClass() {
+        return enumClass;
+    }
+
+    /**
+     * Get the resolved value of the specified setting.
+     *
+     * @param setting setting constant
+     * @return resolved value; 'null' if the setting is undefined
+     */
+    public String getString(T setting) {
+        return values[setting.ordinal()];
+    }
+
+    /**
+     * Determine if the specified setting has a resolved value.
+     *
+     * @param setting setting constant
+     * @return 'true' if the setting is defined; otherwise 'false'
+     */
+    public boolean containsKey(T setting) {
+        return values[setting.ordinal()] != null;
+    }
+
+    /**
+     * Get the resolved value of the specified setting as an {@code int}.
+     *
+     * @param setting setting constant
+     * @return resolved integer value
+     * @throws NoSuchElementException if the setting is undefined
+     * @throws ConversionException if the resolved value cannot be converted to an integer
+     */
+    public int getInt(T setting) {
+        int i = setting.ordinal();
+        if ((converted[i] & INT) == 0) {
+            throw conversionFailure(setting, "int");
+        }
+        return ints[i];
+    }
+
+    /**
+     * Get the resolved value of the specified setting as a {@code long}.
+     *
+     * @param setting setting constant
+     * @return resolved long value
+     * @throws NoSuchElementException if the setting is undefined
+     * @throws ConversionException if the resolved value cannot be converted to a long
+     */
+    public long getLong(T setting) {
+        int i = setting.ordinal();
+        if ((converted[i] & LONG) == 0) {
+            throw conversionFailure(setting, "long");
+        }
+        return longs[i];
+    }
+
+    /**
+     * Get the resolved value of the specified setting as a {@code boolean}.
+     *
+     * @param setting setting constant
+     * @return resolved boolean value
+     * @throws NoSuchElementException if the setting is undefined
+     * @throws ConversionException if the resolved value cannot be converted to a boolean
+     */
+    public boolean getBoolean(T setting) {
+        int i = setting.ordinal();
+        if ((converted[i] & BOOLEAN) == 0) {
+            throw conversionFailure(setting, "boolean");
+        }
+        return booleans[i];
+    }
+
+    /**
+     * Get the resolved value of the specified setting as a {@link Duration}.<br>
+     * <b>NOTE</b>: Duration values are declared in ISO-8601 format (e.g. - {@code PT30S}).
+     *
+     * @param setting setting constant
+     * @return resolved duration value
+     * @throws NoSuchElementException if the setting is undefined
+     * @throws ConversionException if the resolved value cannot be converted to a duration
+     */
+    public Duration getDuration(T setting) {
+        int i = setting.ordinal();
+        if ((converted[i] & DURATION) == 0) {
+            throw conversionFailure(setting, "Duration");
+        }
+        return durations[i];
+    }
+
+    /**
+     * Get the resolved values of the specified setting as a list of strings.<br>
+     * <b>NOTE</b>: Multi-valued settings are declared by repeating the key in the stored properties.
+     *
+     * @param setting setting constant
+     * @return unmodifiable list of resolved values; empty if the setting is undefined
+     */
+    public List<String> getList(T setting) {
+        return lists[setting.ordinal()];
+    }
+
+    /**
+     * Determine which settings have different resolved values in the specified snapshot.
+     *
+     * @param other snapshot to compare with this one
+     * @return set of settings whose resolved values differ
+     */
+    Set<T> changedSettings(SettingsSnapshot<T> other) {
+        Set<T> changed = EnumSet.noneOf(enumClass);
+        for (T setting : constants) {
+            int i = setting.ordinal();
+            if ( ! (Objects.equals(values[i], other.values[i]) && lists[i].equals(other.lists[i]))) {
+                changed.add(setting);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Check the resolved values of this snapshot against the type, range, and required metadata declared by their
+     * settings constants.
+     *
+     * @return descriptions of the violations found, in declaration order; empty if all settings are valid
+     */
+    List<String> getViolations() {
+        List<String> violations = new ArrayList<>();
+        for (T setting : constants) {
+            int i = setting.ordinal();
+            String value = values[i];
+            // if setting undefined
+            if (value == null) {
+                if (setting.required()) {
+                    violations.add(String.format("Setting '%s' is required, but has no value", setting.key()));
+                }
+                continue;
+            }
+
+            Class<?> type = setting.type();
+            byte flag = flagOf(type);
+            // if type isn't supported
+            if (flag < 0) {
+                violations.add(String.format("Setting '%s' declares unsupported type %s", setting.key(),
+                        type.getName()));
+            // otherwise, if value can't be converted to declared type
+            } else if ((converted[i] & flag) != flag) {
+                violations.add(String.format("Value '%s' of setting '%s' can't be converted to %s", value,
+                        setting.key(), type.getSimpleName()));
+            // otherwise, if value is integral
+            } else if ((flag == INT) || (flag == LONG)) {
+                long number = (flag == INT) ? ints[i] : longs[i];
+                if ((number < setting.min()) || (number > setting.max())) {
+                    violations.add(String.format("Value %d of setting '%s' is outside the range [%d, %d]", number,
+                            setting.key(), setting.min(), setting.max()));
+                }
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Get the conversion flag of the specified declared type.
+     *
+     * @param type declared setting type
+     * @return conversion flag; 0 for {@link String}; -1 if the type isn't supported
+     */
+    private static byte flagOf(Class<?> type) {
+        if (type == String.class) {
+            return 0;
+        }
+        if ((type == Integer.class) || (type == int.class)) {
+            return INT;
+        }
+        if ((type == Long.class) || (type == long.class)) {
+            return LONG;
+        }
+        if ((type == Boolean.class) || (type == boolean.class)) {
+            return BOOLEAN;
+        }
+        if (type == Duration.class) {
+            return DURATION;
+        }
+        return -1;
+    }
+
+    /**
+     * Create the exception that reports a failed typed lookup of the specified setting.
+     *
+     * @param setting setting constant
+     * @param typeName name of the requested type
+     * @return {@link NoSuchElementException} if the setting is undefined; otherwise {@link ConversionException}
+     */
+    private RuntimeException conversionFailure(T setting, String typeName) {
+        String value = values[setting.ordinal()];
+        if (value == null) {
+            return new NoSuchElementException(
+                    String.format("Key '%s' does not map to an existing object!", setting.key()));
+        }
+        return new ConversionException(
+                String.format("Value '%s' of setting '%s' can't be converted to %s", value, setting.key(), typeName));
+    }
+
+    /**
+     * Convert the specified list of resolved values to an unmodifiable list of strings.
+     *
+     * @param list list of resolved values
+     * @return unmodifiable list of strings
+     */
+    private static List<String> toStringList(List<Object> list) {
+        if (list.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> strings = new ArrayList<>(list.size());
+        for (Object item : list) {
+            strings.add(String.valueOf(item));
+        }
+        return Collections.unmodifiableList(strings);
+    }
+}
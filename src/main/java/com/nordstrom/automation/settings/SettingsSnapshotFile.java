@@ -0,0 +1,286 @@
+package com.nordstrom.automation.settings;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+
+/**
+ * This class reads and writes binary snapshot files of stored properties. A snapshot file holds the keys and values of
+ * a parsed stored properties layer (with all {@code include} directives processed), along with the information needed
+ * to determine if the snapshot is still valid:
+ *
+ * <ul>
+ *     <li>the declared URL or path from which the stored properties were loaded</li>
+ *     <li>the URL, last-modified time, and size of every source file (including included files), along with the
+ *         CRC-32 checksum of the content that was parsed from it</li>
+ *     <li>the raw and interpolated values of every {@code include} directive</li>
+ * </ul>
+ *
+ * A snapshot is valid if it was written for the same declared location, every source file still has the recorded
+ * last-modified time and size, and every {@code include} directive still resolves to the recorded value. If the
+ * last-modified time of a source file differs (or is too close to the time the snapshot was written to be trusted), but
+ * its size is unchanged, the snapshot is still valid if the checksum of the file matches the recorded checksum.<br>
+ * <br>
+ * Snapshot files are read with a single bulk read and decoded from a heap buffer, avoiding the overhead of stream
+ * decoding. Snapshot files are written to a temporary file that then replaces the target file, so readers never observe
+ * a partially written file.<br>
+ * <b>NOTE</b>: Snapshot files aren't memory-mapped. On some platforms (e.g. - Windows), a file can't be replaced while
+ *              a mapping of it is live, and a mapping is only released when its buffer is garbage-collected.<br>
+ * <b>NOTE</b>: Snapshot files are an optimization. Any failure to read a snapshot file is treated as a stale snapshot.
+ */
+final class SettingsSnapshotFile {
+
+    private static final int MAGIC = 0x53544e50;
+    private static final int VERSION = 1;
+
+    private SettingsSnapshotFile() {
+        throw new AssertionError("SettingsSnapshotFile is a static utility class that cannot be instantiated");
+    }
+
+    /**
+     * Read stored properties from the specified snapshot file, if it's valid for the specified location.
+     *
+     * @param file snapshot file
+     * @param location declared URL or path of stored properties
+     * @return stored properties configuration; 'null' if the snapshot is missing or stale
+     * @throws IOException If a failure is encountered while reading the snapshot file.
+     */
+    static Configuration read(Path file, String location) throws IOException {
+        if ( ! Files.isRegularFile(file)) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+
+        if ((buffer.remaining() < 8) || (buffer.getInt() != MAGIC) || (buffer.getInt() != VERSION)) {
+            return null;
+        }
+        long written = buffer.getLong();
+        if ( ! location.equals(getString(buffer))) {
+            return null;
+        }
+
+        // validate source files
+        int sourceCount = buffer.getInt();
+        for (int i = 0; i < sourceCount; i++) {
+            URL source = new URL(getString(buffer));
+            long lastModified = buffer.getLong();
+            long size = buffer.getLong();
+            long checksum = buffer.getLong();
+            if ( ! isCurrent(source, lastModified, size, checksum, written)) {
+                return null;
+            }
+        }
+
+        List<String> directives = getStrings(buffer);
+        List<String> resolved = getStrings(buffer);
+
+        // restore stored properties
+        int keyCount = buffer.getInt();
+        Map<String, Object> map = new LinkedHashMap<>((int) (keyCount / 0.75f) + 1);
+        for (int i = 0; i < keyCount; i++) {
+            String key = getString(buffer);
+            List<String> values = getStrings(buffer);
+            map.put(key, (values.size() == 1) ? values.get(0) : values);
+        }
+        MapConfiguration config = new MapConfiguration(map);
+        // NOTE: Values were trimmed when originally parsed
+        config.setTrimmingDisabled(true);
+
+        // NOTE: The files named by 'include' directives can change with System properties
+        if ( ! resolved.equals(SettingsFileCache.resolveDirectives(config, directives))) {
+            return null;
+        }
+        return config;
+    }
+
+    /**
+     * Write a snapshot of the specified stored properties layer to the specified file.<br>
+     * <b>NOTE</b>: Nothing is written if the layer was parsed from sources that can't be validated.
+     *
+     * @param file snapshot file
+     * @param location declared URL or path of stored properties
+     * @param layer parsed stored properties layer
+     * @return 'true' if the snapshot was written; otherwise 'false'
+     * @throws IOException If a failure is encountered while writing the snapshot file.
+     */
+    static boolean write(Path file, String location, SettingsFileCache.Layer layer) throws IOException {
+        if (layer.getStamps() == null) {
+            return false;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(bytes))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(System.currentTimeMillis());
+            putString(out, location);
+
+            out.writeInt(layer.getStamps().size());
+            for (Map.Entry<URL, SettingsFileCache.Stamp> entry : layer.getStamps().entrySet()) {
+                putString(out, entry.getKey().toExternalForm());
+                out.writeLong(entry.getValue().getLastModified());
+                out.writeLong(entry.getValue().getSize());
+                // NOTE: Record the checksum of the parsed content, which may differ from the current content
+                out.writeLong(entry.getValue().getChecksum());
+            }
+
+            putStrings(out, layer.getDirectives());
+            putStrings(out, layer.getResolved());
+
+            Configuration config = layer.getConfig();
+            List<String> keys = new ArrayList<>();
+            config.getKeys().forEachRemaining(keys::add);
+            out.writeInt(keys.size());
+            for (String key : keys) {
+                putString(out, key);
+                putStrings(out, getRawValues(config.getProperty(key)));
+            }
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return true;
+    }
+
+    /**
+     * Get the raw values of the specified property as a list of strings.
+     *
+     * @param raw raw property value (a single value or a collection)
+     * @return list of raw values
+     */
+    private static List<String> getRawValues(Object raw) {
+        List<String> values = new ArrayList<>();
+        if (raw instanceof Collection) {
+            for (Object value : (Collection<?>) raw) {
+                values.add(String.valueOf(value));
+            }
+        } else {
+            values.add(String.valueOf(raw));
+        }
+        return values;
+    }
+
+    /**
+     * Determine if the specified source file matches its recorded state.
+     *
+     * @param source source file URL
+     * @param lastModified recorded last-modified time
+     * @param size recorded size
+     * @param checksum recorded checksum
+     * @param written time at which the snapshot was written
+     * @return 'true' if the source file is unchanged; otherwise 'false'
+     * @throws IOException If a failure is encountered while computing the checksum of the source file.
+     */
+    private static boolean isCurrent(URL source, long lastModified, long size, long checksum, long written)
+            throws IOException {
+        SettingsFileCache.Stamp stamp = SettingsFileCache.getStamp(source);
+        if ((stamp == null) || (stamp.getSize() != size)) {
+            return false;
+        }
+        // if time stamp matches and can be trusted
+        if ((stamp.getLastModified() == lastModified) && (lastModified <= written - SettingsFileCache.RACY_WINDOW)) {
+            return true;
+        }
+        return getChecksum(source) == checksum;
+    }
+
+    /**
+     * Compute the CRC-32 checksum of the content of the specified file.
+     *
+     * @param source file URL
+     * @return content checksum
+     * @throws IOException If a failure is encountered while reading the file.
+     */
+    private static long getChecksum(URL source) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] chunk = new byte[8192];
+        try (InputStream in = source.openStream()) {
+            int count;
+            while ((count = in.read(chunk)) > 0) {
+                crc.update(chunk, 0, count);
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Write the specified string as a length-prefixed sequence of UTF-8 bytes.
+     *
+     * @param out snapshot output stream
+     * @param value string to write
+     * @throws IOException If a failure is encountered while writing.
+     */
+    private static void putString(DataOutputStream out, String value) throws IOException {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(encoded.length);
+        out.write(encoded);
+    }
+
+    /**
+     * Write the specified list of strings, prefixed with its size.
+     *
+     * @param out snapshot output stream
+     * @param values strings to write
+     * @throws IOException If a failure is encountered while writing.
+     */
+    private static void putStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            putString(out, value);
+        }
+    }
+
+    /**
+     * Read a length-prefixed sequence of UTF-8 bytes as a string.
+     *
+     * @param buffer snapshot buffer
+     * @return decoded string
+     */
+    private static String getString(ByteBuffer buffer) {
+        byte[] encoded = new byte[buffer.getInt()];
+        buffer.get(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read a list of strings, prefixed with its size.
+     *
+     * @param buffer snapshot buffer
+     * @return list of strings
+     */
+    private static List<String> getStrings(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(getString(buffer));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,381 @@
+package com.nordstrom.automation.settings;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.nordstrom.automation.settings.SettingsCore.SettingsAPI;
+
+/**
+ * This class accumulates the instrumentation events of {@link SettingsCore} objects and exposes the results via JMX.
+ * It records the number of reads of each setting (by enumeration constant or by key), the number of property lookups
+ * supplied by each layer, a histogram of lookup latencies, load and reload durations, and load failures. All counters
+ * are {@link LongAdder} instances, so concurrent readers don't contend on shared counters.
+ * <pre>
+ * &#64;Override
+ * protected SettingsMetrics&lt;MySettings&gt; getMetrics() {
+ *     return STATISTICS; // e.g. - new SettingsStatistics&lt;&gt;(MySettings.class).register()
+ * }
+ * </pre>
+ * <b>NOTE</b>: A single instance can be shared by multiple configuration objects for the same settings enumeration,
+ *              accumulating their combined statistics.
+ *
+ * @param <T> context-specific settings enumeration
+ */
+public final class SettingsStatistics<T extends Enum<T> & SettingsAPI>
+        implements SettingsMetrics<T>, SettingsStatisticsMXBean {
+
+    /** JMX domain under which statistics are registered by default */
+    public static final String DOMAIN = "com.nordstrom.automation.settings";
+
+    private static final int BUCKETS = 64;
+    private static final String UNDEFINED = "UNDEFINED";
+
+    private final Class<T> enumClass;
+    private final T[] constants;
+    private final LongAdder[] reads;
+    private final LongAdder[] layerHits;
+    private final LongAdder[] latencies;
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder reloadCount = new LongAdder();
+    private final LongAdder reloadNanos = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private volatile String lastLoadFailure;
+    private ObjectName objectName;
+
+    /**
+     * Create statistics for the specified settings enumeration.
+     *
+     * @param enumClass settings enumeration class
+     */
+    public SettingsStatistics(Class<T> enumClass) {
+        this.enumClass = enumClass;
+        this.constants = enumClass.getEnumConstants();
+        this.reads = newAdders(constants.length);
+        // NOTE: The extra counter records lookups of undefined properties
+        this.layerHits = newAdders(SettingsLayer.values().length + 1);
+        this.latencies = newAdders(BUCKETS);
+    }
+
+    /**
+     * Register these statistics with the platform MBean server under the default name, which is derived from the
+     * settings enumeration class. Statistics previously registered under this name are replaced.
+     *
+     * @return these statistics
+     * @throws JMException If a failure is encountered while registering these statistics.
+     */
+    public SettingsStatistics<T> register() throws JMException {
+        return register(new ObjectName(DOMAIN + ":type=SettingsStatistics,name=" + enumClass.getName()));
+    }
+
+    /**
+     * Register these statistics with the platform MBean server under the specified name. Statistics previously
+     * registered under this name are replaced.
+     *
+     * @param name JMX object name
+     * @return these statistics
+     * @throws JMException If a failure is encountered while registering these statistics.
+     */
+    public synchronized SettingsStatistics<T> register(ObjectName name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        unregister();
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(this, name);
+        objectName = name;
+        return this;
+    }
+
+    /**
+     * Unregister these statistics from the platform MBean server, if they're registered.
+     *
+     * @throws JMException If a failure is encountered while unregistering these statistics.
+     */
+    public synchronized void unregister() throws JMException {
+        if (objectName != null) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            objectName = null;
+        }
+    }
+
+    /**
+     * Get the name under which these statistics are registered with the platform MBean server.
+     *
+     * @return JMX object name; 'null' if not registered
+     */
+    public synchronized ObjectName getObjectName() {
+        return objectName;
+    }
+
+    /**
+     * Get the number of reads of the specified setting, by enumeration constant or by key.
+     *
+     * @param setting setting constant
+     * @return read count
+     */
+    public long getReadCount(T setting) {
+        return reads[setting.ordinal()].sum();
+    }
+
+    /**
+     * Get the number of property lookups supplied by the specified layer.
+     *
+     * @param layer settings layer; 'null' for lookups of undefined properties
+     * @return lookup count
+     */
+    public long getLayerHits(SettingsLayer layer) {
+        return layerHits[indexOf(layer)].sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void settingRead(T setting) {
+        reads[setting.ordinal()].increment();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void propertyLookup(String key, SettingsLayer layer, long nanos) {
+        layerHits[indexOf(layer)].increment();
+        latencies[bucketOf(nanos)].increment();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void propertiesLoaded(long nanos) {
+        loadCount.increment();
+        loadNanos.add(nanos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void propertiesReloaded(long nanos) {
+        reloadCount.increment();
+        reloadNanos.add(nanos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void loadFailed(Throwable failure) {
+        loadFailures.increment();
+        lastLoadFailure = String.valueOf(failure);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> getReadCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (T setting : constants) {
+            counts.put(setting.key(), reads[setting.ordinal()].sum());
+        }
+        return counts;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] getUnreadSettings() {
+        List<String> unread = new ArrayList<>();
+        for (T setting : constants) {
+            if (reads[setting.ordinal()].sum() == 0) {
+                unread.add(setting.key());
+            }
+        }
+        return unread.toArray(new String[0]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> getLayerHits() {
+        Map<String, Long> hits = new LinkedHashMap<>();
+        for (SettingsLayer layer : SettingsLayer.values()) {
+            hits.put(layer.name(), layerHits[layer.ordinal()].sum());
+        }
+        hits.put(UNDEFINED, layerHits[indexOf(null)].sum());
+        return hits;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLookupCount() {
+        long count = 0;
+        for (LongAdder adder : layerHits) {
+            count += adder.sum();
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] getLookupLatencyHistogram() {
+        long[] histogram = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] = latencies[i].sum();
+        }
+        return histogram;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLookupLatencyPercentile(double percentile) {
+        long[] histogram = getLookupLatencyHistogram();
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(total * Math.min(Math.max(percentile, 0), 100) / 100);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += histogram[i];
+            if ((cumulative >= target) && (cumulative > 0)) {
+                return (i < BUCKETS - 2) ? (1L << (i + 1)) : Long.MAX_VALUE;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLoadNanos() {
+        return loadNanos.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getReloadCount() {
+        return reloadCount.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getReloadNanos() {
+        return reloadNanos.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLoadFailureCount() {
+        return loadFailures.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLastLoadFailure() {
+        return lastLoadFailure;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        resetAll(reads);
+        resetAll(layerHits);
+        resetAll(latencies);
+        loadCount.reset();
+        loadNanos.reset();
+        reloadCount.reset();
+        reloadNanos.reset();
+        loadFailures.reset();
+        lastLoadFailure = null;
+    }
+
+    /**
+     * Get the index of the counter for the specified layer.
+     *
+     * @param layer settings layer; 'null' for lookups of undefined properties
+     * @return layer counter index
+     */
+    private static int indexOf(SettingsLayer layer) {
+        return (layer != null) ? layer.ordinal() : SettingsLayer.values().length;
+    }
+
+    /**
+     * Get the index of the histogram bucket for the specified latency.
+     *
+     * @param nanos latency in nanoseconds
+     * @return histogram bucket index
+     */
+    private static int bucketOf(long nanos) {
+        return (nanos > 1) ? 63 - Long.numberOfLeadingZeros(nanos) : 0;
+    }
+
+    /**
+     * Create the specified number of counters.
+     *
+     * @param count number of counters
+     * @return array of new counters
+     */
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * Reset the specified counters.
+     *
+     * @param adders counters to reset
+     */
+    private static void resetAll(LongAdder[] adders) {
+        for (LongAdder adder : adders) {
+            adder.reset();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.nordstrom.automation.settings;
+
+import java.util.Map;
+
+/**
+ * This interface defines the JMX management interface of {@link SettingsStatistics}.
+ */
+public interface SettingsStatisticsMXBean {
+
+    /**
+     * Get the number of reads of each setting by enumeration constant.
+     *
+     * @return map of setting keys to read counts, in declaration order
+     */
+    Map<String, Long> getReadCounts();
+
+    /**
+     * Get the keys of the settings that have never been read, either by enumeration constant or by key.
+     *
+     * @return array of unread setting keys
+     */
+    String[] getUnreadSettings();
+
+    /**
+     * Get the number of property lookups supplied by each layer. Lookups of undefined properties are reported under
+     * the key {@code UNDEFINED}.
+     *
+     * @return map of layer names to lookup counts
+     */
+    Map<String, Long> getLayerHits();
+
+    /**
+     * Get the total number of property lookups by key.
+     *
+     * @return lookup count
+     */
+    long getLookupCount();
+
+    /**
+     * Get the histogram of property lookup latencies. Bucket <i>i</i> counts lookups that took at least 2<sup>i</sup>
+     * and less than 2<sup>i+1</sup> nanoseconds; bucket 0 also counts lookups that took less than one nanosecond.
+     *
+     * @return lookup counts per latency bucket
+     */
+    long[] getLookupLatencyHistogram();
+
+    /**
+     * Get the approximate latency below which the specified percentage of property lookups completed.
+     *
+     * @param percentile percentage of lookups (0 to 100)
+     * @return upper bound of the latency bucket that contains the specified percentile, in nanoseconds; 0 if no
+     *         lookups have been recorded
+     */
+    long getLookupLatencyPercentile(double percentile);
+
+    /**
+     * Get the number of times stored properties have been loaded.
+     *
+     * @return load count
+     */
+    long getLoadCount();
+
+    /**
+     * Get the total time spent loading stored properties.
+     *
+     * @return total load duration in nanoseconds
+     */
+    long getLoadNanos();
+
+    /**
+     * Get the number of times stored properties have been reloaded.
+     *
+     * @return reload count
+     */
+    long getReloadCount();
+
+    /**
+     * Get the total time spent reloading stored properties.
+     *
+     * @return total reload duration in nanoseconds
+     */
+    long getReloadNanos();
+
+    /**
+     * Get the number of failed attempts to load or reload stored properties.
+     *
+     * @return load failure count
+     */
+    long getLoadFailureCount();
+
+    /**
+     * Get the message of the most recent failure to load or reload stored properties.
+     *
+     * @return failure message; 'null' if no failure has been recorded
+     */
+    String getLastLoadFailure();
+
+    /**
+     * Discard all recorded statistics.
+     */
+    void reset();
+}
@@ -0,0 +1,38 @@
+package com.nordstrom.automation.settings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.configuration2.ex.ConfigurationException;
+
+/**
+ * This exception reports the settings whose resolved values violate the type, range, or required metadata declared
+ * by their {@link SettingsCore.SettingsAPI SettingsAPI} constants. Every violation found in a validation pass is
+ * collected into a single report.
+ */
+public class SettingsValidationException extends ConfigurationException {
+
+    private static final long serialVersionUID = -3427196718432650174L;
+
+    private final List<String> violations;
+
+    /**
+     * Create an exception that reports the specified violations.
+     *
+     * @param violations descriptions of the violations, in declaration order of the affected settings
+     */
+    public SettingsValidationException(List<String> violations) {
+        super(violations.size() + " setting(s) failed validation:\n    " + String.join("\n    ", violations));
+        this.violations = Collections.unmodifiableList(new ArrayList<>(violations));
+    }
+
+    /**
+     * Get the descriptions of the reported violations.
+     *
+     * @return unmodifiable list of violations, in declaration order of the affected settings
+     */
+    public List<String> getViolations() {
+        return violations;
+    }
+}
@@ -0,0 +1,547 @@
+package com.nordstrom.automation.settings;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.commons.configuration2.ex.ConfigurationRuntimeException;
+import org.apache.commons.configuration2.io.FileLocatorUtils;
+import org.apache.commons.text.StringEscapeUtils;
+
+/**
+ * This class implements a streaming parser for stored properties declared in Apache's extended syntax. The source is
+ * read into a single byte buffer and decoded into a single character array, which is scanned in place; strings are
+ * only created for the keys and values themselves. The resulting properties are collected in a read-only
+ * {@link CompactConfiguration}.<br>
+ * <br>
+ * The parser produces the same keys and values as {@link PropertiesConfiguration}:
+ *
+ * <ul>
+ *     <li>Lines are terminated by line feed, carriage return, or both. Blank lines and lines that start with
+ *         <b>#</b> or <b>!</b> are ignored.</li>
+ *     <li>Lines that end with an odd number of backslashes are continued on the next line.</li>
+ *     <li>Keys are separated from values by <b>=</b>, <b>:</b>, or whitespace. Separators and whitespace within keys
+ *         must be escaped.</li>
+ *     <li>Escape sequences in keys and values are processed (e.g. - <b>\t</b>, <b>\n</b>, and Unicode escapes).</li>
+ *     <li>Keys declared multiple times have multiple values.</li>
+ *     <li>{@code include} and {@code includeoptional} directives are interpolated and processed in place.</li>
+ * </ul>
+ *
+ * <b>NOTE</b>: Stored properties files are decoded as ISO-8859-1, as they are by {@link PropertiesConfiguration}.
+ *              Input streams are decoded as UTF-8.<br>
+ * <b>NOTE</b>: {@link PropertiesConfiguration} can't process {@code include} directives in input streams. This parser
+ *              locates files named by such directives via the default location strategy.
+ */
+final class StoredPropertiesParser {
+
+    private static final String UNESCAPE_CHARACTERS = ":#=!\\'\"";
+
+    private final Charset charset;
+    private final CompactConfiguration config = new CompactConfiguration();
+    private final List<URL> sources = new ArrayList<>();
+    private final List<Long> checksums = new ArrayList<>();
+    private final List<String> directives = new ArrayList<>();
+    private final Deque<URL> includeStack = new ArrayDeque<>();
+    private char[] joined = new char[256];
+
+    /**
+     * Create a parser for stored properties encoded with the specified character set.
+     *
+     * @param charset stored properties character set
+     */
+    StoredPropertiesParser(Charset charset) {
+        this.charset = charset;
+    }
+
+    /**
+     * Parse stored properties from the specified input stream, encoded as UTF-8.<br>
+     * <b>NOTE</b>: The input stream is read to its end, but is not closed.
+     *
+     * @param in stored properties input stream
+     * @return parsed stored properties
+     * @throws ConfigurationException If a failure is encountered while processing an {@code include} directive.
+     * @throws IOException If a failure is encountered while reading from the input stream.
+     */
+    static CompactConfiguration parse(InputStream in) throws ConfigurationException, IOException {
+        StoredPropertiesParser parser = new StoredPropertiesParser(StandardCharsets.UTF_8);
+        parser.read(readStream(in), null);
+        return parser.getConfig();
+    }
+
+    /**
+     * Parse stored properties from the file at the specified URL, along with the files it includes.
+     *
+     * @param url stored properties file URL
+     * @throws ConfigurationException If a failure is encountered while loading stored properties.
+     */
+    void load(URL url) throws ConfigurationException {
+        ByteBuffer bytes;
+        try {
+            bytes = readBytes(url);
+        } catch (IOException | URISyntaxException e) {
+            throw new ConfigurationException("Unable to load the configuration from the URL " + url, e);
+        }
+        addSource(url, bytes);
+        includeStack.push(url);
+        try {
+            read(bytes, url);
+        } finally {
+            includeStack.pop();
+        }
+    }
+
+    /**
+     * Parse stored properties from the specified content, which was retrieved from the specified URL. Included files
+     * that can't be located by the default location strategy are resolved relative to this URL.
+     *
+     * @param content encoded stored properties
+     * @param source URL from which the content was retrieved
+     * @throws ConfigurationException If a failure is encountered while processing an {@code include} directive.
+     */
+    void load(byte[] content, URL source) throws ConfigurationException {
+        ByteBuffer bytes = ByteBuffer.wrap(content);
+        addSource(source, bytes);
+        includeStack.push(source);
+        try {
+            read(bytes, source);
+        } finally {
+            includeStack.pop();
+        }
+    }
+
+    /**
+     * Get the parsed stored properties.
+     *
+     * @return parsed stored properties
+     */
+    CompactConfiguration getConfig() {
+        return config.compact();
+    }
+
+    /**
+     * Get the URLs of the files from which stored properties were parsed, starting with the main file.
+     *
+     * @return list of source file URLs
+     */
+    List<URL> getSources() {
+        return sources;
+    }
+
+    /**
+     * Get the CRC-32 checksums of the content parsed from each source file, in the order of {@link #getSources()}.
+     *
+     * @return list of content checksums
+     */
+    List<Long> getChecksums() {
+        return checksums;
+    }
+
+    /**
+     * Record the specified source file, along with the checksum of its content.
+     *
+     * @param source source file URL
+     * @param bytes source file content
+     */
+    private void addSource(URL source, ByteBuffer bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes.duplicate());
+        sources.add(source);
+        checksums.add(crc.getValue());
+    }
+
+    /**
+     * Get the raw values of the {@code include} directives that were processed.
+     *
+     * @return list of raw directive values
+     */
+    List<String> getDirectives() {
+        return directives;
+    }
+
+    /**
+     * Parse the properties declared in the specified encoded content.
+     *
+     * @param bytes encoded stored properties
+     * @param source URL of the content; 'null' for an input stream
+     * @throws ConfigurationException If a failure is encountered while processing an {@code include} directive.
+     */
+    private void read(ByteBuffer bytes, URL source) throws ConfigurationException {
+        CharBuffer decoded;
+        try {
+            decoded = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .decode(bytes);
+        } catch (CharacterCodingException e) {
+            throw new ConfigurationException("Unable to decode stored properties", e);
+        }
+        char[] chars = decoded.array();
+        int end = decoded.arrayOffset() + decoded.limit();
+
+        int pos = decoded.arrayOffset();
+        int length = 0;
+        while (pos < end) {
+            // find end of physical line
+            int lineEnd = pos;
+            while ((lineEnd < end) && (chars[lineEnd] != '\n') && (chars[lineEnd] != '\r')) {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if ((lineEnd < end) && (chars[lineEnd] == '\r') && (next < end) && (chars[next] == '\n')) {
+                next++;
+            }
+
+            // trim line
+            int start = pos;
+            while ((start < lineEnd) && (chars[start] <= ' ')) {
+                start++;
+            }
+            int stop = lineEnd;
+            while ((stop > start) && (chars[stop - 1] <= ' ')) {
+                stop--;
+            }
+            pos = next;
+
+            // skip blank and comment lines
+            if ((start == stop) || (chars[start] == '#') || (chars[start] == '!')) {
+                continue;
+            }
+
+            int backslashes = 0;
+            while ((backslashes < stop - start) && (chars[stop - 1 - backslashes] == '\\')) {
+                backslashes++;
+            }
+            // if line is continued
+            if ((backslashes & 1) != 0) {
+                length = join(chars, start, stop - 1, length);
+                continue;
+            }
+
+            if (length == 0) {
+                parseProperty(chars, start, stop, source);
+            } else {
+                length = join(chars, start, stop, length);
+                parseProperty(joined, 0, length, source);
+                length = 0;
+            }
+        }
+        // NOTE: A continued line at the end of the content is discarded
+    }
+
+    /**
+     * Append the specified characters to the buffer that joins continued lines.
+     *
+     * @param chars source characters
+     * @param start start of range to append
+     * @param stop end of range to append (exclusive)
+     * @param length current length of joined characters
+     * @return new length of joined characters
+     */
+    private int join(char[] chars, int start, int stop, int length) {
+        int count = stop - start;
+        if (length + count > joined.length) {
+            joined = Arrays.copyOf(joined, Math.max(joined.length * 2, length + count));
+        }
+        System.arraycopy(chars, start, joined, length, count);
+        return length + count;
+    }
+
+    /**
+     * Parse the property declared by the specified trimmed logical line.
+     *
+     * @param chars source characters
+     * @param start start of logical line
+     * @param stop end of logical line (exclusive)
+     * @param source URL of the content; 'null' for an input stream
+     * @throws ConfigurationException If a failure is encountered while processing an {@code include} directive.
+     */
+    private void parseProperty(char[] chars, int start, int stop, URL source) throws ConfigurationException {
+        // scan key: unescaped separators and whitespace end the key
+        int pos = start;
+        boolean escapedKey = false;
+        while (pos < stop) {
+            char ch = chars[pos];
+            if (ch == '\\') {
+                if ((pos + 1 < stop) && ! isLineTerminator(chars[pos + 1])) {
+                    escapedKey = true;
+                    pos += 2;
+                    continue;
+                }
+                break;
+            }
+            if (isWhitespace(ch) || (ch == '=') || (ch == ':')) {
+                break;
+            }
+            pos++;
+        }
+        int keyEnd = pos;
+
+        // NOTE: Lines with stray line terminators after the key are declared as an empty key with an empty value
+        for (int i = keyEnd; i < stop; i++) {
+            if (isLineTerminator(chars[i])) {
+                propertyLoaded("", "", source);
+                return;
+            }
+        }
+
+        // skip separator
+        while ((pos < stop) && isWhitespace(chars[pos])) {
+            pos++;
+        }
+        if ((pos < stop) && ((chars[pos] == '=') || (chars[pos] == ':'))) {
+            pos++;
+            while ((pos < stop) && isWhitespace(chars[pos])) {
+                pos++;
+            }
+        }
+        while ((pos < stop) && (chars[pos] <= ' ')) {
+            pos++;
+        }
+
+        String key = new String(chars, start, keyEnd - start).trim();
+        if (escapedKey) {
+            key = StringEscapeUtils.unescapeJava(key);
+        }
+        propertyLoaded(key, unescapeValue(chars, pos, stop), source);
+    }
+
+    /**
+     * Process the specified property, either as an {@code include} directive or as a stored property.
+     *
+     * @param key property key
+     * @param value property value
+     * @param source URL of the content that declared the property; 'null' for an input stream
+     * @throws ConfigurationException If a failure is encountered while processing an {@code include} directive.
+     */
+    private void propertyLoaded(String key, String value, URL source) throws ConfigurationException {
+        if (isDirective(key, PropertiesConfiguration.getInclude())) {
+            directives.add(value);
+            include(interpolate(value), false, source);
+        } else if (isDirective(key, PropertiesConfiguration.getIncludeOptional())) {
+            directives.add(value);
+            include(interpolate(value), true, source);
+        } else {
+            config.append(key, value);
+        }
+    }
+
+    /**
+     * Determine if the specified key is the specified directive.
+     *
+     * @param key property key
+     * @param directive directive name (may be 'null' or empty)
+     * @return 'true' if the specified key is the specified directive; otherwise 'false'
+     */
+    private static boolean isDirective(String key, String directive) {
+        return (directive != null) && ! directive.isEmpty() && key.equalsIgnoreCase(directive);
+    }
+
+    /**
+     * Interpolate the specified {@code include} directive value against the properties parsed so far.
+     *
+     * @param value raw directive value
+     * @return interpolated directive value
+     */
+    private String interpolate(String value) {
+        Object result = config.getInterpolator().interpolate(value);
+        return (result != null) ? result.toString() : null;
+    }
+
+    /**
+     * Parse the properties declared in the specified included file.
+     *
+     * @param fileName name of included file
+     * @param optional 'true' if the included file is optional; otherwise 'false'
+     * @param source URL of the content that declared the directive; 'null' for an input stream
+     * @throws ConfigurationException If a failure is encountered while loading the included file.
+     */
+    private void include(String fileName, boolean optional, URL source) throws ConfigurationException {
+        URL url = locate(null, fileName);
+        if ((url == null) && (source != null)) {
+            url = locate(source.toString(), fileName);
+        }
+
+        if (url == null) {
+            if (optional) {
+                return;
+            }
+            throw new ConfigurationException("Cannot resolve include file " + fileName,
+                    new FileNotFoundException(fileName));
+        }
+        if (includeStack.contains(url)) {
+            throw new ConfigurationException(String.format("Cycle detected loading %s, seen stack: %s", url,
+                    includeStack));
+        }
+        load(url);
+    }
+
+    /**
+     * Locate the specified included file.
+     *
+     * @param basePath base path (may be 'null')
+     * @param fileName name of included file
+     * @return URL of the included file; 'null' if not found
+     */
+    private static URL locate(String basePath, String fileName) {
+        return FileLocatorUtils.locate(FileLocatorUtils.fileLocator().basePath(basePath).fileName(fileName).create());
+    }
+
+    /**
+     * Process escape sequences in the specified property value.
+     *
+     * @param chars source characters
+     * @param start start of value
+     * @param stop end of value (exclusive)
+     * @return unescaped property value
+     */
+    private static String unescapeValue(char[] chars, int start, int stop) {
+        int pos = start;
+        while ((pos < stop) && (chars[pos] != '\\')) {
+            pos++;
+        }
+        // if value has no escape sequences
+        if (pos == stop) {
+            return new String(chars, start, stop - start);
+        }
+
+        StringBuilder out = new StringBuilder(stop - start);
+        out.append(chars, start, pos - start);
+        while (pos < stop) {
+            char ch = chars[pos++];
+            if (ch != '\\') {
+                out.append(ch);
+                continue;
+            }
+            // if trailing backslash
+            if (pos == stop) {
+                out.append('\\');
+                break;
+            }
+            ch = chars[pos++];
+            switch (ch) {
+            case 'r':
+                out.append('\r');
+                break;
+            case 'f':
+                out.append('\f');
+                break;
+            case 't':
+                out.append('\t');
+                break;
+            case 'n':
+                out.append('\n');
+                break;
+            case 'b':
+                out.append('\b');
+                break;
+            case 'u':
+                // NOTE: A truncated Unicode escape at the end of the value is discarded
+                if (pos + 4 <= stop) {
+                    String hex = new String(chars, pos, 4);
+                    try {
+                        out.append((char) Integer.parseInt(hex, 16));
+                    } catch (NumberFormatException e) {
+                        throw new ConfigurationRuntimeException("Unable to parse unicode value: " + hex, e);
+                    }
+                }
+                pos += 4;
+                break;
+            default:
+                // retain the backslash of unrecognized escape sequences
+                if (UNESCAPE_CHARACTERS.indexOf(ch) < 0) {
+                    out.append('\\');
+                }
+                out.append(ch);
+                break;
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Determine if the specified character is a whitespace character, as defined by regular expressions.
+     *
+     * @param ch character to evaluate
+     * @return 'true' if the specified character is whitespace; otherwise 'false'
+     */
+    private static boolean isWhitespace(char ch) {
+        return (ch == ' ') || (ch == '\t') || (ch == '\n') || (ch == '\u000B') || (ch == '\f') || (ch == '\r');
+    }
+
+    /**
+     * Determine if the specified character terminates lines in regular expressions, but not in properties files.
+     *
+     * @param ch character to evaluate
+     * @return 'true' if the specified character is a line terminator; otherwise 'false'
+     */
+    private static boolean isLineTerminator(char ch) {
+        return (ch == '\u0085') || (ch == '\u2028') || (ch == '\u2029');
+    }
+
+    /**
+     * Read the content of the file at the specified URL. Files in the file system are read with a single bulk
+     * transfer into a buffer of the file's size.
+     *
+     * @param url file URL
+     * @return file content
+     * @throws IOException If a failure is encountered while reading the file.
+     * @throws URISyntaxException If the specified URL can't be converted to a path.
+     */
+    private static ByteBuffer readBytes(URL url) throws IOException, URISyntaxException {
+        if ("file".equals(url.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < Integer.MAX_VALUE) {
+                    ByteBuffer buffer = ByteBuffer.allocate((int) size);
+                    while (buffer.hasRemaining() && (channel.read(buffer) >= 0)) {
+                        // read until full or end of file
+                    }
+                    buffer.flip();
+                    return buffer;
+                }
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            return readStream(in);
+        }
+    }
+
+    /**
+     * Read the remaining content of the specified input stream.
+     *
+     * @param in input stream
+     * @return stream content
+     * @throws IOException If a failure is encountered while reading from the input stream.
+     */
+    private static ByteBuffer readStream(InputStream in) throws IOException {
+        byte[] buffer = new byte[8192];
+        int length = 0;
+        int count;
+        while ((count = in.read(buffer, length, buffer.length - length)) >= 0) {
+            length += count;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        return ByteBuffer.wrap(buffer, 0, length);
+    }
+}
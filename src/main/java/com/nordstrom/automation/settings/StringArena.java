@@ -0,0 +1,252 @@
+package com.nordstrom.automation.settings;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * This class implements an immutable table of strings packed end to end into a single array, with a table of end
+ * offsets. Compared to individual {@link String} objects, this avoids an object header, an array header, and a
+ * reference per string. Identical strings are stored once.<br>
+ * <br>
+ * If every character is in the Latin-1 range, the strings are packed one byte per character, as the JVM stores compact
+ * strings. Otherwise, they're packed two bytes per character.<br>
+ * <b>NOTE</b>: Strings are materialized upon each request, so this table trades allocation on access for retained
+ *              heap. It suits values that are held for a long time and read infrequently.
+ */
+final class StringArena {
+
+    private final byte[] latin1;
+    private final char[] utf16;
+    private final int[] ends;
+
+    /**
+     * Create a string table.
+     *
+     * @param latin1 packed Latin-1 characters; 'null' if packed as UTF-16
+     * @param utf16 packed UTF-16 characters; 'null' if packed as Latin-1
+     * @param ends end offset of each string
+     */
+    private StringArena(byte[] latin1, char[] utf16, int[] ends) {
+        this.latin1 = latin1;
+        this.utf16 = utf16;
+        this.ends = ends;
+    }
+
+    /**
+     * Get the number of distinct strings in this table.
+     *
+     * @return string count
+     */
+    int size() {
+        return ends.length;
+    }
+
+    /**
+     * Get the string at the specified index.
+     *
+     * @param index string index
+     * @return materialized string
+     */
+    String get(int index) {
+        int start = start(index);
+        int length = ends[index] - start;
+        return (latin1 != null)
+                ? new String(latin1, start, length, StandardCharsets.ISO_8859_1)
+                : new String(utf16, start, length);
+    }
+
+    /**
+     * Determine if the string at the specified index equals the specified string, without materializing it.
+     *
+     * @param index string index
+     * @param string string to compare
+     * @return 'true' if the strings are equal; otherwise 'false'
+     */
+    boolean matches(int index, String string) {
+        int start = start(index);
+        int length = ends[index] - start;
+        if (length != string.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (charAt(start + i) != string.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the start offset of the string at the specified index.
+     *
+     * @param index string index
+     * @return start offset
+     */
+    private int start(int index) {
+        return (index == 0) ? 0 : ends[index - 1];
+    }
+
+    /**
+     * Get the packed character at the specified offset.
+     *
+     * @param offset character offset
+     * @return packed character
+     */
+    private char charAt(int offset) {
+        return (latin1 != null) ? (char) (latin1[offset] & 0xFF) : utf16[offset];
+    }
+
+    /**
+     * Get the number of bytes used to pack the characters of this table.
+     *
+     * @return packed character bytes
+     */
+    int getPackedBytes() {
+        return (latin1 != null) ? latin1.length : utf16.length * 2;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if ( ! (obj instanceof StringArena)) {
+            return false;
+        }
+        StringArena that = (StringArena) obj;
+        return Arrays.equals(ends, that.ends) && Arrays.equals(latin1, that.latin1) && Arrays.equals(utf16, that.utf16);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(ends) + ((latin1 != null) ? Arrays.hashCode(latin1) : Arrays.hashCode(utf16));
+    }
+
+    /**
+     * This class accumulates the strings of a table, storing each distinct string once.
+     */
+    static final class Builder {
+
+        private char[] chars = new char[256];
+        private int length;
+        private int[] ends = new int[16];
+        private int[] hashes = new int[16];
+        private int count;
+        private int[] slots = new int[32];
+        private boolean wide;
+
+        /**
+         * Add the specified string to this table, unless an identical string has already been added.
+         *
+         * @param string string to add
+         * @return index of the specified string
+         */
+        int add(String string) {
+            int hash = string.hashCode();
+            int mask = slots.length - 1;
+            int slot = spread(hash) & mask;
+            int index;
+            while ((index = slots[slot]) != 0) {
+                if ((hashes[index - 1] == hash) && matches(index - 1, string)) {
+                    return index - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            // if capacity exceeded
+            if (count == ends.length) {
+                ends = Arrays.copyOf(ends, count * 2);
+                hashes = Arrays.copyOf(hashes, count * 2);
+                rehash(slots.length * 2);
+                slot = spread(hash) & (slots.length - 1);
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & (slots.length - 1);
+                }
+            }
+            int needed = length + string.length();
+            if (needed > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(needed, chars.length * 2));
+            }
+            for (int i = 0; i < string.length(); i++) {
+                char ch = string.charAt(i);
+                wide |= (ch > 0xFF);
+                chars[length++] = ch;
+            }
+            ends[count] = length;
+            hashes[count] = hash;
+            slots[slot] = ++count;
+            return count - 1;
+        }
+
+        /**
+         * Build the string table.
+         *
+         * @return immutable string table
+         */
+        StringArena build() {
+            int[] packedEnds = Arrays.copyOf(ends, count);
+            if (wide) {
+                return new StringArena(null, Arrays.copyOf(chars, length), packedEnds);
+            }
+            byte[] packed = new byte[length];
+            for (int i = 0; i < length; i++) {
+                packed[i] = (byte) chars[i];
+            }
+            return new StringArena(packed, null, packedEnds);
+        }
+
+        /**
+         * Determine if the string at the specified index equals the specified string.
+         *
+         * @param index string index
+         * @param string string to compare
+         * @return 'true' if the strings are equal; otherwise 'false'
+         */
+        private boolean matches(int index, String string) {
+            int start = (index == 0) ? 0 : ends[index - 1];
+            if (ends[index] - start != string.length()) {
+                return false;
+            }
+            for (int i = 0; i < string.length(); i++) {
+                if (chars[start + i] != string.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Rebuild the hash index with the specified number of slots.
+         *
+         * @param capacity number of slots (a power of two)
+         */
+        private void rehash(int capacity) {
+            slots = new int[capacity];
+            int mask = capacity - 1;
+            for (int i = 0; i < count; i++) {
+                int slot = spread(hashes[i]) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = i + 1;
+            }
+        }
+    }
+
+    /**
+     * Spread the bits of the specified hash code, so that strings with similar hash codes occupy distant slots.
+     *
+     * @param hash string hash code
+     * @return spread hash code
+     */
+    static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
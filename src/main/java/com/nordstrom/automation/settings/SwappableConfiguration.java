@@ -0,0 +1,306 @@
+package com.nordstrom.automation.settings;
+
+import java.util.Iterator;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.apache.commons.configuration2.AbstractConfiguration;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.ConfigurationUtils;
+import org.apache.commons.configuration2.PropertiesConfiguration;
+
+/**
+ * This class forwards all operations to a delegate configuration that can be replaced atomically. The delegate is
+ * published through a volatile reference, so readers never block and always observe either the previous delegate or
+ * its replacement in its entirety.<br>
+ * <b>NOTE</b>: A delegate can be declared as shared (e.g. - a layer held by {@link SettingsFileCache}). Shared delegates
+ *              are copied before their first modification, leaving the original unchanged.<br>
+ * <b>NOTE</b>: The initial delegate can be supplied by a loader, which is invoked once upon first access. If the loader
+ *              fails, the failure is propagated to the caller and the loader is invoked again upon the next access.<br>
+ * <b>NOTE</b>: In copy-on-write mode, every modification is applied to a copy of the delegate, which then replaces it.
+ *              Delegates are never modified after publication, so readers need no locks even while writes occur.<br>
+ * <b>NOTE</b>: Prefix queries (e.g. - {@link #getKeys(String) getKeys(prefix)} and {@link #subset subset}) are served
+ *              from a {@link PrefixIndex} of the delegate's keys, which is built upon the first query and discarded
+ *              when the delegate is replaced or modified.
+ */
+final class SwappableConfiguration extends AbstractConfiguration {
+
+    private volatile Configuration delegate;
+    private volatile boolean shared;
+    private volatile boolean copyOnWrite;
+    private Supplier<Configuration> loader;
+    private BooleanSupplier loadedShared;
+    private volatile int modCount;
+    private volatile Indexed indexed;
+
+    /**
+     * Create a swappable configuration with the specified initial delegate.
+     *
+     * @param delegate initial delegate configuration
+     * @param shared 'true' if the delegate is shared with other objects; otherwise 'false'
+     */
+    SwappableConfiguration(Configuration delegate, boolean shared) {
+        this.delegate = delegate;
+        this.shared = shared;
+    }
+
+    /**
+     * Create a swappable configuration whose initial delegate is supplied by the specified loader upon first access.
+     *
+     * @param loader initial delegate loader, which returns 'null' if no delegate is available
+     * @param loadedShared evaluated after loading to determine if the initial delegate is shared with other objects
+     */
+    SwappableConfiguration(Supplier<Configuration> loader, BooleanSupplier loadedShared) {
+        this.loader = loader;
+        this.loadedShared = loadedShared;
+    }
+
+    /**
+     * Get the current delegate configuration, loading the initial delegate if necessary.
+     *
+     * @return current delegate configuration
+     */
+    Configuration getDelegate() {
+        Configuration current = delegate;
+        return (current != null) ? current : load();
+    }
+
+    /**
+     * Load the initial delegate configuration, if it hasn't been loaded yet.
+     *
+     * @return current delegate configuration
+     */
+    synchronized Configuration load() {
+        if (delegate == null) {
+            Configuration loaded = loader.get();
+            if (loaded != null) {
+                shared = loadedShared.getAsBoolean();
+            } else {
+                loaded = new BaseConfiguration();
+            }
+            delegate = loaded;
+            loader = null;
+            loadedShared = null;
+        }
+        return delegate;
+    }
+
+    /**
+     * Get the current delegate configuration without loading the initial delegate.
+     *
+     * @return current delegate configuration; this swappable configuration if the initial delegate isn't loaded yet
+     */
+    Configuration peek() {
+        Configuration current = delegate;
+        return (current != null) ? current : this;
+    }
+
+    /**
+     * Specify whether modifications are applied to a copy of the delegate, which then replaces it.
+     *
+     * @param copyOnWrite 'true' to copy the delegate upon every modification; 'false' to copy shared delegates only
+     */
+    void setCopyOnWrite(boolean copyOnWrite) {
+        this.copyOnWrite = copyOnWrite;
+    }
+
+    /**
+     * Replace the delegate configuration.
+     *
+     * @param replacement replacement delegate configuration
+     * @param shared 'true' if the replacement is shared with other objects; otherwise 'false'
+     * @return previous delegate configuration
+     */
+    synchronized Configuration swap(Configuration replacement, boolean shared) {
+        Configuration previous = getDelegate();
+        this.shared = shared;
+        delegate = replacement;
+        modCount++;
+        return previous;
+    }
+
+    /**
+     * Apply the specified modification to the delegate configuration. If the delegate is shared or copy-on-write mode
+     * is active, the modification is applied to a copy of the delegate, which is published once it's complete.
+     *
+     * @param modification modification to apply
+     */
+    private synchronized void modify(Consumer<Configuration> modification) {
+        Configuration current = getDelegate();
+        if (shared || copyOnWrite) {
+            Configuration copy;
+            if (current instanceof Cloneable) {
+                copy = ConfigurationUtils.cloneConfiguration(current);
+            } else {
+                copy = new BaseConfiguration();
+                ConfigurationUtils.copy(current, copy);
+            }
+            modification.accept(copy);
+            delegate = copy;
+            shared = false;
+        } else {
+            modification.accept(current);
+        }
+        modCount++;
+    }
+
+    /**
+     * Get the keys of the specified view of this configuration that match the specified prefix and delimiter.
+     * <p>
+     * <b>NOTE</b>: In copy-on-write mode, {@link SettingsCore} serves lookups from the delegate that was current when
+     * its layers were published. This method serves prefix queries of that delegate from its index.
+     *
+     * @param view current or previously published delegate; this configuration if the delegate isn't loaded yet
+     * @param prefix key prefix
+     * @param delimiter delimiter between the prefix and the remainder of matching keys
+     * @return iterator over matching keys
+     */
+    Iterator<String> getKeys(Configuration view, String prefix, String delimiter) {
+        // if delegate not loaded or indexes its own keys
+        if ((view == this) || (view instanceof CompactConfiguration) || (view instanceof ArenaConfiguration)
+                || (view instanceof SettingsDefaults)) {
+            return view.getKeys(prefix, delimiter);
+        }
+        return indexOf(view).getKeys(prefix, delimiter);
+    }
+
+    /**
+     * Get the prefix index of the specified delegate, building it if the cached index is missing or out of date.
+     *
+     * @param view current or previously published delegate
+     * @return prefix index of the specified delegate
+     */
+    private PrefixIndex indexOf(Configuration view) {
+        // NOTE: Read the modification count first, so an index built during a modification is rebuilt next time
+        int count = modCount;
+        Indexed cached = indexed;
+        if ((cached == null) || (cached.delegate != view) || (cached.modCount != count)) {
+            cached = new Indexed(view, count, PrefixIndex.of(view.getKeys()));
+            indexed = cached;
+        }
+        return cached.index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Object getPropertyInternal(String key) {
+        return getDelegate().getProperty(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean containsKeyInternal(String key) {
+        return getDelegate().containsKey(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean containsValueInternal(Object value) {
+        return getDelegate().containsValue(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isEmptyInternal() {
+        return getDelegate().isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int sizeInternal() {
+        return getDelegate().size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal() {
+        return getDelegate().getKeys();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal(String prefix) {
+        return getKeys(getDelegate(), prefix, PrefixIndex.DELIMITER);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String> getKeysInternal(String prefix, String delimiter) {
+        return getKeys(getDelegate(), prefix, delimiter);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void addPropertyDirect(String key, Object value) {
+        modify(config -> config.addProperty(key, value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void clearPropertyDirect(String key) {
+        // NOTE: Avoid copying a shared delegate that doesn't define the key
+        if (getDelegate().containsKey(key)) {
+            modify(config -> config.clearProperty(key));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void clearInternal() {
+        Configuration current = getDelegate();
+        // NOTE: Replace a shared or published delegate instead of clearing it
+        if (shared || copyOnWrite) {
+            swap(new PropertiesConfiguration(), false);
+        } else {
+            current.clear();
+            modCount++;
+        }
+    }
+
+    /**
+     * This class pairs a prefix index with the delegate and modification count from which it was built.
+     */
+    private static final class Indexed {
+
+        private final Configuration delegate;
+        private final int modCount;
+        private final PrefixIndex index;
+
+        /**
+         * Pair the specified prefix index with its source.
+         *
+         * @param delegate delegate configuration from which the index was built
+         * @param modCount modification count when the index was built
+         * @param index prefix index of the delegate's keys
+         */
+        Indexed(Configuration delegate, int modCount, PrefixIndex index) {
+            this.delegate = delegate;
+            this.modCount = modCount;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.nordstrom.automation.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.After;
+import org.junit.Test;
+
+import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
+
+public class CapturedSystemConfigurationTest {
+
+    private static final String STRING_SYSTEM = "SYSTEM";
+    private static final String STRING_CHANGED = "CHANGED";
+    private static final String UNDECLARED_KEY = "narf.undeclared.key";
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(NarfSettings.NONE_SPECIFIED.key());
+        System.clearProperty(UNDECLARED_KEY);
+    }
+
+    @Test
+    public void testCapturedValues() throws ConfigurationException, IOException {
+        System.setProperty(NarfSettings.NONE_SPECIFIED.key(), STRING_SYSTEM);
+        System.setProperty(UNDECLARED_KEY, STRING_SYSTEM);
+
+        NarfConfig config = CustomNarfConfig.builder().systemConfig(
+                () -> new CapturedSystemConfiguration(NarfSettings.class, 0, TimeUnit.MILLISECONDS)).build();
+
+        assertEquals("Incorrect captured value", STRING_SYSTEM, config.getString(NarfSettings.NONE_SPECIFIED.key()));
+        assertNull("Undeclared key should not be captured", config.getString(UNDECLARED_KEY));
+
+        System.setProperty(NarfSettings.NONE_SPECIFIED.key(), STRING_CHANGED);
+        assertEquals("Captured value should be unchanged", STRING_SYSTEM, config.getString(NarfSettings.NONE_SPECIFIED.key()));
+        assertEquals("Snapshot should match captured value", STRING_SYSTEM, config.getString(NarfSettings.NONE_SPECIFIED));
+
+        assertTrue("Refresh should detect change", config.refreshSystemProperties());
+        assertFalse("Repeated refresh should detect no change", config.refreshSystemProperties());
+        assertEquals("Incorrect refreshed value", STRING_CHANGED, config.getString(NarfSettings.NONE_SPECIFIED.key()));
+        assertEquals("Snapshot should reflect refreshed value", STRING_CHANGED, config.getString(NarfSettings.NONE_SPECIFIED));
+    }
+
+    @Test
+    public void testRefreshInterval() throws ConfigurationException, IOException, InterruptedException {
+        NarfConfig config = CustomNarfConfig.builder().systemConfig(
+                () -> new CapturedSystemConfiguration(NarfSettings.class, 10, TimeUnit.MILLISECONDS)).build();
+        assertNull("Unexpected captured value", config.getString(NarfSettings.NONE_SPECIFIED.key()));
+
+        System.setProperty(NarfSettings.NONE_SPECIFIED.key(), STRING_SYSTEM);
+        Thread.sleep(50);
+        assertEquals("Interval refresh should capture new value", STRING_SYSTEM, config.getString(NarfSettings.NONE_SPECIFIED.key()));
+    }
+
+    @Test
+    public void testTypedRefreshInterval() throws ConfigurationException, IOException, InterruptedException {
+        NarfConfig config = CustomNarfConfig.builder().systemConfig(
+                () -> new CapturedSystemConfiguration(NarfSettings.class, 10, TimeUnit.MILLISECONDS)).build();
+        assertNull("Unexpected captured value", config.getString(NarfSettings.NONE_SPECIFIED));
+
+        System.setProperty(NarfSettings.NONE_SPECIFIED.key(), STRING_SYSTEM);
+        Thread.sleep(50);
+        assertEquals("Interval refresh should update typed lookups", STRING_SYSTEM,
+                config.getString(NarfSettings.NONE_SPECIFIED));
+    }
+
+    @Test
+    public void testVersion() {
+        CapturedSystemConfiguration system = new CapturedSystemConfiguration(NarfSettings.class, 0, TimeUnit.MILLISECONDS);
+        long version = system.getVersion();
+
+        System.setProperty(NarfSettings.NONE_SPECIFIED.key(), STRING_SYSTEM);
+        assertTrue("Refresh should detect change", system.refresh());
+        assertEquals("Version should be incremented", version + 1, system.getVersion());
+    }
+}
@@ -0,0 +1,122 @@
+package com.nordstrom.automation.settings;
+
+import static com.nordstrom.automation.settings.SettingsTestUtils.getLayer;
+import static com.nordstrom.automation.settings.SettingsTestUtils.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.commons.configuration2.event.ConfigurationEvent;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.Test;
+
+import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
+
+public class CompactStorageTest {
+
+    @Test
+    public void testArena() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put(new String(NarfSettings.STRING_STORED.key()), "SHARED");
+        map.put("narf.undeclared", "SHARED");
+        map.put("narf.list", Arrays.asList("ONE", "TWO"));
+        map.put("narf.number", 42);
+        ArenaConfiguration arena = ArenaConfiguration.of(new MapConfiguration(map),
+                SettingsDefaults.of(NarfSettings.class)::getDeclaredKey);
+
+        assertEquals("Incorrect size", 4, arena.size());
+        assertEquals("Incorrect single value", "SHARED", arena.getProperty("narf.undeclared"));
+        assertEquals("Incorrect list value", Arrays.asList("ONE", "TWO"), arena.getProperty("narf.list"));
+        assertEquals("Incorrect converted value", "42", arena.getProperty("narf.number"));
+        assertNull("Unexpected value", arena.getProperty("narf.missing"));
+        assertTrue("Value should be found", arena.containsValue("TWO"));
+        assertFalse("Unexpected value found", arena.containsValue("THREE"));
+        assertEquals("Incorrect prefix keys", Arrays.asList("narf.list"), toList(arena, "narf.list"));
+
+        // NOTE: "SHARED" is stored once
+        assertEquals("Incorrect packed size", 67, arena.getPackedBytes());
+        assertSame("Declared key should be held as its constant instance", NarfSettings.STRING_STORED.key(),
+                arena.getKeys().next());
+        ArenaConfiguration other = ArenaConfiguration.of(new MapConfiguration(map), key -> null);
+        assertNotSame("Each owner should get its own configuration", arena, other);
+        assertTrue("Identical content should be shared", arena.sharesContent(other));
+    }
+
+    @Test
+    public void testWideCharacters() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("narf.wide", "été ☃");
+        ArenaConfiguration arena = ArenaConfiguration.of(new MapConfiguration(map), key -> null);
+        assertEquals("Incorrect wide value", "été ☃", arena.getString("narf.wide"));
+        assertEquals("Incorrect packed size", 28, arena.getPackedBytes());
+    }
+
+    @Test
+    public void testStoredProperties() throws ConfigurationException, IOException {
+        CustomNarfConfig.Builder builder = CustomNarfConfig.builder().compactStorage();
+        NarfConfig config = builder.build();
+        assertEquals("Incorrect stored value", "STORED", config.getString(NarfSettings.STRING_STORED));
+        assertEquals("Incorrect stored list", Arrays.asList("ONE", "TWO", "THREE"),
+                config.getList(NarfSettings.MULTIPLE_ENTRY.key()));
+
+        Configuration layer = getLayer(config, NarfSettings.MULTIPLE_ENTRY.key());
+        assertTrue("Stored properties should be packed", layer instanceof ArenaConfiguration);
+        assertTrue("Packed stored properties should be shared", ((ArenaConfiguration) layer).sharesContent(
+                getLayer(builder.build(), NarfSettings.MULTIPLE_ENTRY.key())));
+        assertTrue("Unchanged stored properties should report no changes", config.reload().isEmpty());
+        assertSame("Unchanged stored properties should be retained", layer,
+                getLayer(config, NarfSettings.MULTIPLE_ENTRY.key()));
+    }
+
+    @Test
+    public void testModification() throws ConfigurationException, IOException {
+        NarfConfig config = CustomNarfConfig.builder().compactStorage().build();
+        String key = NarfSettings.MULTIPLE_ENTRY.key();
+        Configuration layer = getLayer(config, key);
+
+        config.getSource(key).clearProperty(key);
+        assertFalse("Cleared key should be undefined", config.containsKey(key));
+        assertEquals("Shared layer should be unaffected", Arrays.asList("ONE", "TWO", "THREE"), layer.getList(key));
+    }
+
+    @Test
+    public void testCustomDefaults() throws ConfigurationException, IOException {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put(NarfSettings.STRING_DEFAULT.key(), "CUSTOM");
+        CustomNarfConfig.Builder builder = CustomNarfConfig.builder().compactStorage().defaults(defaults);
+        NarfConfig config = builder.build();
+        assertEquals("Incorrect custom default", "CUSTOM", config.getString(NarfSettings.STRING_DEFAULT));
+
+        Configuration layer = getLayer(config, NarfSettings.STRING_DEFAULT.key());
+        assertTrue("Custom defaults should be packed", layer instanceof ArenaConfiguration);
+        assertTrue("Packed custom defaults should be shared", ((ArenaConfiguration) layer).sharesContent(
+                getLayer(builder.build(), NarfSettings.STRING_DEFAULT.key())));
+    }
+
+    @Test
+    public void testIsolatedSettings() throws ConfigurationException, IOException {
+        CustomNarfConfig.Builder builder = CustomNarfConfig.builder().compactStorage();
+        NarfConfig config = builder.build();
+        NarfConfig other = builder.build();
+        String key = NarfSettings.MULTIPLE_ENTRY.key();
+        ArenaConfiguration layer = (ArenaConfiguration) getLayer(config, key);
+        ArenaConfiguration otherLayer = (ArenaConfiguration) getLayer(other, key);
+        assertTrue("Packed stored properties should be shared", layer.sharesContent(otherLayer));
+
+        layer.setThrowExceptionOnMissing(true);
+        assertFalse("Settings of one layer should not affect another", otherLayer.isThrowExceptionOnMissing());
+        layer.addEventListener(ConfigurationEvent.ANY, event -> { });
+        assertTrue("Listeners of one layer should not affect another",
+                otherLayer.getEventListeners(ConfigurationEvent.ANY).isEmpty());
+    }
+}
@@ -0,0 +1,188 @@
+package com.nordstrom.automation.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.After;
+import org.junit.Test;
+
+import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
+
+public class CopyOnWriteTest {
+
+    private static final int READERS = 4;
+    private static final int WRITES = 2000;
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(NarfSettings.STRING_STORED.key());
+        System.clearProperty(NarfSettings.MULTIPLE_ENTRY.key());
+    }
+
+    @Test
+    public void testModifications() throws ConfigurationException, IOException {
+        NarfConfig config = CustomNarfConfig.builder().copyOnWrite().build();
+        String key = NarfSettings.STRING_STORED.key();
+        assertEquals("Incorrect stored value", "STORED", config.getString(key));
+
+        config.setProperty(key, "SET");
+        assertEquals("Incorrect set value", "SET", config.getString(key));
+        assertEquals("Value should be held in memory", "SET", config.getInMemoryConfiguration().getString(key));
+        assertSame("Incorrect source", config.getInMemoryConfiguration(), config.getSource(key));
+
+        config.addProperty("narf.added", "ADDED");
+        assertEquals("Incorrect added value", "ADDED", config.getString("narf.added"));
+        assertTrue("Added key should be listed", contains(config.getKeys(), "narf.added"));
+
+        config.clearProperty(key);
+        assertNull("Cleared value should be undefined", config.getString(key));
+        assertFalse("Cleared key should be undefined", config.containsKey(key));
+    }
+
+    @Test
+    public void testListModifications() throws ConfigurationException, IOException {
+        NarfConfig config = CustomNarfConfig.builder().copyOnWrite().build();
+        String key = NarfSettings.MULTIPLE_ENTRY.key();
+        assertEquals("Incorrect stored list", Arrays.asList("ONE", "TWO", "THREE"), config.getList(String.class, key));
+
+        config.setProperty(key, Arrays.asList("A", "B"));
+        assertEquals("Incorrect set list", Arrays.asList("A", "B"), config.getList(String.class, key));
+    }
+
+    @Test
+    public void testLazyModifications() throws ConfigurationException, IOException {
+        NarfConfig config = CustomNarfConfig.builder().copyOnWrite().lazyLoading(true).build();
+        String key = NarfSettings.STRING_STORED.key();
+        config.setProperty(key, "SET");
+        assertEquals("Incorrect set value", "SET", config.getString(key));
+        assertEquals("Incorrect stored value", "2", config.getString(NarfSettings.INTEGER_STORED.key()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReplaceInMemory() throws ConfigurationException, IOException {
+        NarfConfig config = CustomNarfConfig.builder().copyOnWrite().build();
+        config.addConfiguration(new MapConfiguration(Collections.emptyMap()), true);
+    }
+
+    @Test
+    public void testConcurrentSetProperty() throws Exception {
+        NarfConfig config = CustomNarfConfig.builder().copyOnWrite().build();
+        String key = NarfSettings.STRING_STORED.key();
+        stress(() -> {
+            for (int i = 0; i < WRITES; i++) {
+                config.setProperty(key, "W" + i);
+            }
+        }, () -> {
+            String value = config.getString(key);
+            if ((value == null) || "DEFAULT".equals(value)) {
+                throw new AssertionError("Torn value observed: " + value);
+            }
+        });
+    }
+
+    @Test
+    public void testConcurrentSetList() throws Exception {
+        NarfConfig config = CustomNarfConfig.builder().copyOnWrite().build();
+        String key = NarfSettings.MULTIPLE_ENTRY.key();
+        stress(() -> {
+            for (int i = 0; i < WRITES; i++) {
+                config.setProperty(key, Arrays.asList("A" + i, "B" + i));
+            }
+        }, () -> {
+            List<String> values = config.getList(String.class, key);
+            if (values.size() == 3) {
+                assertEquals("Incorrect stored list", Arrays.asList("ONE", "TWO", "THREE"), values);
+            } else if ((values.size() != 2) || ! values.get(0).substring(1).equals(values.get(1).substring(1))) {
+                throw new AssertionError("Torn list observed: " + values);
+            }
+        });
+    }
+
+    @Test
+    public void testConcurrentLayerChanges() throws Exception {
+        NarfConfig config = CustomNarfConfig.builder().copyOnWrite().build();
+        String key = NarfSettings.STRING_STORED.key();
+        Configuration extra = new MapConfiguration(Collections.singletonMap("narf.extra", "EXTRA"));
+        stress(() -> {
+            for (int i = 0; i < WRITES; i++) {
+                config.addConfiguration(extra);
+                config.removeConfiguration(extra);
+            }
+        }, () -> {
+            assertEquals("Incorrect stored value", "STORED", config.getString(key));
+            List<String> keys = new ArrayList<>();
+            config.getKeys().forEachRemaining(keys::add);
+            assertTrue("Stored key should be listed", keys.contains(key));
+            int count = config.getNumberOfConfigurations();
+            assertTrue("Incorrect configuration count: " + count, (count == 5) || (count == 6));
+        });
+    }
+
+    /**
+     * Run the specified writer while reader threads repeatedly invoke the specified check.
+     *
+     * @param writer modifications to apply
+     * @param check invariant evaluated by readers
+     * @throws Exception if the writer or a reader fails
+     */
+    private static void stress(Runnable writer, Runnable check) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(READERS);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch started = new CountDownLatch(READERS);
+        try {
+            for (int i = 0; i < READERS; i++) {
+                executor.execute(() -> {
+                    started.countDown();
+                    try {
+                        while ( ! done.get()) {
+                            check.run();
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                });
+            }
+            started.await();
+            try {
+                writer.run();
+            } finally {
+                done.set(true);
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue("Readers should finish", executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+        if (failure.get() != null) {
+            throw new AssertionError("Reader failed", failure.get());
+        }
+    }
+
+    private static boolean contains(Iterator<String> keys, String key) {
+        while (keys.hasNext()) {
+            if (keys.next().equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
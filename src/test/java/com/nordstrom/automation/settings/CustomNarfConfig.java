@@ -0,0 +1,274 @@
+package com.nordstrom.automation.settings;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+
+/**
+ * This class is a {@link NarfConfig} whose configuration hooks are specified through a {@link Builder}.
+ * Each hook that isn't specified falls back to the inherited implementation.
+ * <p>
+ * <b>NOTE</b>: {@link SettingsCore} invokes its hooks from its constructor, before the fields of this
+ * class are assigned. The builder is therefore published through a thread-local for the duration of
+ * construction.
+ */
+public class CustomNarfConfig extends NarfConfig {
+
+    private static final ThreadLocal<Builder> BUILDING = new ThreadLocal<>();
+
+    private final Builder builder;
+
+    private CustomNarfConfig() throws ConfigurationException, IOException {
+        super();
+        builder = BUILDING.get();
+    }
+
+    /**
+     * Create a new builder for a customized {@link NarfConfig}.
+     *
+     * @return new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private Builder hooks() {
+        return (builder != null) ? builder : BUILDING.get();
+    }
+
+    @Override
+    public String getSettingsPath() {
+        Supplier<String> path = hooks().settingsPath;
+        return (path != null) ? path.get() : super.getSettingsPath();
+    }
+
+    @Override
+    public URL getSettingsUrl() {
+        URL url = hooks().settingsUrl;
+        return (url != null) ? url : super.getSettingsUrl();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        String content = hooks().content;
+        if (content != null) {
+            return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return super.getInputStream();
+    }
+
+    @Override
+    protected Configuration getSystemConfig() {
+        Supplier<Configuration> config = hooks().systemConfig;
+        return (config != null) ? config.get() : super.getSystemConfig();
+    }
+
+    @Override
+    protected Configuration getEnvironmentConfig() {
+        Supplier<Configuration> config = hooks().environmentConfig;
+        return (config != null) ? config.get() : super.getEnvironmentConfig();
+    }
+
+    @Override
+    protected Map<String, String> getDefaults() {
+        Map<String, String> defaults = hooks().defaults;
+        return (defaults != null) ? defaults : super.getDefaults();
+    }
+
+    @Override
+    protected boolean isCompactStorage() {
+        return hooks().compactStorage || super.isCompactStorage();
+    }
+
+    @Override
+    protected boolean isCopyOnWrite() {
+        return hooks().copyOnWrite || super.isCopyOnWrite();
+    }
+
+    @Override
+    protected boolean isLazyLoading() {
+        return hooks().lazyLoading || super.isLazyLoading();
+    }
+
+    @Override
+    protected boolean isStreamingParser() {
+        return hooks().streamingParser || super.isStreamingParser();
+    }
+
+    @Override
+    protected Executor getLoadExecutor() {
+        Executor executor = hooks().loadExecutor;
+        return (executor != null) ? executor : super.getLoadExecutor();
+    }
+
+    @Override
+    protected List<String> getActiveProfiles() {
+        List<String> profiles = hooks().activeProfiles;
+        return (profiles != null) ? profiles : super.getActiveProfiles();
+    }
+
+    @Override
+    protected SettingsMetrics<NarfSettings> getMetrics() {
+        SettingsMetrics<NarfSettings> metrics = hooks().metrics;
+        return (metrics != null) ? metrics : super.getMetrics();
+    }
+
+    @Override
+    protected Path getSnapshotFile() {
+        Path snapshot = hooks().snapshotFile;
+        return (snapshot != null) ? snapshot : super.getSnapshotFile();
+    }
+
+    @Override
+    protected Path getFallbackFile() {
+        Path fallback = hooks().fallbackFile;
+        return (fallback != null) ? fallback : super.getFallbackFile();
+    }
+
+    @Override
+    protected Duration getHttpTimeout() {
+        Duration timeout = hooks().httpTimeout;
+        return (timeout != null) ? timeout : super.getHttpTimeout();
+    }
+
+    /**
+     * This class collects the hooks of a {@link CustomNarfConfig}.
+     */
+    public static class Builder {
+
+        private Supplier<String> settingsPath;
+        private URL settingsUrl;
+        private String content;
+        private Supplier<Configuration> systemConfig;
+        private Supplier<Configuration> environmentConfig;
+        private Map<String, String> defaults;
+        private boolean compactStorage;
+        private boolean copyOnWrite;
+        private boolean lazyLoading;
+        private boolean streamingParser;
+        private Executor loadExecutor;
+        private List<String> activeProfiles;
+        private SettingsMetrics<NarfSettings> metrics;
+        private Path snapshotFile;
+        private Path fallbackFile;
+        private Duration httpTimeout;
+
+        private Builder() {
+        }
+
+        public Builder settingsPath(String path) {
+            return settingsPath(() -> path);
+        }
+
+        public Builder settingsPath(Path path) {
+            return settingsPath(path.toString());
+        }
+
+        public Builder settingsPath(Supplier<String> path) {
+            settingsPath = path;
+            return this;
+        }
+
+        public Builder settingsUrl(URL url) {
+            settingsUrl = url;
+            return this;
+        }
+
+        public Builder content(String content) {
+            this.content = content;
+            return this;
+        }
+
+        public Builder systemConfig(Supplier<Configuration> config) {
+            systemConfig = config;
+            return this;
+        }
+
+        public Builder environmentConfig(Supplier<Configuration> config) {
+            environmentConfig = config;
+            return this;
+        }
+
+        public Builder defaults(Map<String, String> defaults) {
+            this.defaults = defaults;
+            return this;
+        }
+
+        public Builder compactStorage() {
+            compactStorage = true;
+            return this;
+        }
+
+        public Builder copyOnWrite() {
+            copyOnWrite = true;
+            return this;
+        }
+
+        public Builder lazyLoading(boolean lazy) {
+            lazyLoading = lazy;
+            return this;
+        }
+
+        public Builder streamingParser(boolean streaming) {
+            streamingParser = streaming;
+            return this;
+        }
+
+        public Builder loadExecutor(Executor executor) {
+            loadExecutor = executor;
+            return this;
+        }
+
+        public Builder activeProfiles(List<String> profiles) {
+            activeProfiles = profiles;
+            return this;
+        }
+
+        public Builder metrics(SettingsMetrics<NarfSettings> metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public Builder snapshotFile(Path snapshot) {
+            snapshotFile = snapshot;
+            return this;
+        }
+
+        public Builder fallbackFile(Path fallback) {
+            fallbackFile = fallback;
+            return this;
+        }
+
+        public Builder httpTimeout(Duration timeout) {
+            httpTimeout = timeout;
+            return this;
+        }
+
+        /**
+         * Create a {@link CustomNarfConfig} with the hooks specified by this builder.
+         *
+         * @return new customized settings object
+         * @throws ConfigurationException If a failure is encountered while initializing this configuration object
+         * @throws IOException If a failure is encountered while reading from a configuration input stream
+         */
+        public CustomNarfConfig build() throws ConfigurationException, IOException {
+            BUILDING.set(this);
+            try {
+                return new CustomNarfConfig();
+            } finally {
+                BUILDING.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.nordstrom.automation.settings;
+
+import static com.nordstrom.automation.settings.SettingsTestUtils.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.After;
+import org.junit.Test;
+
+import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
+
+public class EnvironmentTest {
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(NarfSettings.STRING_SYSTEM.key());
+    }
+
+    @Test
+    public void testEnvName() {
+        assertEquals("Incorrect variable name", "NARF_STRING_SYSTEM", NarfSettings.STRING_SYSTEM.envName());
+        assertEquals("Incorrect converted name", "ZORT_POIT_2", EnvironmentConfiguration.toEnvName("zort-poit.2"));
+        assertEquals("Incorrect custom name", "APP_ZORT_PREFIXED", ZortSettings.PREFIXED.envName());
+        assertNull("Excluded setting should have no name", ZortSettings.EXCLUDED.envName());
+    }
+
+    @Test
+    public void testPrecedence() throws ConfigurationException, IOException {
+        Map<String, String> env = new HashMap<>();
+        env.put("NARF_STRING_SYSTEM", "ENV");
+        env.put("NARF_STRING_STORED", "ENV");
+        env.put("NARF_INTEGER_PROPERTY", "7");
+        env.put("NARF_NONE_SPECIFIED", "ENV");
+        env.put("UNRELATED", "IGNORED");
+        System.setProperty(NarfSettings.STRING_SYSTEM.key(), "SYSTEM");
+        NarfConfig config = CustomNarfConfig.builder()
+                .environmentConfig(() -> new EnvironmentConfiguration(NarfSettings.class, env)).build();
+
+        assertEquals("System properties should take precedence", "SYSTEM",
+                config.getString(NarfSettings.STRING_SYSTEM));
+        assertEquals("Environment should override stored value", "ENV", config.getString(NarfSettings.STRING_STORED));
+        assertEquals("Environment should override default value", 7, config.getInt(NarfSettings.INTEGER_DEFAULT));
+        assertEquals("Incorrect stored value", 2, config.getInt(NarfSettings.INTEGER_STORED));
+        assertSame("Environment layer should follow System properties", config.getConfiguration(2),
+                config.getSource(NarfSettings.NONE_SPECIFIED.key()));
+        assertTrue("Incorrect environment layer", config.getConfiguration(2) instanceof EnvironmentConfiguration);
+    }
+
+    @Test
+    public void testCapturedKeys() {
+        Map<String, String> env = new HashMap<>();
+        env.put("NARF_STRING_STORED", "ENV");
+        env.put("NARF_INTEGER_STORED", "5");
+        env.put("NARF_STRING_DEFAULT", "ENV");
+        EnvironmentConfiguration config = new EnvironmentConfiguration(NarfSettings.class, env);
+
+        assertEquals("Incorrect captured keys", Arrays.asList("narf.string.default", "narf.string.stored",
+                "narf.integer.stored"), toList(config, null));
+        assertEquals("Incorrect prefix keys", Arrays.asList("narf.integer.stored"), toList(config, "narf.integer"));
+        assertFalse("Undeclared key should be invisible", config.containsKey("UNRELATED"));
+
+        config.clearProperty("narf.string.stored");
+        assertNull("Cleared value should be hidden", config.getString("narf.string.stored"));
+        assertEquals("Other values should be retained", 5, config.getInt("narf.integer.stored"));
+    }
+
+    @Test
+    public void testCustomConvention() {
+        Map<String, String> env = new HashMap<>();
+        env.put("APP_ZORT_PREFIXED", "PREFIXED");
+        env.put("ZORT_PREFIXED", "UNPREFIXED");
+        env.put("ZORT_EXCLUDED", "EXCLUDED");
+        EnvironmentConfiguration config = new EnvironmentConfiguration(ZortSettings.class, env);
+
+        assertEquals("Incorrect prefixed value", "PREFIXED", config.getString(ZortSettings.PREFIXED.key()));
+        assertNull("Excluded setting should be undefined", config.getString(ZortSettings.EXCLUDED.key()));
+    }
+
+    public enum ZortSettings implements SettingsCore.SettingsAPI {
+        PREFIXED("zort.prefixed"),
+        EXCLUDED("zort.excluded");
+
+        private final String key;
+
+        ZortSettings(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public String key() {
+            return key;
+        }
+
+        @Override
+        public String val() {
+            return null;
+        }
+
+        @Override
+        public String envName() {
+            return (this == EXCLUDED) ? null : "APP_" + EnvironmentConfiguration.toEnvName(key);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.nordstrom.automation.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class HttpSourceTest {
+
+    private static final String LAST_MODIFIED = "Thu, 01 Oct 2026 00:00:00 GMT";
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private HttpServer server;
+    private volatile String content;
+    private volatile String etag;
+    private volatile int status;
+    private volatile long delayMillis;
+    private final List<String> conditions = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void startServer() throws IOException {
+        setContent("ONE", "\"v1\"");
+        status = 200;
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/settings.properties", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testConditionalRequests() throws ConfigurationException, IOException {
+        NarfConfig config = CustomNarfConfig.builder().settingsUrl(getUrl()).build();
+        assertEquals("Incorrect stored value", "ONE", config.getString(NarfSettings.STRING_STORED));
+        assertEquals("Initial request should be unconditional", "null|null", conditions.get(0));
+
+        assertTrue("Unchanged content should report no changes", config.reload().isEmpty());
+        assertEquals("Incorrect validators", "\"v1\"|" + LAST_MODIFIED, conditions.get(1));
+
+        setContent("TWO", "\"v2\"");
+        assertEquals("Incorrect changed settings", EnumSet.of(NarfSettings.STRING_STORED), config.reload());
+        assertEquals("Incorrect reloaded value", "TWO", config.getString(NarfSettings.STRING_STORED));
+    }
+
+    @Test
+    public void testBackgroundRefresh() throws ConfigurationException, IOException, InterruptedException {
+        NarfConfig config = CustomNarfConfig.builder().settingsUrl(getUrl()).build();
+        CountDownLatch latch = new CountDownLatch(1);
+        config.addSettingsListener((source, settings) -> latch.countDown());
+
+        config.enableRefresh(50, TimeUnit.MILLISECONDS);
+        try {
+            setContent("THREE", "\"v3\"");
+            assertTrue("Refresh not detected", latch.await(30, TimeUnit.SECONDS));
+        } finally {
+            config.disableRefresh();
+        }
+        assertEquals("Incorrect refreshed value", "THREE", config.getString(NarfSettings.STRING_STORED));
+    }
+
+    @Test
+    public void testFailedRefresh() throws ConfigurationException, IOException {
+        NarfConfig config = CustomNarfConfig.builder().settingsUrl(getUrl()).build();
+        status = 500;
+        try {
+            config.reload();
+            fail("Failed refresh should be reported");
+        } catch (ConfigurationException e) {
+            // expected
+        }
+        assertEquals("Last good value should be retained", "ONE", config.getString(NarfSettings.STRING_STORED));
+        assertEquals("Last good value should be retained", "ONE", config.getString(NarfSettings.STRING_STORED.key()));
+    }
+
+    @Test
+    public void testFallbackFile() throws ConfigurationException, IOException {
+        Path fallback = tempFolder.getRoot().toPath().resolve("fallback.properties");
+        CustomNarfConfig.Builder builder = CustomNarfConfig.builder().settingsUrl(getUrl()).fallbackFile(fallback);
+        builder.build();
+        assertTrue("Fallback copy should be saved", fallback.toFile().isFile());
+
+        // restored without download if still current
+        NarfConfig current = builder.build();
+        assertEquals("Saved validators should be sent", "\"v1\"|" + LAST_MODIFIED, conditions.get(1));
+        assertEquals("Incorrect validated value", "ONE", current.getString(NarfSettings.STRING_STORED));
+
+        // restored if server fails
+        status = 503;
+        NarfConfig restored = builder.build();
+        assertEquals("Incorrect restored value", "ONE", restored.getString(NarfSettings.STRING_STORED));
+    }
+
+    @Test
+    public void testTimeout() throws ConfigurationException, IOException {
+        Path fallback = tempFolder.getRoot().toPath().resolve("fallback.properties");
+        CustomNarfConfig.Builder builder = CustomNarfConfig.builder().settingsUrl(getUrl()).fallbackFile(fallback);
+        builder.build();
+
+        delayMillis = 2000;
+        setContent("SLOW", "\"slow\"");
+        NarfConfig restored = builder.httpTimeout(Duration.ofMillis(200)).build();
+        assertEquals("Timed out request should restore fallback", "ONE",
+                restored.getString(NarfSettings.STRING_STORED));
+    }
+
+    @Test
+    public void testNotFound() throws ConfigurationException, IOException {
+        status = 404;
+        NarfConfig config = CustomNarfConfig.builder().settingsUrl(getUrl()).build();
+        assertEquals("Incorrect default value", "DEFAULT", config.getString(NarfSettings.STRING_STORED));
+        assertEquals("Incorrect default integer", 3, config.getInt(NarfSettings.INTEGER_STORED));
+    }
+
+    @Test
+    public void testCharset() {
+        assertEquals("Declared charset should be used", StandardCharsets.UTF_8,
+                HttpSettingsSource.getCharset("text/plain; charset=\"UTF-8\""));
+        assertEquals("Undeclared charset should be ISO-8859-1", StandardCharsets.ISO_8859_1,
+                HttpSettingsSource.getCharset("text/plain"));
+        assertEquals("Unsupported charset should be ISO-8859-1", StandardCharsets.ISO_8859_1,
+                HttpSettingsSource.getCharset("text/plain; charset=bogus"));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        String ifModifiedSince = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+        conditions.add(ifNoneMatch + "|" + ifModifiedSince);
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (status != 200) {
+            exchange.sendResponseHeaders(status, -1);
+        } else if (etag.equals(ifNoneMatch)) {
+            exchange.sendResponseHeaders(304, -1);
+        } else {
+            byte[] body = content.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=UTF-8");
+            exchange.getResponseHeaders().add("ETag", etag);
+            exchange.getResponseHeaders().add("Last-Modified", LAST_MODIFIED);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+        exchange.close();
+    }
+
+    private void setContent(String stringValue, String tag) {
+        content = NarfSettings.STRING_STORED.key() + "=" + stringValue + "\n"
+                + NarfSettings.INTEGER_STORED.key() + "=1\n";
+        etag = tag;
+    }
+
+    private URL getUrl() throws MalformedURLException {
+        return new URL("http://localhost:" + server.getAddress().getPort() + "/settings.properties");
+    }
+}
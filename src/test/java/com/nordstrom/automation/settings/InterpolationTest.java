@@ -0,0 +1,106 @@
+package com.nordstrom.automation.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.commons.configuration2.interpol.ConfigurationInterpolator;
+import org.junit.After;
+import org.junit.Test;
+
+import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
+
+public class InterpolationTest {
+
+    private static final String SYS_KEY = "interp.sys.value";
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(SYS_KEY);
+    }
+
+    @Test
+    public void testReferences() throws ConfigurationException, IOException {
+        System.setProperty(SYS_KEY, "system");
+        NarfConfig config = CustomNarfConfig.builder().content(
+                "a=${b}\n"
+                + "b=value\n"
+                + "c=${a}-${sys:" + SYS_KEY + "}\n"
+                + "d=${undefined}\n"
+                + "e=${b:-fallback}\n"
+                + "f=${narf.list.multiple}\n"
+                + "narf.list.multiple=ONE\n"
+                + "narf.list.multiple=TWO\n").build();
+
+        assertEquals("Incorrect simple reference", "value", config.getString("a"));
+        assertEquals("Incorrect composite reference", "value-system", config.getString("c"));
+        assertEquals("Incorrect unresolved reference", "${undefined}", config.getString("d"));
+        assertEquals("Incorrect default value reference", "value", config.getString("e"));
+        assertEquals("Incorrect list reference", Arrays.asList("ONE", "TWO"), config.getList("f"));
+
+        System.setProperty(SYS_KEY, "changed");
+        assertEquals("Live system reference should be re-evaluated", "value-changed", config.getString("c"));
+
+        config.setProperty("b", "updated");
+        assertEquals("Dependent value should be recomputed", "updated", config.getString("a"));
+    }
+
+    @Test
+    public void testCachedReferences() throws ConfigurationException, IOException {
+        System.setProperty(SYS_KEY, "system");
+        NarfConfig config = CustomNarfConfig.builder().content(
+                "a=${b}\n"
+                + "b=value\n"
+                + "c=${a}-${sys:" + SYS_KEY + "}\n")
+                .systemConfig(() -> new CapturedSystemConfiguration(NarfSettings.class, 0, TimeUnit.MILLISECONDS))
+                .build();
+
+        assertEquals("Incorrect composite reference", "value-system", config.getString("c"));
+
+        System.setProperty(SYS_KEY, "changed");
+        assertEquals("Cached system reference should be retained", "value-system", config.getString("c"));
+        config.refreshSystemProperties();
+        assertEquals("System reference should be re-evaluated after refresh", "value-changed", config.getString("c"));
+
+        config.setProperty("b", "updated");
+        assertEquals("Dependent value should be recomputed", "updated-changed", config.getString("c"));
+    }
+
+    @Test
+    public void testCycleDetection() throws IOException {
+        try {
+            CustomNarfConfig.builder().content("a=${b}\nb=${c}\nc=${a}\nd=${a}\n").build();
+            fail("Expected cycle to be detected");
+        } catch (ConfigurationException e) {
+            assertTrue("Unexpected message: " + e.getMessage(), e.getMessage().contains("a -> b -> c -> a"));
+        }
+    }
+
+    @Test
+    public void testLargeTemplateSet() throws ConfigurationException {
+        int keyCount = 100000;
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < keyCount; i++) {
+            values.put("key." + i, "${base}-" + i);
+        }
+        SettingsInterpolator interpolator = new SettingsInterpolator(new ConfigurationInterpolator());
+        interpolator.checkCycles(values.keySet(), values::get);
+        assertEquals("Templates of a large layer should be retained", keyCount, interpolator.getTemplateCount());
+    }
+
+    @Test
+    public void testIncludeInterpolation() throws ConfigurationException, IOException {
+        System.setProperty(SetsConfig.SetsSettings.INCLUDE_NAME.key(), "set1.properties");
+        SetsConfig config = new SetsConfig();
+        assertEquals("Incorrect included value", "first one", config.getString(SetsConfig.SetsSettings.FIRST_KEY));
+        assertEquals("Incorrect default string value", "DEFAULT",
+                new NarfConfig().getString(NarfSettings.STRING_DEFAULT));
+    }
+}
@@ -0,0 +1,71 @@
+package com.nordstrom.automation.settings;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.After;
+import org.junit.Test;
+
+import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
+
+public class LazyLoadingTest {
+
+    private static final String STRING_SYSTEM = "SYSTEM";
+    private static final String STRING_STORED = "STORED";
+    private static final String STRING_DEFAULT = "DEFAULT";
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(NarfSettings.STRING_SYSTEM.key());
+    }
+
+    @Test
+    public void testDeferredLoading() throws ConfigurationException, IOException {
+        System.setProperty(NarfSettings.STRING_SYSTEM.key(), STRING_SYSTEM);
+        AtomicInteger loads = new AtomicInteger();
+        NarfConfig config = CustomNarfConfig.builder().lazyLoading(true).settingsPath(() -> {
+            loads.incrementAndGet();
+            return "narf.properties";
+        }).build();
+
+        assertEquals("Stored properties should not be loaded", 0, loads.get());
+        assertEquals("Incorrect system value", STRING_SYSTEM, config.getString(NarfSettings.STRING_SYSTEM.key()));
+        assertEquals("Stored properties should not be loaded", 0, loads.get());
+        assertEquals("Incorrect stored value", STRING_STORED, config.getString(NarfSettings.STRING_STORED.key()));
+        assertEquals("Incorrect default value", STRING_DEFAULT, config.getString(NarfSettings.STRING_DEFAULT));
+        assertEquals("Stored properties should be loaded once", 1, loads.get());
+    }
+
+    @Test
+    public void testDeferredMissingFile() throws ConfigurationException, IOException {
+        NarfConfig config = CustomNarfConfig.builder().lazyLoading(true).settingsPath("missing.properties").build();
+        assertEquals("Incorrect default value", STRING_DEFAULT, config.getString(NarfSettings.STRING_DEFAULT.key()));
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testDeferredFailure() throws ConfigurationException, IOException {
+        NarfConfig config = CustomNarfConfig.builder().content("a=${b}\nb=${a}\n").lazyLoading(true).build();
+        config.getString("a");
+    }
+
+    @Test
+    public void testBackgroundLoading() throws ConfigurationException, IOException {
+        List<Runnable> tasks = new ArrayList<>();
+        AtomicInteger loads = new AtomicInteger();
+        NarfConfig config = CustomNarfConfig.builder().lazyLoading(true).loadExecutor(tasks::add).settingsPath(() -> {
+            loads.incrementAndGet();
+            return "narf.properties";
+        }).build();
+
+        assertEquals("Background loading should be scheduled", 1, tasks.size());
+        tasks.get(0).run();
+        assertEquals("Stored properties should be loaded", 1, loads.get());
+        assertEquals("Incorrect stored value", STRING_STORED, config.getString(NarfSettings.STRING_STORED.key()));
+        assertEquals("Stored properties should be loaded once", 1, loads.get());
+    }
+}
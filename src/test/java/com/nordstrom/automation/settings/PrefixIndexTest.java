@@ -0,0 +1,125 @@
+package com.nordstrom.automation.settings;
+
+import static com.nordstrom.automation.settings.SettingsTestUtils.toList;
+import static com.nordstrom.automation.settings.SettingsTestUtils.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
+
+public class PrefixIndexTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testIndex() {
+        PrefixIndex index = PrefixIndex.of(Arrays.asList("narf.b", "narfpoit", "narf", "narf.a", "zort", "narf.b"));
+        assertEquals("Incorrect index size", 5, index.size());
+        assertEquals("Incorrect matches", Arrays.asList("narf.b", "narf", "narf.a"), toList(index.getKeys("narf")));
+        assertEquals("Incorrect child matches", Arrays.asList("narf.b", "narf.a"), toList(index.getKeys("narf.", "")));
+        assertEquals("Incorrect delimited matches", Arrays.asList("narfpoit", "narf"),
+                toList(index.getKeys("narf", "p")));
+        assertEquals("Incorrect undelimited matches", Arrays.asList("narf.b", "narfpoit", "narf", "narf.a"),
+                toList(index.getKeys("narf", "")));
+        assertFalse("Unexpected matches", index.getKeys("poit").hasNext());
+        assertFalse("Unexpected empty matches", PrefixIndex.EMPTY.getKeys("narf").hasNext());
+    }
+
+    @Test
+    public void testGetKeys() throws ConfigurationException, IOException {
+        verifyPrefixQueries(new NarfConfig());
+    }
+
+    @Test
+    public void testStreamingGetKeys() throws ConfigurationException, IOException {
+        verifyPrefixQueries(CustomNarfConfig.builder().streamingParser(true).build());
+    }
+
+    @Test
+    public void testCopyOnWriteGetKeys() throws ConfigurationException, IOException {
+        NarfConfig config = CustomNarfConfig.builder().copyOnWrite().build();
+        verifyPrefixQueries(config);
+
+        config.setProperty("narf.string.added", "ADDED");
+        assertEquals("Added key should be indexed", asSet(config, "narf.string"), toSet(config.getKeys("narf.string")));
+        config.clearProperty("narf.string.added");
+        assertEquals("Cleared key should be unindexed", asSet(config, "narf.string"),
+                toSet(config.getKeys("narf.string")));
+    }
+
+    @Test
+    public void testSubset() throws ConfigurationException, IOException {
+        Configuration subset = new NarfConfig().subset("narf.integer");
+        assertEquals("Incorrect subset keys", new LinkedHashSet<>(Arrays.asList("system", "stored", "property")),
+                toSet(subset.getKeys()));
+        assertEquals("Incorrect subset value", "2", subset.getString("stored"));
+    }
+
+    @Test
+    public void testGetSettings() throws ConfigurationException, IOException {
+        NarfConfig config = new NarfConfig();
+        assertEquals("Incorrect settings",
+                Arrays.asList(NarfSettings.INTEGER_DEFAULT, NarfSettings.INTEGER_SYSTEM, NarfSettings.INTEGER_STORED),
+                config.getSettings("narf.integer"));
+        assertEquals("Incorrect exact setting", Collections.singletonList(NarfSettings.MULTIPLE_ENTRY),
+                config.getSettings("narf.list.multiple"));
+        assertEquals("Unexpected settings", Collections.emptyList(), config.getSettings("narf.int"));
+    }
+
+    @Test
+    public void testReload() throws ConfigurationException, IOException {
+        Path file = tempFolder.newFile().toPath();
+        Files.write(file, "narf.string.stored=ONE\n".getBytes(StandardCharsets.UTF_8));
+        NarfConfig config = CustomNarfConfig.builder().settingsPath(file).build();
+        assertFalse("Unexpected reloaded key", config.getKeys("narf.reloaded").hasNext());
+
+        Files.write(file, "narf.string.stored=TWO\nnarf.reloaded.key=NEW\n".getBytes(StandardCharsets.UTF_8));
+        config.reload();
+        assertEquals("Reloaded key should be indexed", Collections.singletonList("narf.reloaded.key"),
+                toList(config.getKeys("narf.reloaded")));
+        assertEquals("Incorrect reloaded subset", "NEW", config.subset("narf.reloaded").getString("key"));
+    }
+
+    /**
+     * Verify that indexed prefix queries match the keys selected by filtering all keys.
+     *
+     * @param config configuration to verify
+     */
+    private static void verifyPrefixQueries(NarfConfig config) {
+        for (String prefix : Arrays.asList("narf", "narf.string", "narf.integer", "narf.list.multiple", "zort")) {
+            assertEquals("Incorrect keys for prefix: " + prefix, asSet(config, prefix), toSet(config.getKeys(prefix)));
+        }
+        assertEquals("Incorrect keys for delimiter", filter(config, "narf.", ""),
+                toSet(config.getKeys("narf.", "")));
+    }
+
+    private static Set<String> asSet(Configuration config, String prefix) {
+        return filter(config, prefix, ".");
+    }
+
+    private static Set<String> filter(Configuration config, String prefix, String delimiter) {
+        Set<String> keys = new LinkedHashSet<>();
+        config.getKeys().forEachRemaining(key -> {
+            if (key.equals(prefix) || key.startsWith(prefix + delimiter)) {
+                keys.add(key);
+            }
+        });
+        return keys;
+    }
+}
@@ -0,0 +1,117 @@
+package com.nordstrom.automation.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
+
+public class ProfileTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Path base;
+
+    @Before
+    public void writeFiles() throws IOException {
+        base = write("settings.properties", "profile.a=base\nprofile.b=base\nprofile.list=ONE\nprofile.list=TWO\n");
+        write("settings-prod.properties", "profile.b=prod\nprofile.c=prod\n");
+        write("settings-prod-us-west.properties", "profile.c=west\nprofile.list=WEST\n");
+    }
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(SettingsCore.ACTIVE_PROFILES);
+    }
+
+    @Test
+    public void testProfilePaths() {
+        assertEquals("Incorrect profile paths",
+                Arrays.asList("conf/settings.properties", "conf/settings-prod.properties",
+                        "conf/settings-prod-us-west.properties"),
+                SettingsCore.getProfilePaths("conf/settings.properties", Arrays.asList("prod", "us-west")));
+        assertEquals("Incorrect profile paths without extension", Arrays.asList("conf.d/settings", "conf.d/settings-qa"),
+                SettingsCore.getProfilePaths("conf.d/settings", Collections.singletonList("qa")));
+    }
+
+    @Test
+    public void testLayeredProfiles() throws ConfigurationException, IOException {
+        verifyLayered(CustomNarfConfig.builder().settingsPath(base)
+                .activeProfiles(Arrays.asList("prod", "us-west")).build());
+    }
+
+    @Test
+    public void testStreamingProfiles() throws ConfigurationException, IOException {
+        verifyLayered(CustomNarfConfig.builder().settingsPath(base)
+                .activeProfiles(Arrays.asList("prod", "us-west")).streamingParser(true).build());
+    }
+
+    @Test
+    public void testMissingProfile() throws ConfigurationException, IOException {
+        NarfConfig config = CustomNarfConfig.builder().settingsPath(base)
+                .activeProfiles(Arrays.asList("prod", "qa")).build();
+        assertEquals("Incorrect profile value", "prod", config.getString("profile.b"));
+        assertEquals("Incorrect base value", "base", config.getString("profile.a"));
+        assertEquals("Incorrect base list", Arrays.asList("ONE", "TWO"), config.getList(String.class, "profile.list"));
+    }
+
+    @Test
+    public void testProfilesProperty() throws ConfigurationException, IOException {
+        System.setProperty(SettingsCore.ACTIVE_PROFILES, "prod");
+        NarfConfig config = CustomNarfConfig.builder().settingsPath(base).build();
+        assertEquals("Incorrect profile value", "prod", config.getString("profile.c"));
+    }
+
+    @Test
+    public void testReloadProfile() throws ConfigurationException, IOException {
+        NarfConfig config = CustomNarfConfig.builder().settingsPath(base)
+                .activeProfiles(Collections.singletonList("prod")).build();
+        write("settings-prod.properties", NarfSettings.STRING_STORED.key() + "=RELOADED\n");
+        assertEquals("Incorrect changed settings", Collections.singleton(NarfSettings.STRING_STORED), config.reload());
+        assertEquals("Incorrect reloaded value", "RELOADED", config.getString(NarfSettings.STRING_STORED));
+        assertEquals("Incorrect base value", "base", config.getString("profile.b"));
+    }
+
+    private static void verifyLayered(NarfConfig config) {
+        assertEquals("Incorrect base value", "base", config.getString("profile.a"));
+        assertEquals("Incorrect overridden value", "prod", config.getString("profile.b"));
+        assertEquals("Incorrect specific value", "west", config.getString("profile.c"));
+        assertEquals("List should be replaced as a whole", Collections.singletonList("WEST"),
+                config.getList(String.class, "profile.list"));
+        assertTrue("Stored properties should be flattened", contains(config, "profile.a", "profile.c"));
+    }
+
+    private static boolean contains(NarfConfig config, String... keys) {
+        for (int i = 0; i < config.getNumberOfConfigurations(); i++) {
+            if (config.getConfiguration(i).containsKey(keys[0])) {
+                for (String key : keys) {
+                    if ( ! config.getConfiguration(i).containsKey(key)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path file = tempFolder.getRoot().toPath().resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
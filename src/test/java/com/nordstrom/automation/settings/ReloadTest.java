@@ -0,0 +1,102 @@
+package com.nordstrom.automation.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
+
+public class ReloadTest {
+
+    private static final String STRING_ONE = "ONE";
+    private static final String STRING_TWO = "TWO";
+    private static final String STRING_THREE = "THREE";
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testReload() throws ConfigurationException, IOException {
+        Path file = writeSettings(tempFolder.newFile().toPath(), STRING_ONE, "1");
+        NarfConfig config = CustomNarfConfig.builder().settingsPath(file).build();
+        assertEquals("Incorrect initial value", STRING_ONE, config.getString(NarfSettings.STRING_STORED));
+
+        writeSettings(file, STRING_TWO, "1");
+        Set<NarfSettings> changed = config.reload();
+
+        assertEquals("Incorrect changed settings", EnumSet.of(NarfSettings.STRING_STORED), changed);
+        assertEquals("Incorrect reloaded value", STRING_TWO, config.getString(NarfSettings.STRING_STORED));
+        assertEquals("Incorrect reloaded string value", STRING_TWO, config.getString(NarfSettings.STRING_STORED.key()));
+        assertEquals("Incorrect unchanged value", 1, config.getInt(NarfSettings.INTEGER_STORED));
+    }
+
+    @Test
+    public void testWatchedReload() throws ConfigurationException, IOException, InterruptedException {
+        Path file = writeSettings(tempFolder.newFile().toPath(), STRING_ONE, "1");
+        NarfConfig config = CustomNarfConfig.builder().settingsPath(file).build();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Set<NarfSettings>> changed = new AtomicReference<>();
+        config.addSettingsListener((source, settings) -> {
+            changed.set(settings);
+            latch.countDown();
+        });
+
+        config.enableReload(100, TimeUnit.MILLISECONDS);
+        try {
+            writeSettings(file, STRING_THREE, "2");
+            assertTrue("Reload not detected", latch.await(30, TimeUnit.SECONDS));
+        } finally {
+            config.disableReload();
+        }
+
+        assertEquals("Incorrect changed settings",
+                EnumSet.of(NarfSettings.STRING_STORED, NarfSettings.INTEGER_STORED), changed.get());
+        assertEquals("Incorrect reloaded value", STRING_THREE, config.getString(NarfSettings.STRING_STORED));
+        assertEquals("Incorrect reloaded integer", 2, config.getInt(NarfSettings.INTEGER_STORED));
+    }
+
+    @Test
+    public void testUnrelatedEvents() throws ConfigurationException, IOException, InterruptedException {
+        Path file = writeSettings(tempFolder.newFile().toPath(), STRING_ONE, "1");
+        Path unrelated = tempFolder.newFile().toPath();
+        NarfConfig config = CustomNarfConfig.builder().settingsPath(file).build();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        config.addSettingsListener((source, settings) -> latch.countDown());
+
+        config.enableReload(500, TimeUnit.MILLISECONDS);
+        try {
+            writeSettings(file, STRING_TWO, "1");
+            // write an unrelated file more often than the debounce period
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while ( ! latch.await(50, TimeUnit.MILLISECONDS) && (System.nanoTime() - deadline < 0)) {
+                Files.write(unrelated, String.valueOf(System.nanoTime()).getBytes(StandardCharsets.UTF_8));
+            }
+            assertEquals("Unrelated events should not postpone reload", 0, latch.getCount());
+        } finally {
+            config.disableReload();
+        }
+        assertEquals("Incorrect reloaded value", STRING_TWO, config.getString(NarfSettings.STRING_STORED));
+    }
+
+    private static Path writeSettings(Path file, String stringValue, String intValue) throws IOException {
+        String settings = NarfSettings.STRING_STORED.key() + "=" + stringValue + "\n"
+                + NarfSettings.INTEGER_STORED.key() + "=" + intValue + "\n";
+        return Files.write(file, settings.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,64 +1,187 @@
-package com.nordstrom.automation.settings;
-
-import static org.junit.Assert.assertArrayEquals;
-import static org.junit.Assert.assertEquals;
-
-import java.io.IOException;
-
-import org.apache.commons.configuration2.ex.ConfigurationException;
-import org.junit.Test;
-
-import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
-import com.nordstrom.automation.settings.SetsConfig.SetsSettings;
-
-public class SettingsCoreTest {
-    
-    private static final String STRING_SYSTEM = "SYSTEM";
-    private static final String STRING_STORED = "STORED";
-    private static final String STRING_DEFAULT = "DEFAULT";
-    private static final int INTEGER_SYSTEM = 1;
-    private static final int INTEGER_STORED = 2;
-    private static final int INTEGER_DEFAULT = 3;
-    private static final String[] STRING_ARRAY = {"ONE", "TWO", "THREE"};
-    
-    private static final String SET1 = "set1.properties";
-    private static final String SET2 = "set2.properties";
-    private static final String FIRST_ONE = "first one";
-    private static final String FIRST_TWO = "first two";
-    
-    @Test
-    public void testBasics() throws ConfigurationException, IOException {
-        System.setProperty(NarfSettings.STRING_SYSTEM.key(), STRING_SYSTEM);
-        System.setProperty(NarfSettings.INTEGER_SYSTEM.key(), Integer.toString(INTEGER_SYSTEM));
-        
-        NarfConfig config = new NarfConfig();
-        
-        assertEquals("Incorrect system string value", STRING_SYSTEM, config.getString(NarfSettings.STRING_SYSTEM.key()));
-        assertEquals("Incorrect stored string value", STRING_STORED, config.getString(NarfSettings.STRING_STORED.key()));
-        assertEquals("Incorrect default string value", STRING_DEFAULT, config.getString(NarfSettings.STRING_DEFAULT.key()));
-        assertEquals("Incorrect system integer value", INTEGER_SYSTEM, config.getInt(NarfSettings.INTEGER_SYSTEM.key()));
-        assertEquals("Incorrect stored integer value", INTEGER_STORED, config.getInt(NarfSettings.INTEGER_STORED.key()));
-        assertEquals("Incorrect default integer value", INTEGER_DEFAULT, config.getInt(NarfSettings.INTEGER_DEFAULT.key()));
-        assertArrayEquals("Incorrect string array value", STRING_ARRAY, config.getStringArray(NarfSettings.MULTIPLE_ENTRY.key()));
-    }
-    
-    @Test
-    public void testSet1() throws ConfigurationException, IOException {
-        System.setProperty(SetsSettings.INCLUDE_NAME.key(), SET1);
-        
-        SetsConfig config = new SetsConfig();
-        
-        assertEquals("Incorrect 'include' name", SET1, config.getString(SetsSettings.INCLUDE_NAME.key()));
-        assertEquals("Incorrect included value", FIRST_ONE, config.getString(SetsSettings.FIRST_KEY.key()));
-    }
-    
-    @Test
-    public void testSet2() throws ConfigurationException, IOException {
-        System.setProperty(SetsSettings.INCLUDE_NAME.key(), SET2);
-        
-        SetsConfig config = new SetsConfig();
-        
-        assertEquals("Incorrect 'include' name", SET2, config.getString(SetsSettings.INCLUDE_NAME.key()));
-        assertEquals("Incorrect included value", FIRST_TWO, config.getString(SetsSettings.FIRST_KEY.key()));
-    }
-}
+package com.nordstrom.automation.settings;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+import org.apache.commons.configuration2.convert.PropertyConverter;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.commons.configuration2.ex.ConversionException;
+import org.junit.Test;
+
+import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
+import com.nordstrom.automation.settings.SetsConfig.SetsSettings;
+
+public class SettingsCoreTest {
+    
+    private static final String STRING_SYSTEM = "SYSTEM";
+    private static final String STRING_STORED = "STORED";
+    private static final String STRING_DEFAULT = "DEFAULT";
+    private static final int INTEGER_SYSTEM = 1;
+    private static final int INTEGER_STORED = 2;
+    private static final int INTEGER_DEFAULT = 3;
+    private static final String[] STRING_ARRAY = {"ONE", "TWO", "THREE"};
+    
+    private static final String SET1 = "set1.properties";
+    private static final String SET2 = "set2.properties";
+    private static final String FIRST_ONE = "first one";
+    private static final String FIRST_TWO = "first two";
+    
+    @Test
+    public void testBasics() throws ConfigurationException, IOException {
+        System.setProperty(NarfSettings.STRING_SYSTEM.key(), STRING_SYSTEM);
+        System.setProperty(NarfSettings.INTEGER_SYSTEM.key(), Integer.toString(INTEGER_SYSTEM));
+        
+        NarfConfig config = new NarfConfig();
+        
+        assertEquals("Incorrect system string value", STRING_SYSTEM, config.getString(NarfSettings.STRING_SYSTEM.key()));
+        assertEquals("Incorrect stored string value", STRING_STORED, config.getString(NarfSettings.STRING_STORED.key()));
+        assertEquals("Incorrect default string value", STRING_DEFAULT, config.getString(NarfSettings.STRING_DEFAULT.key()));
+        assertEquals("Incorrect system integer value", INTEGER_SYSTEM, config.getInt(NarfSettings.INTEGER_SYSTEM.key()));
+        assertEquals("Incorrect stored integer value", INTEGER_STORED, config.getInt(NarfSettings.INTEGER_STORED.key()));
+        assertEquals("Incorrect default integer value", INTEGER_DEFAULT, config.getInt(NarfSettings.INTEGER_DEFAULT.key()));
+        assertArrayEquals("Incorrect string array value", STRING_ARRAY, config.getStringArray(NarfSettings.MULTIPLE_ENTRY.key()));
+    }
+    
+    @Test
+    public void testSet1() throws ConfigurationException, IOException {
+        System.setProperty(SetsSettings.INCLUDE_NAME.key(), SET1);
+        
+        SetsConfig config = new SetsConfig();
+        
+        assertEquals("Incorrect 'include' name", SET1, config.getString(SetsSettings.INCLUDE_NAME.key()));
+        assertEquals("Incorrect included value", FIRST_ONE, config.getString(SetsSettings.FIRST_KEY.key()));
+    }
+    
+    @Test
+    public void testSet2() throws ConfigurationException, IOException {
+        System.setProperty(SetsSettings.INCLUDE_NAME.key(), SET2);
+        
+        SetsConfig config = new SetsConfig();
+        
+        assertEquals("Incorrect 'include' name", SET2, config.getString(SetsSettings.INCLUDE_NAME.key()));
+        assertEquals("Incorrect included value", FIRST_TWO, config.getString(SetsSettings.FIRST_KEY.key()));
+    }
+    
+    @Test
+    public void testSnapshot() throws ConfigurationException, IOException {
+        NarfConfig config = new NarfConfig();
+        
+        assertEquals("Incorrect stored string value", STRING_STORED, config.getString(NarfSettings.STRING_STORED));
+        assertEquals("Incorrect default string value", STRING_DEFAULT, config.getString(NarfSettings.STRING_DEFAULT));
+        assertNull("Unexpected unspecified value", config.getString(NarfSettings.NONE_SPECIFIED));
+        
+        SettingsSnapshot<NarfSettings> snapshot = config.getSnapshot();
+        assertSame("Snapshot should be reused", snapshot, config.getSnapshot());
+        
+        try {
+            System.setProperty(NarfSettings.NONE_SPECIFIED.key(), STRING_SYSTEM);
+            assertNull("Snapshot should not reflect new value", config.getString(NarfSettings.NONE_SPECIFIED));
+            config.refresh();
+            assertEquals("Refreshed snapshot should reflect new value", STRING_SYSTEM, config.getString(NarfSettings.NONE_SPECIFIED));
+            assertNull("Retained snapshot should be unchanged", snapshot.getString(NarfSettings.NONE_SPECIFIED));
+        } finally {
+            System.clearProperty(NarfSettings.NONE_SPECIFIED.key());
+        }
+    }
+    
+    @Test
+    public void testTypedAccessors() throws ConfigurationException, IOException {
+        NarfConfig config = new NarfConfig();
+        
+        assertEquals("Incorrect stored integer value", INTEGER_STORED, config.getInt(NarfSettings.INTEGER_STORED));
+        assertEquals("Incorrect default integer value", INTEGER_DEFAULT, config.getInt(NarfSettings.INTEGER_DEFAULT));
+        assertEquals("Incorrect stored long value", INTEGER_STORED, config.getLong(NarfSettings.INTEGER_STORED));
+        assertTrue("Incorrect default boolean value", config.getBoolean(NarfSettings.BOOLEAN_DEFAULT));
+        assertEquals("Incorrect default duration value", Duration.ofSeconds(30), config.getDuration(NarfSettings.DURATION_DEFAULT));
+        assertEquals("Incorrect string list value", Arrays.asList(STRING_ARRAY), config.getList(NarfSettings.MULTIPLE_ENTRY));
+        assertTrue("Unspecified list should be empty", config.getList(NarfSettings.NONE_SPECIFIED).isEmpty());
+    }
+    
+    @Test
+    public void testTypedConversions() throws ConfigurationException, IOException {
+        NarfConfig config = new NarfConfig();
+        NarfSettings setting = NarfSettings.STRING_STORED;
+        String[] values = {"42", "-7", "+3", "0x1F", "0b101", "1.5", "9999999999", "true", "YES", "on", "n", "1", "0",
+                "PT30S", "-PT1M", "p1d", "hello", "Tuesday", "nope", "Pending", " 5"};
+        try (SettingsScope scope = SettingsScope.open()) {
+            for (String value : values) {
+                scope.set(setting, value);
+                assertEquals("Incorrect int conversion of " + value, convert(() -> PropertyConverter.toInteger(value)),
+                        convert(() -> config.getInt(setting)));
+                assertEquals("Incorrect long conversion of " + value, convert(() -> PropertyConverter.toLong(value)),
+                        convert(() -> config.getLong(setting)));
+                assertEquals("Incorrect boolean conversion of " + value,
+                        convert(() -> PropertyConverter.toBoolean(value)), convert(() -> config.getBoolean(setting)));
+                assertEquals("Incorrect duration conversion of " + value,
+                        convert(() -> PropertyConverter.toDuration(value)), convert(() -> config.getDuration(setting)));
+            }
+        }
+    }
+    
+    @Test
+    public void testTypedModification() throws ConfigurationException, IOException {
+        NarfConfig config = new NarfConfig();
+        assertEquals("Incorrect initial value", STRING_STORED, config.getString(NarfSettings.STRING_STORED));
+        
+        config.setProperty(NarfSettings.STRING_STORED.key(), "CHANGED");
+        assertEquals("Modified value should be reflected", "CHANGED", config.getString(NarfSettings.STRING_STORED));
+        config.clearProperty(NarfSettings.STRING_DEFAULT.key());
+        assertNull("Cleared value should be reflected", config.getString(NarfSettings.STRING_DEFAULT));
+        config.clear();
+        assertNull("Cleared configuration should be reflected", config.getString(NarfSettings.STRING_STORED));
+    }
+    
+    @Test(expected = ConversionException.class)
+    public void testTypedConversionFailure() throws ConfigurationException, IOException {
+        new NarfConfig().getInt(NarfSettings.STRING_STORED);
+    }
+    
+    @Test(expected = NoSuchElementException.class)
+    public void testTypedMissingValue() throws ConfigurationException, IOException {
+        new NarfConfig().getInt(NarfSettings.NONE_SPECIFIED);
+    }
+    
+    @Test
+    public void testSharedDefaults() throws ConfigurationException, IOException {
+        NarfConfig config1 = new NarfConfig();
+        NarfConfig config2 = new NarfConfig();
+        
+        assertSame("Default values should be shared", SettingsDefaults.of(NarfSettings.class), SettingsDefaults.of(NarfSettings.class));
+        config1.clearProperty(NarfSettings.STRING_DEFAULT.key());
+        assertNull("Cleared default value should be removed", config1.getString(NarfSettings.STRING_DEFAULT.key()));
+        assertEquals("Shared default value should be unchanged", STRING_DEFAULT, config2.getString(NarfSettings.STRING_DEFAULT.key()));
+    }
+    
+    @Test
+    public void testCustomDefaults() throws ConfigurationException, IOException {
+        NarfConfig config = new NarfConfig() {
+            @Override
+            protected Map<String, String> getDefaults() {
+                Map<String, String> defaults = super.getDefaults();
+                defaults.put(NarfSettings.NONE_SPECIFIED.key(), "CUSTOM");
+                return defaults;
+            }
+        };
+        
+        assertEquals("Incorrect custom default value", "CUSTOM", config.getString(NarfSettings.NONE_SPECIFIED));
+        assertEquals("Incorrect default string value", STRING_DEFAULT, config.getString(NarfSettings.STRING_DEFAULT));
+    }
+    
+    private static Object convert(Supplier<Object> conversion) {
+        try {
+            return conversion.get();
+        } catch (ConversionException e) {
+            return ConversionException.class;
+        }
+    }
+}
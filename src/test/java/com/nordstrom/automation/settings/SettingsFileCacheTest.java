@@ -0,0 +1,138 @@
+package com.nordstrom.automation.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
+import com.nordstrom.automation.settings.SetsConfig.SetsSettings;
+
+public class SettingsFileCacheTest {
+
+    private static final long ONE_MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(SetsSettings.INCLUDE_NAME.key());
+    }
+
+    @Test
+    public void testSharedLayer() throws ConfigurationException, IOException {
+        SettingsFileCache cache = new SettingsFileCache(4);
+        URL url = writeSettings(tempFolder.newFile().toPath(), "ONE", -ONE_MINUTE);
+
+        assertSame("Layer should be reused", cache.load(url), cache.load(url));
+        assertEquals("Incorrect hit count", 1, cache.getHitCount());
+        assertEquals("Incorrect miss count", 1, cache.getMissCount());
+    }
+
+    @Test
+    public void testModifiedFile() throws ConfigurationException, IOException {
+        SettingsFileCache cache = new SettingsFileCache(4);
+        Path file = tempFolder.newFile().toPath();
+        URL url = writeSettings(file, "ONE", -2 * ONE_MINUTE);
+        assertEquals("Incorrect initial value", "ONE", cache.load(url).getString(NarfSettings.STRING_STORED.key()));
+
+        // same size, different time stamp
+        writeSettings(file, "TWO", -ONE_MINUTE);
+        assertEquals("Incorrect updated value", "TWO", cache.load(url).getString(NarfSettings.STRING_STORED.key()));
+        assertEquals("Incorrect miss count", 2, cache.getMissCount());
+    }
+
+    @Test
+    public void testRecentlyModifiedFile() throws ConfigurationException, IOException {
+        SettingsFileCache cache = new SettingsFileCache(4);
+        URL url = writeSettings(tempFolder.newFile().toPath(), "ONE", 0);
+
+        cache.load(url);
+        cache.load(url);
+        assertEquals("Recently modified file should not be cached", 0, cache.getHitCount());
+        assertEquals("Incorrect cache size", 0, cache.size());
+    }
+
+    @Test
+    public void testEviction() throws ConfigurationException, IOException {
+        SettingsFileCache cache = new SettingsFileCache(2);
+        URL first = writeSettings(tempFolder.newFile().toPath(), "ONE", -ONE_MINUTE);
+        URL second = writeSettings(tempFolder.newFile().toPath(), "TWO", -ONE_MINUTE);
+        URL third = writeSettings(tempFolder.newFile().toPath(), "THREE", -ONE_MINUTE);
+
+        cache.load(first);
+        cache.load(second);
+        cache.load(first);
+        cache.load(third);
+
+        assertEquals("Incorrect eviction count", 1, cache.getEvictionCount());
+        cache.load(first);
+        assertEquals("Most recently used layer should be retained", 2, cache.getHitCount());
+        cache.load(second);
+        assertEquals("Least recently used layer should be evicted", 4, cache.getMissCount());
+    }
+
+    @Test
+    public void testIncludeDirective() throws ConfigurationException, IOException {
+        Path base = tempFolder.newFile("cached.properties").toPath();
+        write(tempFolder.newFile("cached1.properties").toPath(), "first.key=first one\n", -ONE_MINUTE);
+        write(tempFolder.newFile("cached2.properties").toPath(), "first.key=uno\n", -ONE_MINUTE);
+        URL url = write(base, "include=${sys:" + SetsSettings.INCLUDE_NAME.key() + "}\n", -ONE_MINUTE);
+        SettingsFileCache cache = new SettingsFileCache(4);
+
+        System.setProperty(SetsSettings.INCLUDE_NAME.key(), "cached1.properties");
+        assertEquals("Incorrect included value", "first one", cache.load(url).getString(SetsSettings.FIRST_KEY.key()));
+        assertEquals("Incorrect included value", "first one", cache.load(url).getString(SetsSettings.FIRST_KEY.key()));
+
+        System.setProperty(SetsSettings.INCLUDE_NAME.key(), "cached2.properties");
+        assertEquals("Changed include should be re-parsed", "uno", cache.load(url).getString(SetsSettings.FIRST_KEY.key()));
+        assertEquals("Incorrect hit count", 1, cache.getHitCount());
+    }
+
+    @Test
+    public void testLatin1Encoding() throws ConfigurationException, IOException {
+        Path file = tempFolder.newFile().toPath();
+        Files.write(file, "enc.key=caf\u00e9\n".getBytes(StandardCharsets.ISO_8859_1));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - ONE_MINUTE));
+        URL url = file.toUri().toURL();
+        SettingsFileCache cache = new SettingsFileCache(4);
+
+        assertEquals("Incorrect decoded value", "caf\u00e9", cache.load(url).getString("enc.key"));
+        assertEquals("Incorrect streamed value", "caf\u00e9",
+                new SettingsFileCache(4).loadLayer(url, true).getConfig().getString("enc.key"));
+    }
+
+    @Test
+    public void testCopyOnWrite() throws ConfigurationException, IOException {
+        URL url = writeSettings(tempFolder.newFile().toPath(), "ONE", -ONE_MINUTE);
+        NarfConfig first = CustomNarfConfig.builder().settingsUrl(url).build();
+        NarfConfig second = CustomNarfConfig.builder().settingsUrl(url).build();
+
+        first.setProperty(NarfSettings.STRING_STORED.key(), "CHANGED");
+        assertEquals("Incorrect modified value", "CHANGED", first.getString(NarfSettings.STRING_STORED.key()));
+        assertEquals("Shared layer should be unchanged", "ONE", second.getString(NarfSettings.STRING_STORED.key()));
+        assertEquals("Cached layer should be unchanged", "ONE",
+                SettingsFileCache.getInstance().load(url).getString(NarfSettings.STRING_STORED.key()));
+    }
+
+    private static URL writeSettings(Path file, String value, long age) throws IOException {
+        return write(file, NarfSettings.STRING_STORED.key() + "=" + value + "\n", age);
+    }
+
+    private static URL write(Path file, String content, long age) throws IOException {
+        return SettingsTestUtils.write(file, content, age).toUri().toURL();
+    }
+}
@@ -0,0 +1,146 @@
+package com.nordstrom.automation.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SettingsInjectorTest {
+
+    private static final String[] KEYS = { "inject.a", "inject.b", "inject.c", "inject.d", "inject.list" };
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @After
+    public void clearProperties() {
+        for (String key : KEYS) {
+            System.clearProperty(key);
+        }
+        System.clearProperty(SettingsCore.PROPS_FILE);
+        SettingsInjector.getInstance().clear();
+    }
+
+    @Test
+    public void testPrecedence() throws IOException {
+        String first = write("first.properties", "inject.a=first\ninject.b=first\n");
+        String second = write("second.properties", "inject.b=second\ninject.c=second\n");
+        System.setProperty("inject.c", "system");
+
+        SettingsInjector.Report report = SettingsCore.injectPropertiesWithReport(Arrays.asList(first, second));
+        assertEquals("Incorrect injected files", Arrays.asList(first, second), report.getInjectedFiles());
+        assertEquals("Incorrect injected keys", 2, report.getInjectedKeys().size());
+        assertEquals("Incorrect skipped keys", Collections.singleton("inject.c"), report.getSkippedKeys());
+        assertEquals("First file should take precedence", "first", System.getProperty("inject.b"));
+        assertEquals("System property should take precedence", "system", System.getProperty("inject.c"));
+    }
+
+    @Test
+    public void testRepeatedInjection() throws IOException {
+        String file = write("repeat.properties", "inject.a=one\n");
+        SettingsCore.injectProperties(file);
+        System.clearProperty("inject.a");
+
+        SettingsInjector.Report report = SettingsCore.injectPropertiesWithReport(file);
+        assertEquals("Incorrect repeated files", Collections.singletonList(file), report.getRepeatedFiles());
+        assertTrue("Repeated file should not be injected", report.getInjectedKeys().isEmpty());
+        assertEquals("Repeated file should not be parsed", null, System.getProperty("inject.a"));
+
+        SettingsInjector.getInstance().clear();
+        assertEquals("Cleared file should be injected", Collections.singleton("inject.a"),
+                SettingsCore.injectPropertiesWithReport(file).getInjectedKeys());
+    }
+
+    @Test
+    public void testConcurrentInjection() throws Exception {
+        int keyCount = 20000;
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < keyCount; i++) {
+            content.append("inject.bulk.").append(i).append("=").append(i).append("\n");
+        }
+        String file = write("bulk.properties", content.toString());
+        String lastKey = "inject.bulk." + (keyCount - 1);
+
+        int threadCount = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CyclicBarrier barrier = new CyclicBarrier(threadCount);
+        try {
+            List<Future<String>> values = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                values.add(executor.submit(() -> {
+                    barrier.await();
+                    SettingsCore.injectProperties(file);
+                    return System.getProperty(lastKey);
+                }));
+            }
+            for (Future<String> value : values) {
+                assertEquals("Properties should be injected before returning", String.valueOf(keyCount - 1),
+                        value.get());
+            }
+        } finally {
+            executor.shutdown();
+            for (int i = 0; i < keyCount; i++) {
+                System.clearProperty("inject.bulk." + i);
+            }
+        }
+    }
+
+    @Test
+    public void testPropsFileList() throws IOException {
+        String first = write("list1.properties", "inject.a=one\n");
+        String second = write("list2.properties", "inject.d=two\n");
+        System.setProperty(SettingsCore.PROPS_FILE, first + " , " + second);
+
+        SettingsInjector.Report report = SettingsCore.injectPropertiesWithReport("ignored.properties");
+        assertEquals("Incorrect injected files", Arrays.asList(first, second), report.getInjectedFiles());
+        assertEquals("Incorrect first value", "one", System.getProperty("inject.a"));
+        assertEquals("Incorrect second value", "two", System.getProperty("inject.d"));
+    }
+
+    @Test
+    public void testValues() throws IOException {
+        String file = write("values.properties", "inject.a=one\ninject.b=${inject.a}-two\ninject.list=ONE\ninject.list=TWO\n");
+        SettingsCore.injectProperties(file);
+        assertEquals("Incorrect interpolated value", "one-two", System.getProperty("inject.b"));
+        assertEquals("Incorrect multi-valued value", "ONE", System.getProperty("inject.list"));
+    }
+
+    @Test
+    public void testLatin1Encoding() throws IOException {
+        Path file = tempFolder.newFile("latin1.properties").toPath();
+        Files.write(file, "inject.a=caf\u00e9\n".getBytes(StandardCharsets.ISO_8859_1));
+        SettingsCore.injectProperties(file.toString());
+        assertEquals("Incorrect decoded value", "caf\u00e9", System.getProperty("inject.a"));
+    }
+
+    @Test
+    public void testMissingFile() {
+        String missing = tempFolder.getRoot().toPath().resolve("missing.properties").toString();
+        SettingsInjector.Report report = SettingsCore.injectPropertiesWithReport(missing);
+        assertEquals("Incorrect failed files", Collections.singletonList(missing), report.getFailedFiles());
+        assertEquals("Missing file should not be remembered", Collections.singletonList(missing),
+                SettingsCore.injectPropertiesWithReport(missing).getFailedFiles());
+    }
+
+    private String write(String name, String content) throws IOException {
+        Path file = tempFolder.newFile(name).toPath();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file.toString();
+    }
+}
@@ -0,0 +1,107 @@
+package com.nordstrom.automation.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.After;
+import org.junit.Test;
+
+import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
+import com.nordstrom.automation.settings.SetsConfig.SetsSettings;
+
+public class SettingsRegistryTest {
+
+    private static final int THREADS = 8;
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(SetsSettings.INCLUDE_NAME.key());
+    }
+
+    @Test
+    public void testSingleInitialization() throws Exception {
+        SettingsRegistry registry = new SettingsRegistry();
+        AtomicInteger builds = new AtomicInteger();
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<NarfConfig>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    return registry.get("narf", () -> {
+                        builds.incrementAndGet();
+                        return new NarfConfig();
+                    });
+                }));
+            }
+            NarfConfig first = futures.get(0).get();
+            for (Future<NarfConfig> future : futures) {
+                assertSame("All threads should receive the same instance", first, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals("Instance should be built once", 1, builds.get());
+    }
+
+    @Test
+    public void testPreloadAll() throws ConfigurationException, IOException {
+        SettingsRegistry registry = new SettingsRegistry();
+        System.setProperty(SetsSettings.INCLUDE_NAME.key(), "set1.properties");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            registry.preloadAll(executor, NarfConfig.class, SetsConfig.class).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue("NarfConfig should be registered", registry.contains(NarfConfig.class));
+        assertTrue("SetsConfig should be registered", registry.contains(SetsConfig.class));
+        assertEquals("Incorrect stored value", "STORED", registry.get(NarfConfig.class).getString(NarfSettings.STRING_STORED));
+        assertSame("Preloaded instance should be returned", registry.get(SetsConfig.class), registry.get(SetsConfig.class));
+    }
+
+    @Test
+    public void testRecursiveInitialization() throws ConfigurationException, IOException {
+        SettingsRegistry registry = new SettingsRegistry();
+        try {
+            registry.get("recursive", () -> registry.get("recursive", NarfConfig::new));
+            fail("Expected recursive request to fail");
+        } catch (IllegalStateException e) {
+            assertTrue("Unexpected message: " + e.getMessage(), e.getMessage().contains("recursive"));
+        }
+        assertFalse("Failed instance should be removed", registry.contains("recursive"));
+    }
+
+    @Test
+    public void testFailedInitialization() throws ConfigurationException, IOException {
+        SettingsRegistry registry = new SettingsRegistry();
+        CompletableFuture<Void> future = registry.preloadAll(Runnable::run, SetsConfig.class);
+        try {
+            future.join();
+            fail("Expected unresolved include to fail");
+        } catch (CompletionException e) {
+            assertTrue("Unexpected cause: " + e.getCause(), e.getCause() instanceof ConfigurationException);
+        }
+        assertFalse("Failed instance should be removed", registry.contains(SetsConfig.class));
+
+        System.setProperty(SetsSettings.INCLUDE_NAME.key(), "set2.properties");
+        assertEquals("Retry should succeed", "first two", registry.get(SetsConfig.class).getString(SetsSettings.FIRST_KEY));
+    }
+}
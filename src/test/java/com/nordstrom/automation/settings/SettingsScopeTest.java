@@ -0,0 +1,134 @@
+package com.nordstrom.automation.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.Test;
+
+import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
+
+public class SettingsScopeTest {
+
+    private static final String STRING_STORED = "STORED";
+    private static final String STRING_SCOPED = "SCOPED";
+
+    @Test
+    public void testScopedOverride() throws ConfigurationException, IOException {
+        NarfConfig config = new NarfConfig();
+        try (SettingsScope scope = SettingsScope.open()) {
+            scope.set(NarfSettings.STRING_STORED, STRING_SCOPED).set(NarfSettings.INTEGER_STORED, "7");
+            assertEquals("Incorrect scoped value", STRING_SCOPED, config.getString(NarfSettings.STRING_STORED.key()));
+            assertEquals("Incorrect scoped snapshot value", STRING_SCOPED, config.getString(NarfSettings.STRING_STORED));
+            assertEquals("Incorrect scoped integer", 7, config.getInt(NarfSettings.INTEGER_STORED));
+
+            // the shared snapshot must not capture scoped overrides
+            config.refresh();
+        }
+        assertEquals("Override should be removed", STRING_STORED, config.getString(NarfSettings.STRING_STORED.key()));
+        assertEquals("Override should be removed", STRING_STORED, config.getString(NarfSettings.STRING_STORED));
+        assertNull("Scope should be unbound", SettingsScope.current());
+    }
+
+    @Test
+    public void testNestedScopes() throws ConfigurationException, IOException {
+        NarfConfig config = new NarfConfig();
+        try (SettingsScope outer = SettingsScope.open()) {
+            outer.set(NarfSettings.STRING_STORED, "OUTER").set(NarfSettings.STRING_DEFAULT, "OUTER");
+            try (SettingsScope inner = SettingsScope.open()) {
+                inner.set(NarfSettings.STRING_STORED, "INNER");
+                assertEquals("Inner override should shadow outer", "INNER", config.getString(NarfSettings.STRING_STORED));
+                assertEquals("Outer override should be inherited", "OUTER", config.getString(NarfSettings.STRING_DEFAULT));
+            }
+            assertEquals("Outer override should be restored", "OUTER", config.getString(NarfSettings.STRING_STORED));
+        }
+    }
+
+    @Test
+    public void testUnrelatedModifications() throws Exception {
+        NarfConfig config = new NarfConfig();
+        try (SettingsScope scope = SettingsScope.open()) {
+            scope.set(NarfSettings.STRING_STORED, STRING_SCOPED);
+            SettingsSnapshot<NarfSettings> snapshot = config.getSnapshot();
+            assertSame("Merged keys should be cached", scope.keySet(), scope.keySet());
+
+            Thread thread = new Thread(() -> {
+                SettingsScope.unbind();
+                try (SettingsScope other = SettingsScope.open()) {
+                    other.set(NarfSettings.STRING_STORED, "OTHER");
+                }
+            });
+            thread.start();
+            thread.join();
+            assertSame("Unrelated scope should not invalidate snapshot", snapshot, config.getSnapshot());
+
+            scope.set(NarfSettings.INTEGER_STORED, "7");
+            assertNotSame("Modified scope should invalidate snapshot", snapshot, config.getSnapshot());
+            assertEquals("Incorrect scoped integer", 7, config.getInt(NarfSettings.INTEGER_STORED));
+        }
+    }
+
+    @Test
+    public void testParallelScopes() throws Exception {
+        NarfConfig config = new NarfConfig();
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(scopedRead(config, "FIRST", barrier));
+            Future<String> second = executor.submit(scopedRead(config, "SECOND", barrier));
+            assertEquals("Incorrect first value", "FIRST", first.get());
+            assertEquals("Incorrect second value", "SECOND", second.get());
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals("Shared value should be unchanged", STRING_STORED, config.getString(NarfSettings.STRING_STORED));
+    }
+
+    @Test
+    public void testInheritedScope() throws Exception {
+        NarfConfig config = new NarfConfig();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // start the pooled thread outside the scope
+            executor.submit(() -> { }).get();
+            try (SettingsScope scope = SettingsScope.open()) {
+                scope.set(NarfSettings.STRING_STORED, STRING_SCOPED);
+
+                AtomicReference<String> childValue = new AtomicReference<>();
+                Thread child = new Thread(() -> childValue.set(config.getString(NarfSettings.STRING_STORED)));
+                child.start();
+                child.join();
+                assertEquals("Child thread should inherit scope", STRING_SCOPED, childValue.get());
+
+                Callable<String> task = () -> config.getString(NarfSettings.STRING_STORED);
+                assertEquals("Pooled thread should not inherit scope", STRING_STORED, executor.submit(task).get());
+                assertEquals("Wrapped task should be bound to scope", STRING_SCOPED, executor.submit(scope.wrap(task)).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Callable<String> scopedRead(NarfConfig config, String value, CyclicBarrier barrier) {
+        return () -> {
+            try (SettingsScope scope = SettingsScope.open()) {
+                scope.set(NarfSettings.STRING_STORED, value);
+                // ensure both scopes are open at the same time
+                barrier.await();
+                String result = config.getString(NarfSettings.STRING_STORED);
+                barrier.await();
+                return result;
+            }
+        };
+    }
+}
@@ -0,0 +1,157 @@
+package com.nordstrom.automation.settings;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
+
+public class SettingsStatisticsTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(NarfSettings.STRING_SYSTEM.key());
+    }
+
+    @Test
+    public void testReadCounts() throws ConfigurationException, IOException {
+        SettingsStatistics<NarfSettings> statistics = new SettingsStatistics<>(NarfSettings.class);
+        NarfConfig config = CustomNarfConfig.builder().metrics(statistics).build();
+        config.getString(NarfSettings.STRING_STORED);
+        config.getString(NarfSettings.STRING_STORED);
+        config.getInt(NarfSettings.INTEGER_DEFAULT);
+
+        assertEquals("Incorrect read count", 2, statistics.getReadCount(NarfSettings.STRING_STORED));
+        assertEquals("Incorrect read count", 1, statistics.getReadCount(NarfSettings.INTEGER_DEFAULT));
+        assertEquals("Incorrect read count map entry", Long.valueOf(2),
+                statistics.getReadCounts().get(NarfSettings.STRING_STORED.key()));
+        assertEquals("Incorrect unread setting count", NarfSettings.values().length - 2,
+                statistics.getUnreadSettings().length);
+        assertFalse("Read setting reported as unread",
+                Arrays.asList(statistics.getUnreadSettings()).contains(NarfSettings.STRING_STORED.key()));
+    }
+
+    @Test
+    public void testKeyedReadCounts() throws ConfigurationException, IOException {
+        SettingsStatistics<NarfSettings> statistics = new SettingsStatistics<>(NarfSettings.class);
+        NarfConfig config = CustomNarfConfig.builder().metrics(statistics).build();
+        config.refresh();
+        assertEquals("Internal lookups should not be counted", NarfSettings.values().length,
+                statistics.getUnreadSettings().length);
+
+        config.getString(NarfSettings.STRING_STORED.key());
+        config.getInt(NarfSettings.INTEGER_DEFAULT.key());
+        config.getList(NarfSettings.MULTIPLE_ENTRY.key());
+        config.getStringArray(NarfSettings.MULTIPLE_ENTRY.key());
+        config.getString("narf.undeclared.key");
+
+        assertEquals("Incorrect read count", 1, statistics.getReadCount(NarfSettings.STRING_STORED));
+        assertEquals("Incorrect read count", 1, statistics.getReadCount(NarfSettings.INTEGER_DEFAULT));
+        assertEquals("Incorrect list read count", 2, statistics.getReadCount(NarfSettings.MULTIPLE_ENTRY));
+        assertEquals("Incorrect unread setting count", NarfSettings.values().length - 3,
+                statistics.getUnreadSettings().length);
+    }
+
+    @Test
+    public void testLayerHits() throws ConfigurationException, IOException {
+        System.setProperty(NarfSettings.STRING_SYSTEM.key(), "SYSTEM");
+        SettingsStatistics<NarfSettings> statistics = new SettingsStatistics<>(NarfSettings.class);
+        NarfConfig config = CustomNarfConfig.builder().metrics(statistics).build();
+        statistics.reset();
+
+        assertEquals("Incorrect system value", "SYSTEM", config.getString(NarfSettings.STRING_SYSTEM.key()));
+        assertEquals("Incorrect stored value", "STORED", config.getString(NarfSettings.STRING_STORED.key()));
+        assertEquals("Incorrect default value", "DEFAULT", config.getString(NarfSettings.STRING_DEFAULT.key()));
+        config.getString("narf.undefined.key");
+
+        assertEquals("Incorrect system hits", 1, statistics.getLayerHits(SettingsLayer.SYSTEM));
+        assertEquals("Incorrect stored hits", 1, statistics.getLayerHits(SettingsLayer.STORED));
+        assertEquals("Incorrect default hits", 1, statistics.getLayerHits(SettingsLayer.DEFAULTS));
+        assertEquals("Incorrect undefined hits", 1, statistics.getLayerHits(null));
+        assertEquals("Incorrect lookup count", 4, statistics.getLookupCount());
+
+        long total = 0;
+        for (long count : statistics.getLookupLatencyHistogram()) {
+            total += count;
+        }
+        assertEquals("Histogram should account for every lookup", 4, total);
+        assertTrue("Percentile should be positive", statistics.getLookupLatencyPercentile(99) > 0);
+    }
+
+    @Test
+    public void testLoadAndReload() throws ConfigurationException, IOException {
+        Path file = tempFolder.newFile().toPath();
+        Files.write(file, (NarfSettings.STRING_STORED.key() + "=ONE\n").getBytes(StandardCharsets.UTF_8));
+        SettingsStatistics<NarfSettings> statistics = new SettingsStatistics<>(NarfSettings.class);
+        NarfConfig config = CustomNarfConfig.builder().settingsPath(file).metrics(statistics).build();
+        assertEquals("Incorrect load count", 1, statistics.getLoadCount());
+        assertTrue("Load duration should be recorded", statistics.getLoadNanos() > 0);
+
+        Files.write(file, (NarfSettings.STRING_STORED.key() + "=TWO\n").getBytes(StandardCharsets.UTF_8));
+        config.reload();
+        assertEquals("Incorrect reload count", 1, statistics.getReloadCount());
+        assertEquals("Incorrect load failure count", 0, statistics.getLoadFailureCount());
+    }
+
+    @Test
+    public void testLoadFailure() throws IOException {
+        SettingsStatistics<NarfSettings> statistics = new SettingsStatistics<>(NarfSettings.class);
+        try {
+            CustomNarfConfig.builder().content("a=${b}\nb=${a}\n").metrics(statistics).build();
+            fail("Interpolation cycle should be rejected");
+        } catch (ConfigurationException | RuntimeException e) {
+            assertEquals("Incorrect load failure count", 1, statistics.getLoadFailureCount());
+            assertNotNull("Load failure should be recorded", statistics.getLastLoadFailure());
+            assertEquals("Failed load should not be counted", 0, statistics.getLoadCount());
+        }
+    }
+
+    @Test
+    public void testRegistration() throws ConfigurationException, IOException, JMException {
+        SettingsStatistics<NarfSettings> statistics = new SettingsStatistics<>(NarfSettings.class).register();
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertTrue("Statistics should be registered", server.isRegistered(statistics.getObjectName()));
+            CustomNarfConfig.builder().metrics(statistics).build().getString(NarfSettings.STRING_STORED);
+
+            Object readCounts = server.getAttribute(statistics.getObjectName(), "ReadCounts");
+            assertNotNull("Read counts should be exposed", readCounts);
+            Object unread = server.getAttribute(statistics.getObjectName(), "UnreadSettings");
+            assertArrayEquals("Incorrect unread settings", statistics.getUnreadSettings(), (String[]) unread);
+        } finally {
+            statistics.unregister();
+        }
+        assertEquals("Statistics should be unregistered", null, statistics.getObjectName());
+    }
+
+    @Test
+    public void testDisabledByDefault() throws ConfigurationException, IOException {
+        NarfConfig config = new NarfConfig();
+        assertEquals("Incorrect stored value", "STORED", config.getString(NarfSettings.STRING_STORED));
+        Map<String, Long> hits = new SettingsStatistics<>(NarfSettings.class).getLayerHits();
+        assertEquals("Incorrect layer count", SettingsLayer.values().length + 1, hits.size());
+    }
+}
@@ -0,0 +1,83 @@
+package com.nordstrom.automation.settings;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.configuration2.Configuration;
+
+/**
+ * This class provides helper methods shared by the unit tests of this package.
+ */
+public final class SettingsTestUtils {
+
+    private SettingsTestUtils() {
+        throw new AssertionError("SettingsTestUtils is a static utility class that cannot be instantiated");
+    }
+
+    /**
+     * Get the stored layer that provides the specified key, unwrapped from its swappable container.
+     *
+     * @param config settings object
+     * @param key key of a setting in the target layer
+     * @return delegate configuration of the layer that provides the specified key
+     */
+    public static Configuration getLayer(SettingsCore<?> config, String key) {
+        return ((SwappableConfiguration) config.getSource(key)).getDelegate();
+    }
+
+    /**
+     * Get the keys of the specified configuration that match the indicated prefix.
+     *
+     * @param config configuration to query
+     * @param prefix key prefix; {@code null} to get all keys
+     * @return list of matching keys in iteration order
+     */
+    public static List<String> toList(Configuration config, String prefix) {
+        return toList((prefix != null) ? config.getKeys(prefix) : config.getKeys());
+    }
+
+    /**
+     * Drain the specified key iterator into a list.
+     *
+     * @param keys key iterator
+     * @return list of keys in iteration order
+     */
+    public static List<String> toList(Iterator<String> keys) {
+        List<String> list = new ArrayList<>();
+        keys.forEachRemaining(list::add);
+        return list;
+    }
+
+    /**
+     * Drain the specified key iterator into a set.
+     *
+     * @param keys key iterator
+     * @return set of keys in iteration order
+     */
+    public static Set<String> toSet(Iterator<String> keys) {
+        return new LinkedHashSet<>(toList(keys));
+    }
+
+    /**
+     * Write the specified content to a file and shift its modification time.
+     *
+     * @param file target file
+     * @param content content to write
+     * @param age milliseconds to add to the current time for the file's modification time
+     * @return the target file
+     * @throws IOException if an I/O error occurs
+     */
+    public static Path write(Path file, String content, long age) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + age));
+        return file;
+    }
+}
@@ -0,0 +1,147 @@
+package com.nordstrom.automation.settings;
+
+import static com.nordstrom.automation.settings.SettingsTestUtils.getLayer;
+import static com.nordstrom.automation.settings.SettingsTestUtils.write;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
+import com.nordstrom.automation.settings.SetsConfig.SetsSettings;
+
+public class SnapshotFileTest {
+
+    private static final long ONE_MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(SetsSettings.INCLUDE_NAME.key());
+    }
+
+    @Test
+    public void testRestoredSnapshot() throws ConfigurationException, IOException {
+        Path file = write(tempFolder.newFile().toPath(), settings("ONE"), -ONE_MINUTE);
+        Path snapshot = tempFolder.getRoot().toPath().resolve("narf.snapshot");
+        CustomNarfConfig.Builder builder = CustomNarfConfig.builder().settingsPath(file).snapshotFile(snapshot);
+
+        NarfConfig original = builder.build();
+        assertTrue("Snapshot should be written", Files.exists(snapshot));
+
+        SettingsFileCache.getInstance().clear();
+        NarfConfig restored = builder.build();
+        assertEquals("Stored properties should not be parsed", 0, SettingsFileCache.getInstance().getMissCount());
+        for (NarfSettings setting : NarfSettings.values()) {
+            assertEquals("Incorrect restored value: " + setting, original.getString(setting), restored.getString(setting));
+        }
+        assertEquals("Incorrect restored list", Arrays.asList("ONE", "TWO"), restored.getList(NarfSettings.MULTIPLE_ENTRY));
+    }
+
+    @Test
+    public void testCachedLayer() throws ConfigurationException, IOException {
+        Path file = write(tempFolder.newFile().toPath(), settings("ONE"), -ONE_MINUTE);
+        Path snapshot = tempFolder.getRoot().toPath().resolve("narf.snapshot");
+        CustomNarfConfig.Builder builder = CustomNarfConfig.builder().settingsPath(file).snapshotFile(snapshot);
+        String key = NarfSettings.MULTIPLE_ENTRY.key();
+
+        NarfConfig first = builder.build();
+        long hitCount = SettingsFileCache.getInstance().getHitCount();
+        NarfConfig second = builder.build();
+        assertEquals("Cached layer should be used", hitCount + 1, SettingsFileCache.getInstance().getHitCount());
+        assertSame("Cached layer should be shared", getLayer(first, key), getLayer(second, key));
+    }
+
+    @Test
+    public void testStaleSnapshot() throws ConfigurationException, IOException {
+        Path file = write(tempFolder.newFile().toPath(), settings("ONE"), -2 * ONE_MINUTE);
+        Path snapshot = tempFolder.getRoot().toPath().resolve("narf.snapshot");
+        CustomNarfConfig.Builder builder = CustomNarfConfig.builder().settingsPath(file).snapshotFile(snapshot);
+        builder.build();
+
+        // same size, different time stamp
+        write(file, settings("TWO"), -ONE_MINUTE);
+        assertEquals("Stale snapshot should be replaced", "TWO",
+                builder.build().getString(NarfSettings.STRING_STORED));
+    }
+
+    @Test
+    public void testTouchedSource() throws ConfigurationException, IOException {
+        Path file = write(tempFolder.newFile().toPath(), settings("ONE"), -2 * ONE_MINUTE);
+        Path snapshot = tempFolder.getRoot().toPath().resolve("narf.snapshot");
+        CustomNarfConfig.Builder builder = CustomNarfConfig.builder().settingsPath(file).snapshotFile(snapshot);
+        builder.build();
+
+        // same content, different time stamp
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - ONE_MINUTE));
+        SettingsFileCache.getInstance().clear();
+        assertEquals("Incorrect restored value", "ONE", builder.build().getString(NarfSettings.STRING_STORED));
+        assertEquals("Checksum should validate snapshot", 0, SettingsFileCache.getInstance().getMissCount());
+    }
+
+    @Test
+    public void testRewrittenBeforeWrite() throws ConfigurationException, IOException {
+        for (boolean streaming : new boolean[] {false, true}) {
+            Path file = write(tempFolder.newFile().toPath(), settings("ONE"), -2 * ONE_MINUTE);
+            Path snapshot = tempFolder.newFile().toPath();
+            String location = file.toString();
+            SettingsFileCache.Layer layer = new SettingsFileCache(4).loadLayer(file.toUri().toURL(), streaming);
+
+            // same size, different time stamp, rewritten after parsing but before the snapshot is written
+            write(file, settings("TWO"), -ONE_MINUTE);
+            assertTrue("Snapshot should be written", SettingsSnapshotFile.write(snapshot, location, layer));
+            assertNull("Snapshot of replaced content should be stale", SettingsSnapshotFile.read(snapshot, location));
+        }
+    }
+
+    @Test
+    public void testChangedInclude() throws ConfigurationException, IOException {
+        Path base = write(tempFolder.newFile("snap.properties").toPath(),
+                "include=${sys:" + SetsSettings.INCLUDE_NAME.key() + "}\n", -ONE_MINUTE);
+        write(tempFolder.newFile("snap1.properties").toPath(), "first.key=first one\n", -ONE_MINUTE);
+        write(tempFolder.newFile("snap2.properties").toPath(), "first.key=uno\n", -ONE_MINUTE);
+        Path snapshot = tempFolder.getRoot().toPath().resolve("sets.snapshot");
+
+        System.setProperty(SetsSettings.INCLUDE_NAME.key(), "snap1.properties");
+        assertEquals("Incorrect included value", "first one", setsConfig(base, snapshot).getString(SetsSettings.FIRST_KEY));
+        System.setProperty(SetsSettings.INCLUDE_NAME.key(), "snap2.properties");
+        assertEquals("Changed include should invalidate snapshot", "uno",
+                setsConfig(base, snapshot).getString(SetsSettings.FIRST_KEY));
+    }
+
+    private static String settings(String value) {
+        return NarfSettings.STRING_STORED.key() + "=" + value + "\n"
+                + NarfSettings.INTEGER_STORED.key() + "=2\n"
+                + NarfSettings.MULTIPLE_ENTRY.key() + "=ONE\n"
+                + NarfSettings.MULTIPLE_ENTRY.key() + "=TWO\n";
+    }
+
+    private static SetsConfig setsConfig(Path file, Path snapshot) throws ConfigurationException, IOException {
+        return new SetsConfig() {
+            @Override
+            public String getSettingsPath() {
+                return file.toString();
+            }
+
+            @Override
+            protected Path getSnapshotFile() {
+                return snapshot;
+            }
+        };
+    }
+}
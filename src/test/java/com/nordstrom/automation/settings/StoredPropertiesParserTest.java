@@ -0,0 +1,217 @@
+package com.nordstrom.automation.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.commons.configuration2.io.FileHandler;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.nordstrom.automation.settings.NarfConfig.NarfSettings;
+
+public class StoredPropertiesParserTest {
+
+    private static final String[] TOKENS = {
+            "a", "b", "k.e", "\u00e9", " ", "  ", "\t", "\f", "\u000B", "\u0001", "=", ":", "#", "!",
+            "\n", "\r", "\r\n", "\\", "\\\\", "\\\n", "\\ ", "\\=", "\\:", "\\t", "\\n", "\\b", "\\x",
+            "\\u0041", "\\u00e9", "\\u00", "\\uZZZZ", "\u2028", "\u0085", "'", "\""};
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testSeparators() throws Exception {
+        assertConforms("a=1\nb:2\nc 3\nd\t4\ne = 5\nf : 6\ng  =  7\nh = = 8\ni 9 = 10\nj=\nk\n:l\n=m\n");
+    }
+
+    @Test
+    public void testEscapes() throws Exception {
+        assertConforms("a=tab\\there\nb=\\u0041\\u00e9\nc=\\\\\nd=\\=\\:\\#\\!\\'\\\"\ne=\\x\\b\\f\\r\\n\nf=end\\\\\n");
+        assertConforms("key\\ with\\ spaces=1\nkey\\=sep=2\nkey\\:colon=3\n\\u0041key=4\ntrail\\ =5\n");
+    }
+
+    @Test
+    public void testContinuation() throws Exception {
+        assertConforms("a=one \\\n    two \\\n  three\nb=x\\\n\n# comment\n  y\nc=even\\\\\nd=z");
+        assertConforms("a=1\nb=continued at end\\");
+    }
+
+    @Test
+    public void testCommentsAndLineEnds() throws Exception {
+        assertConforms("# comment\n! comment\n   # indented\r\na=1\r\nb=2\rc=3\r\n\r\n  d = 4  \n");
+    }
+
+    @Test
+    public void testMultipleValues() throws Exception {
+        assertConforms("list=ONE\nother=x\nlist=TWO\nlist=THREE\n");
+    }
+
+    @Test
+    public void testRandomContent() throws Exception {
+        Random random = new Random(20260101L);
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder content = new StringBuilder();
+            int count = random.nextInt(40);
+            for (int j = 0; j < count; j++) {
+                content.append(TOKENS[random.nextInt(TOKENS.length)]);
+            }
+            assertConforms(content.toString());
+        }
+    }
+
+    @Test
+    public void testIncludes() throws Exception {
+        String name = "conform-inc2.properties";
+        URL url = write("conform-main.properties", "first=1\ninclude = conform-inc1.properties\n"
+                + "includeoptional = conform-missing.properties\nlist=a\ninc.name=" + name + "\n"
+                + "includeoptional = ${inc.name}\nlist=b\n");
+        write("conform-inc1.properties", "list=x\nfrom.one=one\n");
+        write(name, "from.two=two\nfirst=2\nlatin\u00e9=caf\u00e9\n");
+
+        PropertiesConfiguration expected = new PropertiesConfiguration();
+        FileHandler handler = new FileHandler(expected);
+        handler.setEncoding(PropertiesConfiguration.DEFAULT_ENCODING);
+        handler.setURL(url);
+        handler.load();
+
+        StoredPropertiesParser parser = new StoredPropertiesParser(StandardCharsets.ISO_8859_1);
+        parser.load(url);
+        assertSame(expected, parser.getConfig());
+        assertEquals("Incorrect Latin-1 value", "caf\u00e9", parser.getConfig().getString("latin\u00e9"));
+        assertEquals("Incorrect source count", 3, parser.getSources().size());
+        assertEquals("Incorrect directives", Arrays.asList("conform-inc1.properties", "conform-missing.properties",
+                "${inc.name}"), parser.getDirectives());
+    }
+
+    @Test
+    public void testMissingInclude() throws Exception {
+        URL url = write("conform-broken.properties", "include = conform-absent.properties\n");
+        try {
+            new StoredPropertiesParser(StandardCharsets.ISO_8859_1).load(url);
+            fail("Expected missing include to fail");
+        } catch (ConfigurationException e) {
+            assertTrue("Unexpected message: " + e.getMessage(), e.getMessage().contains("Cannot resolve include"));
+        }
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testIncludeCycle() throws Exception {
+        URL url = write("conform-cycle1.properties", "include = conform-cycle2.properties\n");
+        write("conform-cycle2.properties", "include = conform-cycle1.properties\n");
+        new StoredPropertiesParser(StandardCharsets.ISO_8859_1).load(url);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnly() throws Exception {
+        parse("a=1\n").addProperty("b", "2");
+    }
+
+    @Test
+    public void testStreamingConfig() throws ConfigurationException, IOException {
+        NarfConfig standard = new NarfConfig();
+        NarfConfig streaming = CustomNarfConfig.builder().streamingParser(true).build();
+        for (NarfSettings setting : NarfSettings.values()) {
+            assertEquals("Incorrect value: " + setting, standard.getString(setting), streaming.getString(setting));
+        }
+        assertEquals("Incorrect list", standard.getList(NarfSettings.MULTIPLE_ENTRY),
+                streaming.getList(NarfSettings.MULTIPLE_ENTRY));
+    }
+
+    @Test
+    public void testModifiedStreamingConfig() throws ConfigurationException, IOException {
+        NarfConfig config = CustomNarfConfig.builder().content("narf.string.stored=STREAMED\n")
+                .streamingParser(true).build();
+        assertEquals("Incorrect stored value", "STREAMED", config.getString(NarfSettings.STRING_STORED));
+        config.setProperty(NarfSettings.STRING_STORED.key(), "MODIFIED");
+        assertEquals("Incorrect modified value", "MODIFIED", config.getString(NarfSettings.STRING_STORED.key()));
+    }
+
+    /**
+     * Assert that the streaming parser produces the same keys and values as {@link PropertiesConfiguration}.
+     *
+     * @param content stored properties content
+     * @throws Exception if an unexpected failure is encountered
+     */
+    private static void assertConforms(String content) throws Exception {
+        PropertiesConfiguration expected = new PropertiesConfiguration();
+        Exception expectedFailure = null;
+        try {
+            expected.read(new StringReader(content));
+        } catch (RuntimeException e) {
+            expectedFailure = e;
+        }
+
+        Configuration actual;
+        try {
+            actual = parse(content);
+        } catch (RuntimeException e) {
+            if (expectedFailure == null) {
+                throw new AssertionError("Unexpected failure parsing: " + escape(content), e);
+            }
+            assertEquals("Incorrect failure parsing: " + escape(content), expectedFailure.getClass(), e.getClass());
+            return;
+        }
+        if (expectedFailure != null) {
+            fail("Expected " + expectedFailure.getClass().getSimpleName() + " parsing: " + escape(content));
+        }
+        assertSame(expected, actual, content);
+    }
+
+    private static void assertSame(Configuration expected, Configuration actual) {
+        assertSame(expected, actual, null);
+    }
+
+    private static void assertSame(Configuration expected, Configuration actual, String content) {
+        String context = (content != null) ? " parsing: " + escape(content) : "";
+        assertEquals("Incorrect keys" + context, keys(expected), keys(actual));
+        for (String key : keys(expected)) {
+            assertEquals("Incorrect value of '" + escape(key) + "'" + context, expected.getProperty(key),
+                    actual.getProperty(key));
+        }
+    }
+
+    private static CompactConfiguration parse(String content) throws ConfigurationException, IOException {
+        return StoredPropertiesParser.parse(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static List<String> keys(Configuration config) {
+        List<String> keys = new ArrayList<>();
+        config.getKeys().forEachRemaining(keys::add);
+        return keys;
+    }
+
+    private URL write(String name, String content) throws IOException {
+        Path file = tempFolder.getRoot().toPath().resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.ISO_8859_1));
+        return file.toUri().toURL();
+    }
+
+    private static String escape(String content) {
+        StringBuilder builder = new StringBuilder();
+        for (char ch : content.toCharArray()) {
+            if ((ch < ' ') || (ch > '~')) {
+                builder.append(String.format("\\u%04x", (int) ch));
+            } else {
+                builder.append(ch);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,192 @@
+package com.nordstrom.automation.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ValidationTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private long stamp = System.currentTimeMillis();
+
+    @Test
+    public void testValidSettings() throws ConfigurationException, IOException {
+        CheckedConfig config = streamConfig("checked.name=valid\nchecked.enabled=true\n", false);
+        assertEquals("Incorrect default count", 3, config.getInt(CheckedSettings.COUNT));
+        assertEquals("Incorrect default timeout", Duration.ofSeconds(5), config.getDuration(CheckedSettings.TIMEOUT));
+        assertTrue("Incorrect flag", config.getBoolean(CheckedSettings.ENABLED));
+        assertEquals("Incorrect name", "valid", config.getString(CheckedSettings.NAME));
+    }
+
+    @Test
+    public void testViolations() throws ConfigurationException, IOException {
+        try {
+            streamConfig("checked.count=abc\nchecked.timeout=soon\nchecked.enabled=maybe\n", false);
+            fail("Invalid settings should be reported");
+        } catch (SettingsValidationException e) {
+            assertEquals("Incorrect violations", Arrays.asList(
+                    "Value 'abc' of setting 'checked.count' can't be converted to Integer",
+                    "Value 'soon' of setting 'checked.timeout' can't be converted to Duration",
+                    "Value 'maybe' of setting 'checked.enabled' can't be converted to boolean",
+                    "Setting 'checked.name' is required, but has no value"), e.getViolations());
+        }
+    }
+
+    @Test
+    public void testRange() throws ConfigurationException, IOException {
+        try {
+            streamConfig("checked.name=valid\nchecked.count=11\n", false);
+            fail("Out-of-range value should be reported");
+        } catch (SettingsValidationException e) {
+            assertEquals("Incorrect violations",
+                    Arrays.asList("Value 11 of setting 'checked.count' is outside the range [1, 10]"),
+                    e.getViolations());
+        }
+    }
+
+    @Test
+    public void testLazyLoading() throws ConfigurationException, IOException {
+        CheckedConfig config = streamConfig("checked.count=0\n", true);
+        try {
+            config.getInt(CheckedSettings.COUNT);
+            fail("Invalid settings should be reported upon first access");
+        } catch (Exception e) {
+            assertTrue("Incorrect failure", e instanceof SettingsValidationException);
+            assertEquals("Incorrect violation count", 2, ((SettingsValidationException) e).getViolations().size());
+        }
+    }
+
+    @Test
+    public void testReload() throws ConfigurationException, IOException {
+        Path file = tempFolder.newFile().toPath();
+        write(file, "checked.name=first\nchecked.count=4\n");
+        String path = file.toString();
+        CheckedConfig config = new CheckedConfig() {
+            @Override
+            public String getSettingsPath() {
+                return path;
+            }
+        };
+
+        write(file, "checked.name=second\nchecked.count=40\n");
+        try {
+            config.reload();
+            fail("Invalid reloaded settings should be reported");
+        } catch (SettingsValidationException e) {
+            assertEquals("Incorrect violation count", 1, e.getViolations().size());
+        }
+        assertEquals("Previous value should be retained", 4, config.getInt(CheckedSettings.COUNT));
+        assertEquals("Previous value should be retained", "first", config.getString("checked.name"));
+
+        write(file, "checked.name=third\nchecked.count=5\n");
+        assertEquals("Incorrect changed settings", EnumSet.of(CheckedSettings.COUNT, CheckedSettings.NAME),
+                config.reload());
+        assertEquals("Incorrect reloaded value", 5, config.getInt(CheckedSettings.COUNT));
+    }
+
+    @Test
+    public void testUnvalidatedEnum() {
+        assertFalse("Enumeration without metadata shouldn't be validated",
+                SettingsDefaults.of(NarfConfig.NarfSettings.class).isValidated());
+        assertTrue("Enumeration with metadata should be validated",
+                SettingsDefaults.of(CheckedSettings.class).isValidated());
+    }
+
+    private void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        // ensure the modification is detected by the stored properties cache
+        stamp += 2000;
+        file.toFile().setLastModified(stamp);
+    }
+
+    private static CheckedConfig streamConfig(String content, boolean lazy) throws ConfigurationException, IOException {
+        return new CheckedConfig() {
+            @Override
+            public InputStream getInputStream() {
+                return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            protected boolean isLazyLoading() {
+                return lazy;
+            }
+        };
+    }
+
+    static class CheckedConfig extends SettingsCore<CheckedSettings> {
+        CheckedConfig() throws ConfigurationException, IOException {
+            super(CheckedSettings.class);
+        }
+    }
+
+    public enum CheckedSettings implements SettingsCore.SettingsAPI {
+        COUNT("checked.count", "3", Integer.class, 1, 10, false),
+        TIMEOUT("checked.timeout", "PT5S", Duration.class, Long.MIN_VALUE, Long.MAX_VALUE, false),
+        ENABLED("checked.enabled", null, boolean.class, Long.MIN_VALUE, Long.MAX_VALUE, false),
+        NAME("checked.name", null, String.class, Long.MIN_VALUE, Long.MAX_VALUE, true);
+
+        private final String key;
+        private final String val;
+        private final Class<?> type;
+        private final long min;
+        private final long max;
+        private final boolean required;
+
+        CheckedSettings(String key, String val, Class<?> type, long min, long max, boolean required) {
+            this.key = key;
+            this.val = val;
+            this.type = type;
+            this.min = min;
+            this.max = max;
+            this.required = required;
+        }
+
+        @Override
+        public String key() {
+            return key;
+        }
+
+        @Override
+        public String val() {
+            return val;
+        }
+
+        @Override
+        public Class<?> type() {
+            return type;
+        }
+
+        @Override
+        public long min() {
+            return min;
+        }
+
+        @Override
+        public long max() {
+            return max;
+        }
+
+        @Override
+        public boolean required() {
+            return required;
+        }
+    }
+}